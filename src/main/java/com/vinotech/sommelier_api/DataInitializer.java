@@ -1,46 +1,30 @@
 package com.vinotech.sommelier_api;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.vinotech.sommelier_api.model.Plat;
-import com.vinotech.sommelier_api.model.Vin;
-import com.vinotech.sommelier_api.repository.PlatRepository;
-import com.vinotech.sommelier_api.repository.VinRepository;
+import com.vinotech.sommelier_api.seed.CatalogSeeder;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.io.InputStream;
-import java.util.List;
 
 @Configuration
 public class DataInitializer {
 
     @Bean
-    CommandLineRunner initDatabase(VinRepository vinRepository, PlatRepository platRepository) {
+    CommandLineRunner initDatabase(CatalogSeeder catalogSeeder) {
         return args -> {
-            loadDataIfEmpty(vinRepository, "vins.json", new TypeReference<List<Vin>>(){}, "vins");
-            loadDataIfEmpty(platRepository, "plats.json", new TypeReference<List<Plat>>(){}, "plats");
-        };
-    }
-
-    private <T> void loadDataIfEmpty(JpaRepository<T, Long> repository, String filename, TypeReference<List<T>> typeReference, String entityName) {
-        if (repository.count() == 0) {
-            System.out.println("📦 Base de " + entityName + " vide. Chargement...");
+            System.out.println("📦 Vérification du catalogue de départ...");
             try {
-                ObjectMapper mapper = new ObjectMapper();
-                InputStream inputStream = new ClassPathResource(filename).getInputStream();
-                List<T> items = mapper.readValue(inputStream, typeReference);
-                repository.saveAll(items);
-                System.out.println("✅ " + items.size() + " " + entityName + " importés !");
+                // Une seule instance charge à la fois (verrou consultatif, les autres attendent) ; un fichier déjà
+                // chargé est ignoré sur son empreinte. Le seeder reconstruit lui-même les structures en mémoire
+                // s'il a écrit ou attendu une autre instance.
+                if (catalogSeeder.seed()) {
+                    System.out.println("✅ Catalogue de départ importé !");
+                } else {
+                    System.out.println("👌 Catalogue de départ déjà en place.");
+                }
             } catch (Exception e) {
-                System.out.println("❌ Erreur import " + entityName + " : " + e.getMessage());
+                System.out.println("❌ Erreur import du catalogue : " + e.getMessage());
                 e.printStackTrace();
             }
-        } else {
-            System.out.println("👌 La base contient déjà " + repository.count() + " " + entityName + ".");
-        }
+        };
     }
-}
\ No newline at end of file
+}
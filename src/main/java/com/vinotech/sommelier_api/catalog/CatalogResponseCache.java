@@ -0,0 +1,126 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache des réponses JSON des listes du catalogue ({@code /api/vins}, {@code /api/plats}), déjà sérialisées
+ * et déjà compressées en gzip.
+ * <p>
+ * Chaque entrée est associée à la {@link CatalogVersion} lue <em>avant</em> le chargement des données :
+ * dès qu'une écriture incrémente la version, l'entrée n'est plus servie et la requête suivante
+ * la recalcule. Entre deux écritures, une requête ne coûte que la copie des octets vers la socket.
+ */
+@Component
+public class CatalogResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
+    private final Map<String, Body> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CatalogResponseCache(ObjectMapper objectMapper, CatalogVersion catalogVersion, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
+        this.hits = Counter.builder("catalog.response.cache")
+                .description("Réponses servies depuis les octets en cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("catalog.response.cache")
+                .description("Réponses ayant dû être sérialisées")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param key    nom de la ressource (ex. {@code "vins"})
+     * @param loader charge les données à sérialiser ; appelé seulement si l'entrée est absente ou périmée
+     */
+    public Body get(String key, Supplier<?> loader) {
+        long version = catalogVersion.current();
+        Body cached = entries.get(key);
+        if (cached != null && cached.version() == version) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Body fresh = serialize(version, loader.get());
+        // Ne jamais remplacer une entrée plus récente par une calculée sur une version plus ancienne
+        entries.merge(key, fresh, (old, candidate) -> old.version() > candidate.version() ? old : candidate);
+        return fresh;
+    }
+
+    /**
+     * @return vrai si l'en-tête {@code Accept-Encoding} accepte gzip (et ne le refuse pas avec {@code q=0})
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equals("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private Body serialize(long version, Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            return new Body(version, json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Corps de réponse sérialisé pour une version du catalogue.
+     *
+     * @param json octets JSON (UTF-8)
+     * @param gzip les mêmes octets compressés, à servir avec {@code Content-Encoding: gzip}
+     */
+    public record Body(long version, byte[] json, byte[] gzip) {
+
+        /**
+         * Réponse 200 écrivant directement les octets en cache (aucun passage par Jackson).
+         */
+        public ResponseEntity<byte[]> toResponse(boolean compressed) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (compressed) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return response.body(json);
+        }
+    }
+}
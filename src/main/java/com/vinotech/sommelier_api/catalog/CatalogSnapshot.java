@@ -0,0 +1,302 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinFacets;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Photo immuable du catalogue des vins.
+ * Les entités sont des copies détachées : aucune collection lazy n'y reste attachée à une session
+ * Hibernate, et une modification se fait toujours en publiant une nouvelle photo (copy-on-write).
+ * Les recherches sont évaluées sur un {@link VinColumnIndex}, un {@link TextIndex} et un {@link FuzzyIndex}
+ * construits en même temps que la photo.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final List<Vin> vins;
+    private final Map<Long, Vin> byId;
+    private final VinColumnIndex index;
+    private final TextIndex text;
+    private final FuzzyIndex fuzzy;
+
+    private CatalogSnapshot(long version, List<Vin> vins, Map<Long, Vin> byId, VinColumnIndex index, TextIndex text,
+                            FuzzyIndex fuzzy) {
+        this.version = version;
+        this.vins = vins;
+        this.byId = byId;
+        this.index = index;
+        this.text = text;
+        this.fuzzy = fuzzy;
+    }
+
+    /**
+     * Construit une photo à partir des entités chargées par le repository.
+     */
+    static CatalogSnapshot of(long version, Collection<Vin> loaded) {
+        Map<Long, Vin> byId = new HashMap<>(loaded.size() * 2);
+        for (Vin vin : loaded) {
+            byId.put(vin.getId(), detach(vin, null));
+        }
+        List<Vin> vins = sortedById(byId.values());
+        return new CatalogSnapshot(version, vins, byId, VinColumnIndex.build(vins), TextIndex.build(vins),
+                FuzzyIndex.build(vins));
+    }
+
+    /**
+     * Retourne une nouvelle photo contenant {@code saved} (insertion ou remplacement).
+     * La photo courante n'est pas modifiée ; les index sont mis à jour ligne par ligne
+     * sauf pour un id inséré au milieu du catalogue, qui décale les lignes suivantes.
+     */
+    CatalogSnapshot withVin(long newVersion, Vin saved) {
+        Vin copy = detach(saved, byId.get(saved.getId()));
+        Map<Long, Vin> newById = new HashMap<>(byId);
+        newById.put(copy.getId(), copy);
+
+        int row = Collections.binarySearch(vins, copy, VinComparators.BY_ID);
+        List<Vin> newVins = new ArrayList<>(vins.size() + 1);
+        newVins.addAll(vins);
+        VinColumnIndex newIndex;
+        TextIndex newText;
+        if (row >= 0) {
+            newVins.set(row, copy);
+            newIndex = index.withRow(row, copy);
+            newText = text.withRow(row, copy);
+        } else if (-row - 1 == vins.size()) {
+            newVins.add(copy);
+            newIndex = index.withRow(vins.size(), copy);
+            newText = text.withRow(vins.size(), copy);
+        } else {
+            newVins.add(-row - 1, copy);
+            newIndex = VinColumnIndex.build(newVins);
+            newText = TextIndex.build(newVins);
+        }
+        return new CatalogSnapshot(newVersion, Collections.unmodifiableList(newVins), newById, newIndex, newText,
+                fuzzy.withVin(copy));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return vins.size();
+    }
+
+    /**
+     * @return tous les vins, triés par id (liste non modifiable)
+     */
+    public List<Vin> vins() {
+        return vins;
+    }
+
+    public Optional<Vin> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Filtre, trie et pagine la photo comme le ferait {@code VinRepository.findAll(spec, pageable)}.
+     * Les tris par id (ou sans tri) et par prix parcourent directement l'index sans trier ;
+     * les autres tris ne trient que les vins retenus par le filtre. Avec un texte libre et sans tri demandé,
+     * les vins sont classés par pertinence (BM25), puis par id.
+     *
+     * @param comparators ordre des tris, dans la collation de la base
+     * @return la page, ou vide si le tri demandé n'est pas supporté en mémoire
+     */
+    public Optional<Page<Vin>> search(VinFilter filter, Pageable pageable, VinComparators comparators) {
+        Optional<Comparator<Vin>> comparator = comparators.of(pageable.getSort());
+        if (comparator.isEmpty()) {
+            return Optional.empty();
+        }
+        TextIndex.Ranking ranking = rank(filter);
+        BitSet matches = matches(filter, ranking);
+        int total = matches.cardinality();
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? (int) Math.max(0, Math.min(pageable.getPageSize(), total - offset)) : total;
+
+        List<Vin> content = new ArrayList<>(limit);
+        List<Sort.Order> orders = pageable.getSort().toList();
+        Sort.Order single = orders.size() == 1 ? orders.get(0) : null;
+        if (ranking != null && orders.isEmpty()) {
+            int[] rows = byScore(matches, ranking.scores());
+            for (int i = (int) Math.min(offset, rows.length); i < rows.length && content.size() < limit; i++) {
+                content.add(vins.get(rows[i]));
+            }
+        } else if (orders.isEmpty() || single != null && single.getProperty().equals("id")) {
+            boolean descending = single != null && single.isDescending();
+            long skipped = 0;
+            for (int row = descending ? matches.previousSetBit(vins.size() - 1) : matches.nextSetBit(0);
+                 row >= 0 && content.size() < limit;
+                 row = descending ? matches.previousSetBit(row - 1) : matches.nextSetBit(row + 1)) {
+                if (skipped++ >= offset) {
+                    content.add(vins.get(row));
+                }
+            }
+        } else if (single != null && single.getProperty().equals("prix")
+                && single.getNullHandling() == Sort.NullHandling.NATIVE) {
+            int[] rows = new int[limit];
+            int copied = index.rowsByPrix(matches, single.isDescending(), offset, rows);
+            for (int i = 0; i < copied; i++) {
+                content.add(vins.get(rows[i]));
+            }
+        } else {
+            List<Vin> matching = new ArrayList<>(total);
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                matching.add(vins.get(row));
+            }
+            matching.sort(comparator.get());
+            content.addAll(matching.subList((int) Math.min(offset, total), (int) Math.min(offset + limit, total)));
+        }
+
+        if (pageable.isUnpaged()) {
+            return Optional.of(new PageImpl<>(content));
+        }
+        return Optional.of(new PageImpl<>(content, pageable, total));
+    }
+
+    /**
+     * Compteurs de facettes des vins retenus par le filtre, texte libre compris.
+     */
+    public VinFacets facets(VinFilter filter) {
+        TextIndex.Ranking ranking = rank(filter);
+        return index.facets(filter, ranking == null ? null : ranking.matches());
+    }
+
+    /**
+     * Compteurs de facettes d'une liste de vins chargée hors de la photo, le texte libre ayant déjà été appliqué :
+     * {@code q} est ignoré.
+     */
+    public static VinFacets facets(Collection<Vin> vins, VinFilter filter) {
+        return VinColumnIndex.build(sortedById(vins)).facets(filter, null);
+    }
+
+    /**
+     * Pagination par clé : retourne au plus {@code limit} vins strictement après {@code cursor}.
+     */
+    public List<Vin> searchAfter(VinFilter filter, VinCursor cursor, int limit) {
+        BitSet matches = matches(filter, rank(filter));
+        List<Vin> content = new ArrayList<>(limit);
+        if (cursor.property().equals("prix")) {
+            int[] rows = new int[limit];
+            int copied = cursor.isStart()
+                    ? index.rowsByPrix(matches, cursor.descending(), 0, rows)
+                    : index.rowsByPrixAfter(matches, cursor.descending(),
+                    cursor.prixCents() == null ? VinColumnIndex.NO_PRIX : cursor.prixCents(), cursor.id(), rows);
+            for (int i = 0; i < copied; i++) {
+                content.add(vins.get(rows[i]));
+            }
+        } else if (cursor.descending()) {
+            int start = cursor.isStart() ? vins.size() - 1 : index.firstRowAfterId(cursor.id() - 1) - 1;
+            for (int row = matches.previousSetBit(start); row >= 0 && content.size() < limit;
+                 row = matches.previousSetBit(row - 1)) {
+                content.add(vins.get(row));
+            }
+        } else {
+            int start = cursor.isStart() ? 0 : index.firstRowAfterId(cursor.id());
+            for (int row = matches.nextSetBit(start); row >= 0 && content.size() < limit;
+                 row = matches.nextSetBit(row + 1)) {
+                content.add(vins.get(row));
+            }
+        }
+        return content;
+    }
+
+    // Classement du texte libre, ou null sans texte libre (ou s'il ne contient que des mots vides)
+    private TextIndex.Ranking rank(VinFilter filter) {
+        List<String> terms = TextAnalyzer.terms(filter.q());
+        if (terms.isEmpty()) {
+            return null;
+        }
+        if (!filter.fuzzy()) {
+            return text.rank(terms);
+        }
+        // Chaque terme vaut aussi pour ses voisins, d'autant moins qu'ils sont éloignés
+        List<Map<String, Float>> alternatives = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(terms)) {
+            Map<String, Float> variants = new HashMap<>();
+            variants.put(term, 1f);
+            fuzzy.similar(term).forEach((similar, distance) -> variants.put(similar, 1f / (1 + distance)));
+            alternatives.add(variants);
+        }
+        return text.rankAlternatives(alternatives);
+    }
+
+    private BitSet matches(VinFilter filter, TextIndex.Ranking ranking) {
+        BitSet matches = index.filter(filter);
+        if (ranking != null) {
+            matches.and(ranking.matches());
+        }
+        return matches;
+    }
+
+    // Lignes retenues, par score décroissant puis par ligne (donc par id)
+    private static int[] byScore(BitSet matches, float[] scores) {
+        return matches.stream().boxed()
+                .sorted(Comparator.<Integer>comparingDouble(row -> scores[row]).reversed()
+                        .thenComparingInt(Integer::intValue))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static List<Vin> sortedById(Collection<Vin> values) {
+        List<Vin> sorted = new ArrayList<>(values);
+        sorted.sort(VinComparators.BY_ID);
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Copie les colonnes d'un vin et, si elles sont chargées, ses associations.
+     * Quand la collection d'accords n'est pas initialisée (entité issue d'un merge),
+     * on reprend les accords de la version précédente de la photo.
+     */
+    private static Vin detach(Vin vin, Vin previous) {
+        Vin copy = Vin.builder()
+                .id(vin.getId())
+                .nom(vin.getNom())
+                .prix(vin.getPrix())
+                .region(vin.getRegion())
+                .notesDegustation(vin.getNotesDegustation())
+                .couleur(vin.getCouleur())
+                .cepage(vin.getCepage())
+                .build();
+        if (vin.getPlatsAccordes() != null && Hibernate.isInitialized(vin.getPlatsAccordes())) {
+            for (Plat plat : vin.getPlatsAccordes()) {
+                copy.getPlatsAccordes().add(detach(plat));
+            }
+        } else if (previous != null) {
+            copy.getPlatsAccordes().addAll(previous.getPlatsAccordes());
+        }
+        return copy;
+    }
+
+    private static Plat detach(Plat plat) {
+        Plat copy = new Plat();
+        copy.setId(plat.getId());
+        copy.setNom(plat.getNom());
+        copy.setIngredients(plat.getIngredients());
+        copy.setAllergenes(plat.getAllergenes());
+        copy.setAllergenesModifiables(plat.getAllergenesModifiables());
+        copy.setOptionRemplacement(plat.getOptionRemplacement());
+        if (plat.getTypesMenu() != null && Hibernate.isInitialized(plat.getTypesMenu())) {
+            copy.setTypesMenu(new HashSet<>(plat.getTypesMenu()));
+        }
+        return copy;
+    }
+}
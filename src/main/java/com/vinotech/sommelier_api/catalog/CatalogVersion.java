@@ -0,0 +1,39 @@
+package com.vinotech.sommelier_api.catalog;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Numéro de version du catalogue (vins et plats), source des ETags des lectures.
+ * <p>
+ * Incrémenté après chaque écriture validée : un lecteur qui lit la version <em>avant</em> de lire
+ * les données ne peut donc jamais associer de vieilles données à une nouvelle version.
+ * Le compteur vit en mémoire ; l'époque de démarrage entre dans l'ETag pour qu'un redémarrage
+ * (compteur remis à zéro) ne fasse jamais répondre 304 sur un contenu qui a changé.
+ */
+@Component
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Signale une modification du catalogue, après le commit si une transaction est active.
+     */
+    public void bump() {
+        AfterCommit.run(version::incrementAndGet);
+    }
+
+    /**
+     * ETag fort de la version courante pour une représentation donnée (ex. {@code "json"}, {@code "ndjson"}) :
+     * deux représentations d'une même ressource ne doivent pas partager d'ETag fort.
+     */
+    public String etag(String representation) {
+        return "\"" + epoch + "-" + version.get() + "-" + representation + "\"";
+    }
+}
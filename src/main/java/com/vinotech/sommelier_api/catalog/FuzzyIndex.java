@@ -0,0 +1,180 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.model.Vin;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index de suppressions (SymSpell) du vocabulaire des noms et des cépages, pour l'option {@code fuzzy} de
+ * {@code /api/vins/search}.
+ * <p>
+ * Chaque terme ({@link TextAnalyzer}) est enregistré sous toutes les chaînes obtenues en lui retirant jusqu'à
+ * deux caractères. Deux mots à distance d'édition au plus {@code d} partagent forcément une telle chaîne : une
+ * requête ne génère que ses propres suppressions, ne lit que les termes qui les partagent et ne calcule la
+ * distance exacte (Damerau-Levenshtein restreinte) que pour eux, jamais pour tout le vocabulaire.
+ * <p>
+ * La distance tolérée dépend de la longueur du terme cherché : aucune jusqu'à 3 lettres, 1 jusqu'à 7, 2 au-delà.
+ * L'index ne dépend pas des lignes de la photo : une mise à jour n'ajoute que les termes nouveaux.
+ */
+final class FuzzyIndex {
+
+    static final int MAX_DISTANCE = 2;
+
+    private final Map<String, Integer> termIds;
+    private final String[] terms;
+    // Chaîne obtenue par suppression → termes qui la produisent
+    private final Map<String, int[]> deletes;
+
+    private FuzzyIndex(Map<String, Integer> termIds, String[] terms, Map<String, int[]> deletes) {
+        this.termIds = termIds;
+        this.terms = terms;
+        this.deletes = deletes;
+    }
+
+    static FuzzyIndex build(Collection<Vin> vins) {
+        Set<String> vocabulary = new LinkedHashSet<>();
+        for (Vin vin : vins) {
+            vocabulary.addAll(terms(vin));
+        }
+        return new FuzzyIndex(new HashMap<>(), new String[0], new HashMap<>()).with(vocabulary, false);
+    }
+
+    /**
+     * @return un index qui connaît aussi les termes du nom et du cépage de {@code vin} ; {@code this} s'il n'en
+     *         apporte aucun
+     */
+    FuzzyIndex withVin(Vin vin) {
+        Set<String> added = new LinkedHashSet<>(terms(vin));
+        added.removeAll(termIds.keySet());
+        return added.isEmpty() ? this : with(added, true);
+    }
+
+    int size() {
+        return terms.length;
+    }
+
+    /**
+     * @param term terme déjà analysé ({@link TextAnalyzer#terms})
+     * @return les termes du vocabulaire proches de {@code term}, autres que lui-même, avec leur distance
+     */
+    Map<String, Integer> similar(String term) {
+        int maxDistance = maxDistance(term.length());
+        Map<String, Integer> similar = new HashMap<>();
+        if (maxDistance == 0) {
+            return similar;
+        }
+        Set<Integer> seen = new HashSet<>();
+        for (String variant : variants(term, maxDistance)) {
+            for (int id : deletes.getOrDefault(variant, new int[0])) {
+                if (seen.add(id) && !terms[id].equals(term)) {
+                    int distance = distance(term, terms[id], maxDistance);
+                    if (distance <= maxDistance) {
+                        similar.put(terms[id], distance);
+                    }
+                }
+            }
+        }
+        return similar;
+    }
+
+    /**
+     * Distance d'édition tolérée pour un terme cherché de cette longueur.
+     */
+    static int maxDistance(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 7 ? 1 : MAX_DISTANCE;
+    }
+
+    /**
+     * Distance de Damerau-Levenshtein restreinte (une transposition de lettres voisines compte pour 1),
+     * ou {@code max + 1} dès qu'elle dépasse {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    private FuzzyIndex with(Collection<String> added, boolean copy) {
+        Map<String, Integer> newTermIds = copy ? new HashMap<>(termIds) : termIds;
+        Map<String, int[]> newDeletes = copy ? new HashMap<>(deletes) : deletes;
+        String[] newTerms = Arrays.copyOf(terms, terms.length + added.size());
+        int id = terms.length;
+        for (String term : added) {
+            newTerms[id] = term;
+            newTermIds.put(term, id);
+            // Un terme de n lettres n'est cherché que par des requêtes d'au plus n + 2 lettres
+            for (String variant : variants(term, maxDistance(term.length() + MAX_DISTANCE))) {
+                int[] ids = newDeletes.get(variant);
+                int[] newIds = ids == null ? new int[1] : Arrays.copyOf(ids, ids.length + 1);
+                newIds[newIds.length - 1] = id;
+                newDeletes.put(variant, newIds);
+            }
+            id++;
+        }
+        return new FuzzyIndex(newTermIds, newTerms, newDeletes);
+    }
+
+    // Le terme et toutes les chaînes obtenues en lui retirant de 1 à maxDeletes caractères
+    private static Set<String> variants(String term, int maxDeletes) {
+        Set<String> variants = new HashSet<>();
+        variants.add(term);
+        Set<String> level = Set.of(term);
+        for (int deleted = 1; deleted <= maxDeletes; deleted++) {
+            Set<String> next = new HashSet<>();
+            for (String word : level) {
+                if (word.length() <= 1) {
+                    continue;
+                }
+                for (int i = 0; i < word.length(); i++) {
+                    String shorter = word.substring(0, i) + word.substring(i + 1);
+                    if (variants.add(shorter)) {
+                        next.add(shorter);
+                    }
+                }
+            }
+            level = next;
+        }
+        return variants;
+    }
+
+    private static Set<String> terms(Vin vin) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.terms(vin.getNom()));
+        terms.addAll(TextAnalyzer.terms(vin.getCepage()));
+        return terms;
+    }
+}
@@ -0,0 +1,121 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinRecommendation;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Moteur de recommandation vin/plat servi depuis une {@link PairingMatrix} précalculée.
+ * <p>
+ * Même modèle que {@link VinCatalog} : les lectures lisent une référence volatile vers une matrice
+ * immuable ; les écritures publient une nouvelle matrice après le commit. La matrice est construite
+ * paresseusement à la première recommandation.
+ */
+@Component
+public class PairingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PairingEngine.class);
+
+    private final VinRepository vinRepository;
+    private final PlatRepository platRepository;
+    private final Timer rebuildTimer;
+
+    private final Object writeLock = new Object();
+    private volatile PairingMatrix current;
+
+    public PairingEngine(VinRepository vinRepository, PlatRepository platRepository, MeterRegistry meterRegistry) {
+        this.vinRepository = vinRepository;
+        this.platRepository = platRepository;
+        this.rebuildTimer = Timer.builder("pairing.matrix.rebuild")
+                .description("Durée de reconstruction complète de la matrice des accords")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param maxPrix budget maximal (inclus), ou {@code null}
+     * @return les {@code limit} meilleurs vins pour le plat, ou vide si le plat est inconnu
+     */
+    public Optional<List<VinRecommendation>> recommend(Long platId, int limit, Double maxPrix, CouleurVin couleur) {
+        Long maxPrixCents = maxPrix == null ? null
+                : BigDecimal.valueOf(maxPrix).movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue();
+        return matrix().recommend(platId, limit, maxPrixCents, couleur);
+    }
+
+    /**
+     * Met à jour la colonne du vin (et les lignes des plats dont les accords changent) après le commit.
+     */
+    public void onVinSaved(Vin saved) {
+        if (saved == null || saved.getId() == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                // Pas encore de matrice : la première recommandation la construira depuis la base.
+                if (current != null) {
+                    current = current.withVin(saved);
+                }
+            }
+        });
+    }
+
+    /**
+     * Jette la matrice après le commit d'une écriture en masse dans les accords : une seule reconstruction,
+     * à la prochaine recommandation, plutôt qu'une mise à jour par vin.
+     */
+    public void onAccordsChanged() {
+        AfterCommit.run(this::invalidate);
+    }
+
+    /**
+     * Jette la matrice après le commit d'un import de vins en masse.
+     */
+    public void onVinsImported() {
+        AfterCommit.run(this::invalidate);
+    }
+
+    /**
+     * Jette la matrice courante (ex. après un chargement en masse ou une modification des plats).
+     */
+    public void invalidate() {
+        synchronized (writeLock) {
+            current = null;
+        }
+    }
+
+    public PairingMatrix refresh() {
+        synchronized (writeLock) {
+            PairingMatrix matrix = rebuildTimer.record(() -> {
+                List<Plat> plats = platRepository.findAllWithTypesMenu();
+                List<Vin> vins = vinRepository.findAllWithAccords();
+                return PairingMatrix.of(plats, vins);
+            });
+            current = matrix;
+            logger.info("Matrice des accords reconstruite : {} plats × {} vins", matrix.plats(), matrix.vins());
+            return matrix;
+        }
+    }
+
+    private PairingMatrix matrix() {
+        PairingMatrix matrix = current;
+        if (matrix != null) {
+            return matrix;
+        }
+        synchronized (writeLock) {
+            matrix = current;
+            return matrix != null ? matrix : refresh();
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinRecommendation;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import org.hibernate.Hibernate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Matrice dense et immuable des scores d'accord plat × vin ({@code float}, une ligne par plat).
+ * <p>
+ * Score d'un vin pour un plat :
+ * <pre>
+ *   1.0 si l'accord est explicite (accord_vin_plat)
+ * + 0.5 × affinité du plat pour la couleur du vin
+ * + 0.3 × part des vins accordés au plat qui ont le même cépage
+ * + 0.2 × part des vins accordés au plat qui sont dans la même tranche de prix
+ * </pre>
+ * L'affinité de couleur est la répartition des couleurs des vins accordés au plat ; un plat sans accord
+ * se rabat sur des mots-clés de ses ingrédients et de ses types de menu (poisson → blanc, bœuf → rouge…).
+ * <p>
+ * {@link #withVin} recalcule seulement la colonne du vin, plus les lignes des plats dont les accords changent.
+ */
+public final class PairingMatrix {
+
+    static final float ACCORD = 1.0f;
+    static final float COULEUR = 0.5f;
+    static final float CEPAGE = 0.3f;
+    static final float PRIX = 0.2f;
+
+    // Tranches de prix en centimes : < 30 $, < 60 $, < 100 $, au-delà
+    private static final long[] BANDS = {3_000, 6_000, 10_000};
+    private static final int BAND_COUNT = BANDS.length + 1;
+    private static final int COULEUR_COUNT = CouleurVin.values().length;
+
+    private static final Map<String, CouleurVin[]> KEYWORDS = keywords();
+
+    // Lignes (plats), triées par id
+    private final long[] platIds;
+    private final float[][] defaultCouleur;
+    private final BitSet[] accords;
+    private final Profile[] profiles;
+
+    // Colonnes (vins), triées par id
+    private final long[] vinIds;
+    private final VinView[] vins;
+    private final long[] prixCents;
+    private final byte[] couleurs;
+    private final String[] cepages;
+    private final byte[] bands;
+
+    private final float[] scores;
+
+    private PairingMatrix(long[] platIds, float[][] defaultCouleur, BitSet[] accords, Profile[] profiles,
+                          long[] vinIds, VinView[] vins, long[] prixCents, byte[] couleurs, String[] cepages,
+                          byte[] bands, float[] scores) {
+        this.platIds = platIds;
+        this.defaultCouleur = defaultCouleur;
+        this.accords = accords;
+        this.profiles = profiles;
+        this.vinIds = vinIds;
+        this.vins = vins;
+        this.prixCents = prixCents;
+        this.couleurs = couleurs;
+        this.cepages = cepages;
+        this.bands = bands;
+        this.scores = scores;
+    }
+
+    /**
+     * @param vins vins avec leurs accords initialisés (sinon ils sont considérés sans accord)
+     */
+    public static PairingMatrix of(Collection<Plat> plats, Collection<Vin> vins) {
+        List<Plat> sortedPlats = new ArrayList<>(plats);
+        sortedPlats.sort(Comparator.comparing(Plat::getId));
+        List<Vin> sortedVins = new ArrayList<>(vins);
+        sortedVins.sort(VinComparators.BY_ID);
+
+        int height = sortedPlats.size();
+        int width = sortedVins.size();
+        long[] platIds = new long[height];
+        float[][] defaultCouleur = new float[height][];
+        BitSet[] accords = new BitSet[height];
+        for (int row = 0; row < height; row++) {
+            Plat plat = sortedPlats.get(row);
+            platIds[row] = plat.getId();
+            defaultCouleur[row] = keywordCouleur(plat);
+            accords[row] = new BitSet(width);
+        }
+
+        long[] vinIds = new long[width];
+        VinView[] views = new VinView[width];
+        long[] prixCents = new long[width];
+        byte[] couleurs = new byte[width];
+        String[] cepages = new String[width];
+        byte[] bands = new byte[width];
+        for (int col = 0; col < width; col++) {
+            Vin vin = sortedVins.get(col);
+            vinIds[col] = vin.getId();
+            views[col] = VinView.of(vin);
+            prixCents[col] = VinColumnIndex.toCents(vin.getPrix());
+            couleurs[col] = couleur(vin);
+            cepages[col] = normalize(vin.getCepage());
+            bands[col] = band(prixCents[col]);
+            for (long platId : accordedPlatIds(vin)) {
+                int row = Arrays.binarySearch(platIds, platId);
+                if (row >= 0) {
+                    accords[row].set(col);
+                }
+            }
+        }
+
+        PairingMatrix matrix = new PairingMatrix(platIds, defaultCouleur, accords, new Profile[height],
+                vinIds, views, prixCents, couleurs, cepages, bands, new float[height * width]);
+        for (int row = 0; row < height; row++) {
+            matrix.computeRow(row);
+        }
+        return matrix;
+    }
+
+    public int plats() {
+        return platIds.length;
+    }
+
+    public int vins() {
+        return vinIds.length;
+    }
+
+    /**
+     * Score d'accord, ou {@code NaN} si le plat ou le vin est inconnu.
+     */
+    public float score(long platId, long vinId) {
+        int row = Arrays.binarySearch(platIds, platId);
+        int col = Arrays.binarySearch(vinIds, vinId);
+        return row < 0 || col < 0 ? Float.NaN : scores[row * vinIds.length + col];
+    }
+
+    /**
+     * Les {@code k} meilleurs vins pour un plat (tas min de taille k sur la ligne du plat),
+     * par score décroissant puis id croissant.
+     *
+     * @param maxPrixCents budget maximal en centimes ({@code null} : pas de budget ; les vins sans prix sont exclus sinon)
+     * @param couleur      couleur imposée, ou {@code null}
+     * @return vide si le plat est inconnu
+     */
+    public Optional<List<VinRecommendation>> recommend(long platId, int k, Long maxPrixCents, CouleurVin couleur) {
+        int row = Arrays.binarySearch(platIds, platId);
+        if (row < 0) {
+            return Optional.empty();
+        }
+        if (k <= 0) {
+            return Optional.of(List.of());
+        }
+        int width = vinIds.length;
+        int base = row * width;
+        int[] heap = new int[k];
+        int size = 0;
+        for (int col = 0; col < width; col++) {
+            if (couleur != null && couleurs[col] != couleur.ordinal()) {
+                continue;
+            }
+            if (maxPrixCents != null && (prixCents[col] == VinColumnIndex.NO_PRIX || prixCents[col] > maxPrixCents)) {
+                continue;
+            }
+            if (size < k) {
+                heap[size] = col;
+                siftUp(heap, size++, base);
+            } else if (worse(heap[0], col, base)) {
+                heap[0] = col;
+                siftDown(heap, size, base);
+            }
+        }
+
+        // On vide le tas (du moins bon au meilleur) en remplissant la liste par la fin
+        VinRecommendation[] best = new VinRecommendation[size];
+        for (int i = size - 1; i >= 0; i--) {
+            int col = heap[0];
+            best[i] = new VinRecommendation(vins[col], scores[base + col]);
+            heap[0] = heap[i];
+            siftDown(heap, i, base);
+        }
+        return Optional.of(List.of(best));
+    }
+
+    /**
+     * Nouvelle matrice où le vin sauvegardé remplace (ou rejoint) sa colonne.
+     * Si les accords du vin ne sont pas initialisés, ceux de la version précédente sont conservés.
+     */
+    PairingMatrix withVin(Vin saved) {
+        int found = Arrays.binarySearch(vinIds, saved.getId());
+        int width = vinIds.length;
+        if (found < 0 && -found - 1 < width) {
+            // Insertion au milieu (id réutilisé ou réinséré) : rare, on recalcule tout
+            return inserted(saved, -found - 1);
+        }
+        boolean append = found < 0;
+        int col = append ? width : found;
+        int newWidth = append ? width + 1 : width;
+
+        BitSet newAccords = new BitSet();
+        if (Hibernate.isInitialized(saved.getPlatsAccordes()) && saved.getPlatsAccordes() != null) {
+            for (long platId : accordedPlatIds(saved)) {
+                int row = Arrays.binarySearch(platIds, platId);
+                if (row >= 0) {
+                    newAccords.set(row);
+                }
+            }
+        } else if (!append) {
+            for (int row = 0; row < platIds.length; row++) {
+                if (accords[row].get(col)) {
+                    newAccords.set(row);
+                }
+            }
+        }
+
+        long[] ids = append ? Arrays.copyOf(vinIds, newWidth) : vinIds;
+        VinView[] views = Arrays.copyOf(vins, newWidth);
+        long[] cents = Arrays.copyOf(prixCents, newWidth);
+        byte[] newCouleurs = Arrays.copyOf(couleurs, newWidth);
+        String[] newCepages = Arrays.copyOf(cepages, newWidth);
+        byte[] newBands = Arrays.copyOf(bands, newWidth);
+        ids[col] = saved.getId();
+        views[col] = VinView.of(saved);
+        cents[col] = VinColumnIndex.toCents(saved.getPrix());
+        newCouleurs[col] = couleur(saved);
+        newCepages[col] = normalize(saved.getCepage());
+        newBands[col] = band(cents[col]);
+
+        BitSet[] rowsAccords = accords.clone();
+        BitSet changed = new BitSet();
+        for (int row = 0; row < platIds.length; row++) {
+            boolean before = !append && accords[row].get(col);
+            boolean after = newAccords.get(row);
+            // Le profil d'un plat dépend aussi des attributs de ses vins accordés
+            if (before != after || before) {
+                BitSet copy = (BitSet) accords[row].clone();
+                copy.set(col, after);
+                rowsAccords[row] = copy;
+                changed.set(row);
+            }
+        }
+
+        float[] newScores;
+        if (append) {
+            newScores = new float[platIds.length * newWidth];
+            for (int row = 0; row < platIds.length; row++) {
+                System.arraycopy(scores, row * width, newScores, row * newWidth, width);
+            }
+        } else {
+            newScores = scores.clone();
+        }
+        PairingMatrix next = new PairingMatrix(platIds, defaultCouleur, rowsAccords, profiles.clone(),
+                ids, views, cents, newCouleurs, newCepages, newBands, newScores);
+        for (int row = 0; row < platIds.length; row++) {
+            if (changed.get(row)) {
+                next.computeRow(row);
+            } else {
+                newScores[row * newWidth + col] = next.computeScore(row, col);
+            }
+        }
+        return next;
+    }
+
+    private PairingMatrix inserted(Vin saved, int col) {
+        int width = vinIds.length + 1;
+        long[] ids = new long[width];
+        VinView[] views = new VinView[width];
+        long[] cents = new long[width];
+        byte[] newCouleurs = new byte[width];
+        String[] newCepages = new String[width];
+        byte[] newBands = new byte[width];
+        for (int from = 0, to = 0; to < width; to++) {
+            if (to == col) {
+                continue;
+            }
+            ids[to] = vinIds[from];
+            views[to] = vins[from];
+            cents[to] = prixCents[from];
+            newCouleurs[to] = couleurs[from];
+            newCepages[to] = cepages[from];
+            newBands[to] = bands[from];
+            from++;
+        }
+        BitSet[] shifted = new BitSet[platIds.length];
+        for (int row = 0; row < platIds.length; row++) {
+            BitSet before = accords[row];
+            BitSet after = new BitSet(width);
+            for (int bit = before.nextSetBit(0); bit >= 0; bit = before.nextSetBit(bit + 1)) {
+                after.set(bit < col ? bit : bit + 1);
+            }
+            shifted[row] = after;
+        }
+        // Colonne vide (sans accord) puis mise à jour normale : le vin y est "remplacé"
+        ids[col] = saved.getId();
+        views[col] = VinView.of(saved);
+        cents[col] = VinColumnIndex.NO_PRIX;
+        newCouleurs[col] = -1;
+        newBands[col] = -1;
+        PairingMatrix widened = new PairingMatrix(platIds, defaultCouleur, shifted, new Profile[platIds.length],
+                ids, views, cents, newCouleurs, newCepages, newBands, new float[platIds.length * width]);
+        for (int row = 0; row < platIds.length; row++) {
+            widened.computeRow(row);
+        }
+        return widened.withVin(saved);
+    }
+
+    // ==================== Scores ====================
+
+    private void computeRow(int row) {
+        profiles[row] = profile(row);
+        int width = vinIds.length;
+        for (int col = 0; col < width; col++) {
+            scores[row * width + col] = computeScore(row, col);
+        }
+    }
+
+    private float computeScore(int row, int col) {
+        Profile profile = profiles[row];
+        float score = accords[row].get(col) ? ACCORD : 0f;
+        if (couleurs[col] >= 0) {
+            score += COULEUR * profile.couleur()[couleurs[col]];
+        }
+        if (cepages[col] != null) {
+            score += CEPAGE * profile.cepage().getOrDefault(cepages[col], 0f);
+        }
+        if (bands[col] >= 0) {
+            score += PRIX * profile.band()[bands[col]];
+        }
+        return score;
+    }
+
+    private Profile profile(int row) {
+        BitSet accorded = accords[row];
+        int count = accorded.cardinality();
+        if (count == 0) {
+            return new Profile(defaultCouleur[row], Map.of(), new float[BAND_COUNT]);
+        }
+        float share = 1f / count;
+        float[] couleur = new float[COULEUR_COUNT];
+        Map<String, Float> cepage = new HashMap<>();
+        float[] band = new float[BAND_COUNT];
+        for (int col = accorded.nextSetBit(0); col >= 0; col = accorded.nextSetBit(col + 1)) {
+            if (couleurs[col] >= 0) {
+                couleur[couleurs[col]] += share;
+            }
+            if (cepages[col] != null) {
+                cepage.merge(cepages[col], share, Float::sum);
+            }
+            if (bands[col] >= 0) {
+                band[bands[col]] += share;
+            }
+        }
+        return new Profile(couleur, cepage, band);
+    }
+
+    // Ordre du tas : le "pire" vin (score le plus bas, puis id le plus grand) est à la racine
+    private boolean worse(int a, int b, int base) {
+        float sa = scores[base + a];
+        float sb = scores[base + b];
+        return sa < sb || (sa == sb && vinIds[a] > vinIds[b]);
+    }
+
+    private void siftUp(int[] heap, int i, int base) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(heap[i], heap[parent], base)) {
+                return;
+            }
+            int tmp = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = tmp;
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size, int base) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left + 1 < size && worse(heap[left + 1], heap[left], base) ? left + 1 : left;
+            if (!worse(heap[child], heap[i], base)) {
+                return;
+            }
+            int tmp = heap[i];
+            heap[i] = heap[child];
+            heap[child] = tmp;
+            i = child;
+        }
+    }
+
+    // ==================== Attributs ====================
+
+    private static List<Long> accordedPlatIds(Vin vin) {
+        if (vin.getPlatsAccordes() == null || !Hibernate.isInitialized(vin.getPlatsAccordes())) {
+            return List.of();
+        }
+        return vin.getPlatsAccordes().stream().map(Plat::getId).filter(id -> id != null).toList();
+    }
+
+    private static byte couleur(Vin vin) {
+        return vin.getCouleur() == null ? -1 : (byte) vin.getCouleur().ordinal();
+    }
+
+    private static byte band(long cents) {
+        if (cents == VinColumnIndex.NO_PRIX) {
+            return -1;
+        }
+        byte band = 0;
+        while (band < BANDS.length && cents >= BANDS[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String stripped = Normalizer.normalize(text.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT).replace("œ", "oe");
+    }
+
+    /**
+     * Affinité de couleur d'un plat sans accord, d'après les mots-clés de son nom, de ses ingrédients
+     * et ses types de menu ; normalisée pour que la couleur la plus citée vaille 1.
+     */
+    static float[] keywordCouleur(Plat plat) {
+        float[] couleur = new float[COULEUR_COUNT];
+        String text = normalize((plat.getNom() == null ? "" : plat.getNom()) + " "
+                + (plat.getIngredients() == null ? "" : plat.getIngredients()));
+        if (text != null) {
+            for (Map.Entry<String, CouleurVin[]> keyword : KEYWORDS.entrySet()) {
+                if (text.contains(keyword.getKey())) {
+                    for (CouleurVin c : keyword.getValue()) {
+                        couleur[c.ordinal()] += 1f;
+                    }
+                }
+            }
+        }
+        if (plat.getTypesMenu() != null && plat.getTypesMenu().contains(MenuType.DESSERT)) {
+            couleur[CouleurVin.LIQUOREUX.ordinal()] += 2f;
+            couleur[CouleurVin.EFFERVESCENT.ordinal()] += 1f;
+        }
+        float max = 0f;
+        for (float value : couleur) {
+            max = Math.max(max, value);
+        }
+        if (max > 0f) {
+            for (int i = 0; i < couleur.length; i++) {
+                couleur[i] /= max;
+            }
+        }
+        return couleur;
+    }
+
+    private static Map<String, CouleurVin[]> keywords() {
+        Map<String, CouleurVin[]> keywords = new HashMap<>();
+        CouleurVin[] rouge = {CouleurVin.ROUGE};
+        CouleurVin[] blanc = {CouleurVin.BLANC};
+        CouleurVin[] mer = {CouleurVin.BLANC, CouleurVin.EFFERVESCENT};
+        for (String word : List.of("boeuf", "bavette", "agneau", "canard", "gibier", "cerf", "wapiti", "porc",
+                "champignon", "burger", "saucisse", "chorizo")) {
+            keywords.put(word, rouge);
+        }
+        for (String word : List.of("poisson", "saumon", "truite", "morue", "thon", "poulet", "volaille",
+                "chevre", "feta", "ricotta", "beurre")) {
+            keywords.put(word, blanc);
+        }
+        for (String word : List.of("huitre", "petoncle", "crevette", "homard", "crabe", "moule", "frit")) {
+            keywords.put(word, mer);
+        }
+        for (String word : List.of("tomate", "salade", "charcuterie", "betterave")) {
+            keywords.put(word, new CouleurVin[]{CouleurVin.ROSE});
+        }
+        for (String word : List.of("epice", "curry", "kimchi", "ferment", "miso")) {
+            keywords.put(word, new CouleurVin[]{CouleurVin.ORANGE});
+        }
+        for (String word : List.of("chocolat", "caramel", "erable", "gateau", "tarte", "creme brulee")) {
+            keywords.put(word, new CouleurVin[]{CouleurVin.LIQUOREUX});
+        }
+        return Map.copyOf(keywords);
+    }
+
+    /**
+     * Ce qui, dans les accords d'un plat, fait monter le score d'un vin.
+     */
+    private record Profile(float[] couleur, Map<String, Float> cepage, float[] band) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.PlatView;
+import com.vinotech.sommelier_api.model.Allergene;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index des plats en mémoire, construit en une seule requête ({@link PlatRepository#findAllViews()}).
+ * <ul>
+ *   <li>Allergènes : les colonnes texte sont analysées une seule fois, au chargement,
+ *       en masques de bits ({@link Allergene#bit()}), et le filtre n'est plus qu'un parcours de {@code long[]}.</li>
+ *   <li>Menus : un tableau de positions par {@link MenuType}, trié par id, si bien qu'une page d'un menu
+ *       est une simple tranche de tableau.</li>
+ * </ul>
+ * Même modèle que {@link VinCatalog} : table immuable derrière une référence volatile,
+ * construite paresseusement et jetée par {@link #invalidate()} quand les plats changent.
+ */
+@Component
+public class PlatIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatIndex.class);
+
+    private final PlatRepository platRepository;
+
+    private final Object writeLock = new Object();
+    private volatile Table current;
+
+    public PlatIndex(PlatRepository platRepository) {
+        this.platRepository = platRepository;
+    }
+
+    /**
+     * Plats sans aucun des allergènes donnés.
+     *
+     * @param inclureModifiables garde aussi les plats dont les allergènes exclus peuvent tous être retirés
+     *                           ({@code allergenesModifiables})
+     */
+    public List<PlatView> platsSans(Set<Allergene> allergenes, boolean inclureModifiables) {
+        return table().platsSans(exclus(allergenes), inclureModifiables);
+    }
+
+    /**
+     * Une page des plats d'un menu, par id croissant, sans les allergènes donnés (ensemble vide : aucun filtre).
+     * Le tri éventuel du {@link Pageable} est ignoré.
+     */
+    public Page<PlatView> menu(MenuType menu, Set<Allergene> sansAllergenes, boolean inclureModifiables,
+                               Pageable pageable) {
+        return table().menu(menu, exclus(sansAllergenes), inclureModifiables, pageable);
+    }
+
+    /**
+     * Dès qu'un allergène est exclu, un plat dont un libellé n'a pas été reconnu l'est aussi :
+     * on ne sait pas ce qu'il contient.
+     */
+    private static long exclus(Set<Allergene> allergenes) {
+        long mask = Allergene.maskOf(allergenes);
+        return mask == 0 ? 0 : mask | Allergene.UNKNOWN;
+    }
+
+    public void invalidate() {
+        synchronized (writeLock) {
+            current = null;
+        }
+    }
+
+    private Table table() {
+        Table table = current;
+        if (table != null) {
+            return table;
+        }
+        synchronized (writeLock) {
+            if (current == null) {
+                current = Table.of(platRepository.findAllViews());
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Colonnes parallèles : {@code plats[i]} a les allergènes {@code allergenes[i]},
+     * dont {@code modifiables[i]} peuvent être retirés. {@code menus} donne, par type de menu,
+     * les positions des plats de ce menu.
+     */
+    static final class Table {
+
+        private static final int[] NONE = new int[0];
+
+        private final PlatView[] plats;
+        private final long[] allergenes;
+        private final long[] modifiables;
+        private final Map<MenuType, int[]> menus;
+
+        private Table(PlatView[] plats, long[] allergenes, long[] modifiables, Map<MenuType, int[]> menus) {
+            this.plats = plats;
+            this.allergenes = allergenes;
+            this.modifiables = modifiables;
+            this.menus = menus;
+        }
+
+        static Table of(List<PlatView> views) {
+            int size = views.size();
+            PlatView[] plats = views.toArray(new PlatView[0]);
+            long[] allergenes = new long[size];
+            long[] modifiables = new long[size];
+            int[] counts = new int[MenuType.values().length];
+            for (int i = 0; i < size; i++) {
+                PlatView plat = plats[i];
+                allergenes[i] = Allergene.parseMask(plat.allergenes(),
+                        label -> logger.warn("Allergène inconnu '{}' pour le plat {} ({})", label, plat.id(), plat.nom()));
+                // Un allergène "modifiable" est forcément présent dans le plat ; un libellé inconnu ne l'est jamais
+                modifiables[i] = Allergene.parseMask(plat.allergenesModifiables(), null) & allergenes[i]
+                        & ~Allergene.UNKNOWN;
+                for (MenuType type : plat.typesMenu()) {
+                    counts[type.ordinal()]++;
+                }
+            }
+            Map<MenuType, int[]> menus = new EnumMap<>(MenuType.class);
+            for (MenuType type : MenuType.values()) {
+                menus.put(type, new int[counts[type.ordinal()]]);
+            }
+            // Les vues arrivent triées par id : les positions de chaque menu le sont donc aussi
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                for (MenuType type : plats[i].typesMenu()) {
+                    menus.get(type)[counts[type.ordinal()]++] = i;
+                }
+            }
+            return new Table(plats, allergenes, modifiables, menus);
+        }
+
+        List<PlatView> platsSans(long exclus, boolean inclureModifiables) {
+            // Aucune allocation par ligne : on collecte des positions, puis on construit le résultat une fois
+            int[] matches = new int[plats.length];
+            int count = 0;
+            for (int i = 0; i < plats.length; i++) {
+                if (accepte(i, exclus, inclureModifiables)) {
+                    matches[count++] = i;
+                }
+            }
+            return collect(matches, 0, count);
+        }
+
+        Page<PlatView> menu(MenuType menu, long exclus, boolean inclureModifiables, Pageable pageable) {
+            int[] positions = menus.getOrDefault(menu, NONE);
+            int[] matches = positions;
+            int count = positions.length;
+            if (exclus != 0) {
+                matches = new int[positions.length];
+                count = 0;
+                for (int position : positions) {
+                    if (accepte(position, exclus, inclureModifiables)) {
+                        matches[count++] = position;
+                    }
+                }
+            }
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(collect(matches, 0, count), pageable, count);
+            }
+            int from = (int) Math.min(pageable.getOffset(), count);
+            int to = Math.min(from + pageable.getPageSize(), count);
+            return new PageImpl<>(collect(matches, from, to), pageable, count);
+        }
+
+        private boolean accepte(int i, long exclus, boolean inclureModifiables) {
+            long bloquants = inclureModifiables ? allergenes[i] & ~modifiables[i] : allergenes[i];
+            return (bloquants & exclus) == 0;
+        }
+
+        private List<PlatView> collect(int[] positions, int from, int to) {
+            PlatView[] result = new PlatView[to - from];
+            for (int i = from; i < to; i++) {
+                result[i - from] = plats[positions[i]];
+            }
+            return List.of(result);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Éviction du cache de second niveau de Hibernate après des écritures JDBC directes (accords en masse,
+ * fichiers de départ) : Hibernate ne les voit pas et continuerait à servir les anciennes valeurs.
+ * <p>
+ * Comme pour les structures en mémoire, l'éviction a lieu après le commit : une lecture qui la précéderait
+ * remettrait en cache l'état pas encore validé.
+ */
+@Component
+public class SecondLevelCache {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * La table de jointure {@code accord_vin_plat} a changé : seules les collections d'accords sont périmées.
+     */
+    public void onAccordsChanged() {
+        AfterCommit.run(() -> {
+            CacheImplementor cache = cache();
+            cache.evictCollectionData(Vin.class.getName() + ".platsAccordes");
+            cache.evictCollectionData(Plat.class.getName() + ".vinsAccordes");
+        });
+    }
+
+    /**
+     * Les tables du catalogue ont été réécrites : tout est évincé, résultats de requête compris.
+     */
+    public void onCatalogReloaded() {
+        AfterCommit.run(() -> cache().evictAllRegions());
+    }
+
+    private CacheImplementor cache() {
+        return (CacheImplementor) entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,212 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinSuggestion;
+import com.vinotech.sommelier_api.model.Vin;
+import org.hibernate.Hibernate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Dictionnaire trié immuable des noms, régions et cépages du catalogue, pour la saisie semi-automatique.
+ * <p>
+ * Chaque valeur distincte (à la casse et aux accents près) est une entrée du dictionnaire, numérotée par popularité
+ * décroissante : les meilleures suggestions sont donc les plus petits numéros. Les clés sont la valeur repliée
+ * ({@link TextAnalyzer#fold}) et chacun de ses suffixes qui commence un mot ("margaux" trouve "Château Margaux"),
+ * triées et pointant vers leur entrée. Un préfixe sélectionne une tranche contiguë de clés, trouvée par
+ * dichotomie, dont on garde les plus petits numéros d'entrée. Pour les préfixes d'une ou deux lettres, dont la
+ * tranche couvre une bonne part du dictionnaire, le résultat est précalculé.
+ */
+final class SuggestIndex {
+
+    /** Nombre maximal de suggestions par requête. */
+    static final int MAX_LIMIT = 20;
+
+    private static final int PRECOMPUTED_PREFIX = 2;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int[] NONE = new int[0];
+
+    private final long version;
+    private final VinSuggestion[] entries;
+    private final String[] keys;
+    private final int[] keyEntries;
+    private final Map<String, int[]> shortPrefixes;
+
+    private SuggestIndex(long version, VinSuggestion[] entries, String[] keys, int[] keyEntries,
+                         Map<String, int[]> shortPrefixes) {
+        this.version = version;
+        this.entries = entries;
+        this.keys = keys;
+        this.keyEntries = keyEntries;
+        this.shortPrefixes = shortPrefixes;
+    }
+
+    /**
+     * @param version version du catalogue ({@link CatalogVersion}) lue avant les vins
+     */
+    static SuggestIndex build(long version, Collection<Vin> vins) {
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        for (Vin vin : vins) {
+            Set<?> plats = vin.getPlatsAccordes();
+            int popularity = 1 + (plats != null && Hibernate.isInitialized(plats) ? plats.size() : 0);
+            add(candidates, vin.getNom(), VinSuggestion.Type.NOM, popularity);
+            add(candidates, vin.getRegion(), VinSuggestion.Type.REGION, popularity);
+            add(candidates, vin.getCepage(), VinSuggestion.Type.CEPAGE, popularity);
+        }
+        List<Candidate> ranked = new ArrayList<>(candidates.values());
+        ranked.sort(Comparator.comparingInt((Candidate c) -> -c.popularity)
+                .thenComparing(c -> c.text)
+                .thenComparing(c -> c.type));
+
+        VinSuggestion[] entries = new VinSuggestion[ranked.size()];
+        List<String> keyList = new ArrayList<>();
+        List<Integer> keyEntryList = new ArrayList<>();
+        for (int entry = 0; entry < entries.length; entry++) {
+            Candidate candidate = ranked.get(entry);
+            entries[entry] = new VinSuggestion(candidate.value, candidate.type, candidate.popularity);
+            String text = candidate.text;
+            for (int start = 0; start < text.length(); start = text.indexOf(' ', start) + 1) {
+                keyList.add(text.substring(start));
+                keyEntryList.add(entry);
+                if (text.indexOf(' ', start) < 0) {
+                    break;
+                }
+            }
+        }
+
+        Integer[] order = new Integer[keyList.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing(keyList::get).thenComparing(keyEntryList::get));
+        String[] keys = new String[order.length];
+        int[] keyEntries = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = keyList.get(order[i]);
+            keyEntries[i] = keyEntryList.get(order[i]);
+        }
+
+        Map<String, int[]> shortPrefixes = new HashMap<>();
+        for (int length = 1; length <= PRECOMPUTED_PREFIX; length++) {
+            int from = 0;
+            while (from < keys.length) {
+                if (keys[from].length() < length) {
+                    from++;
+                    continue;
+                }
+                String prefix = keys[from].substring(0, length);
+                int to = from + 1;
+                while (to < keys.length && keys[to].startsWith(prefix)) {
+                    to++;
+                }
+                shortPrefixes.put(prefix, best(keyEntries, from, to, MAX_LIMIT));
+                from = to;
+            }
+        }
+        return new SuggestIndex(version, entries, keys, keyEntries, shortPrefixes);
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    /**
+     * @param prefix début de saisie, comparé sans tenir compte de la casse ni des accents
+     * @param limit  nombre maximal de suggestions, au plus {@link #MAX_LIMIT}
+     * @return les valeurs qui commencent par {@code prefix}, ou dont un mot commence par {@code prefix},
+     *         les plus populaires d'abord
+     */
+    List<VinSuggestion> suggest(String prefix, int limit) {
+        String normalized = prefix == null ? "" : SEPARATORS.matcher(TextAnalyzer.fold(prefix)).replaceAll(" ").stripLeading();
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int[] best;
+        if (normalized.length() <= PRECOMPUTED_PREFIX) {
+            best = shortPrefixes.getOrDefault(normalized, NONE);
+        } else {
+            int from = lowerBound(normalized);
+            int to = from;
+            while (to < keys.length && keys[to].startsWith(normalized)) {
+                to++;
+            }
+            best = best(keyEntries, from, to, limit);
+        }
+        List<VinSuggestion> suggestions = new ArrayList<>(Math.min(limit, best.length));
+        for (int i = 0; i < best.length && i < limit; i++) {
+            suggestions.add(entries[best[i]]);
+        }
+        return suggestions;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Les {@code limit} plus petits numéros d'entrée distincts de la tranche [from, to), croissants
+    private static int[] best(int[] keyEntries, int from, int to, int limit) {
+        int[] best = new int[limit];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int entry = keyEntries[i];
+            if (count == limit && entry >= best[count - 1]) {
+                continue;
+            }
+            int position = Arrays.binarySearch(best, 0, count, entry);
+            if (position >= 0) {
+                continue;
+            }
+            int insert = -position - 1;
+            int moved = Math.min(count, limit - 1) - insert;
+            System.arraycopy(best, insert, best, insert + 1, moved);
+            best[insert] = entry;
+            count = Math.min(count + 1, limit);
+        }
+        return Arrays.copyOf(best, count);
+    }
+
+    private static void add(Map<String, Candidate> candidates, String value, VinSuggestion.Type type, int popularity) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        String text = SEPARATORS.matcher(TextAnalyzer.fold(value)).replaceAll(" ").strip();
+        if (text.isEmpty()) {
+            return;
+        }
+        // La première graphie rencontrée (vins triés par id) est celle qui est suggérée
+        candidates.computeIfAbsent(type + ":" + text, key -> new Candidate(value.strip(), type, text)).popularity += popularity;
+    }
+
+    private static final class Candidate {
+        private final String value;
+        private final VinSuggestion.Type type;
+        private final String text;
+        private int popularity;
+
+        Candidate(String value, VinSuggestion.Type type, String text) {
+            this.value = value;
+            this.type = type;
+            this.text = text;
+        }
+    }
+}
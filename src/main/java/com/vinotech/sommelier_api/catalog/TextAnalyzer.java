@@ -0,0 +1,77 @@
+package com.vinotech.sommelier_api.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Analyse du texte libre en français, commune à l'indexation des vins et aux requêtes {@code q}.
+ * <p>
+ * Le texte est découpé sur tout ce qui n'est ni lettre ni chiffre, mis en minuscules et débarrassé de ses accents
+ * ("Brioché" et "brioche" donnent le même terme). Les mots vides courants sont ignorés, puis une racinisation
+ * légère retire le pluriel et le féminin : "briochées", "brioché" et "brioche" deviennent tous "brioch",
+ * "légères" et "léger" deviennent "leger". Pas de dictionnaire : on vise le rappel sur un vocabulaire de
+ * dégustation, pas une analyse linguistique.
+ */
+final class TextAnalyzer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    // Longueur minimale d'une racine : "vin" ou "sec" gardent leur dernière lettre
+    private static final int MIN_STEM = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "au", "aux", "avec", "ce", "d", "dans", "de", "des", "du", "en", "et", "l", "la", "le", "les",
+            "ou", "par", "pour", "sa", "se", "ses", "son", "sur", "un", "une");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * @return les termes du texte, dans l'ordre et avec leurs répétitions ; vide pour {@code null}
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Minuscules sans accents ni ligatures ("Cœur de Bœuf" devient "coeur de boeuf").
+     */
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace("œ", "oe")
+                .replace("æ", "ae");
+    }
+
+    /**
+     * Racinisation légère d'un mot déjà replié : pluriel ({@code -s}, {@code -x}), puis féminin et participe
+     * ({@code -ee}, {@code -e}).
+     */
+    static String stem(String word) {
+        String stem = word;
+        if (stem.length() > MIN_STEM && (stem.endsWith("s") || stem.endsWith("x"))) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        if (stem.length() > MIN_STEM && stem.endsWith("ee")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        if (stem.length() > MIN_STEM && stem.endsWith("e")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        return stem;
+    }
+}
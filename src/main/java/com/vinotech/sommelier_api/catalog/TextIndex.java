@@ -0,0 +1,244 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.model.Vin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index inversé immuable du texte des vins (nom, notes de dégustation, cépage, région), pour le paramètre
+ * {@code q} de {@code /api/vins/search}.
+ * <p>
+ * Comme pour {@link VinColumnIndex}, une ligne est la position d'un vin dans la photo. Chaque terme
+ * ({@link TextAnalyzer}) pointe vers ses lignes, triées, avec sa fréquence pondérée par champ : un mot du nom
+ * ou du cépage compte plus qu'un mot des notes. Une requête retient les vins qui contiennent tous ses termes
+ * et les classe par BM25 (k1 = 1,2, b = 0,75), sans parcourir les vins qui ne contiennent aucun terme.
+ * <p>
+ * Les mises à jour produisent un nouvel index qui ne recopie que les listes des termes touchés.
+ */
+final class TextIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final float NOM_WEIGHT = 3f;
+    private static final float CEPAGE_WEIGHT = 2f;
+    private static final float REGION_WEIGHT = 1f;
+    private static final float NOTES_WEIGHT = 1f;
+
+    private static final Postings EMPTY = new Postings(new int[0], new float[0]);
+
+    private final int size;
+    private final Map<String, Postings> postings;
+    // Termes distincts de chaque ligne : une mise à jour sait quelles listes retoucher
+    private final String[][] rowTerms;
+    // Longueur pondérée de chaque ligne, et leur somme
+    private final float[] lengths;
+    private final double totalLength;
+
+    private TextIndex(int size, Map<String, Postings> postings, String[][] rowTerms, float[] lengths, double totalLength) {
+        this.size = size;
+        this.postings = postings;
+        this.rowTerms = rowTerms;
+        this.lengths = lengths;
+        this.totalLength = totalLength;
+    }
+
+    static TextIndex build(List<Vin> rows) {
+        int size = rows.size();
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        String[][] rowTerms = new String[size][];
+        float[] lengths = new float[size];
+        double totalLength = 0;
+        for (int row = 0; row < size; row++) {
+            Map<String, Float> frequencies = frequencies(rows.get(row));
+            for (Map.Entry<String, Float> term : frequencies.entrySet()) {
+                builders.computeIfAbsent(term.getKey(), t -> new PostingsBuilder()).add(row, term.getValue());
+                lengths[row] += term.getValue();
+            }
+            rowTerms[row] = frequencies.keySet().toArray(new String[0]);
+            totalLength += lengths[row];
+        }
+        Map<String, Postings> postings = new HashMap<>(builders.size() * 2);
+        builders.forEach((term, builder) -> postings.put(term, builder.build()));
+        return new TextIndex(size, postings, rowTerms, lengths, totalLength);
+    }
+
+    /**
+     * Remplace la ligne {@code row}, ou ajoute une ligne en fin d'index si {@code row == size()}.
+     */
+    TextIndex withRow(int row, Vin vin) {
+        boolean append = row == size;
+        int newSize = append ? size + 1 : size;
+        Map<String, Float> frequencies = frequencies(vin);
+
+        Map<String, Postings> newPostings = new HashMap<>(postings);
+        if (!append) {
+            for (String term : rowTerms[row]) {
+                Postings remaining = newPostings.get(term).without(row);
+                if (remaining.rows().length == 0) {
+                    newPostings.remove(term);
+                } else {
+                    newPostings.put(term, remaining);
+                }
+            }
+        }
+        float length = 0;
+        for (Map.Entry<String, Float> term : frequencies.entrySet()) {
+            newPostings.put(term.getKey(), newPostings.getOrDefault(term.getKey(), EMPTY).with(row, term.getValue()));
+            length += term.getValue();
+        }
+
+        String[][] newRowTerms = Arrays.copyOf(rowTerms, newSize);
+        newRowTerms[row] = frequencies.keySet().toArray(new String[0]);
+        float[] newLengths = Arrays.copyOf(lengths, newSize);
+        newLengths[row] = length;
+        double newTotalLength = totalLength - (append ? 0 : lengths[row]) + length;
+        return new TextIndex(newSize, newPostings, newRowTerms, newLengths, newTotalLength);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Évalue une requête déjà analysée.
+     *
+     * @param terms termes de la requête ({@link TextAnalyzer#terms}), non vide ; les doublons sont ignorés
+     * @return les lignes qui contiennent tous les termes et le score BM25 de chaque ligne
+     */
+    Ranking rank(Collection<String> terms) {
+        List<Map<String, Float>> alternatives = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(terms)) {
+            alternatives.add(Map.of(term, 1f));
+        }
+        return rankAlternatives(alternatives);
+    }
+
+    /**
+     * Comme {@link #rank}, mais chaque terme de la requête est satisfait par l'une de ses variantes
+     * (ex. les termes proches d'un mot mal orthographié), dont la contribution BM25 est multipliée par son poids.
+     *
+     * @param alternatives pour chaque terme de la requête, ses variantes et leur poids
+     * @return les lignes qui contiennent une variante de chaque terme, et leur score
+     */
+    Ranking rankAlternatives(List<Map<String, Float>> alternatives) {
+        float[] scores = new float[size];
+        BitSet matches = null;
+        float averageLength = size == 0 ? 0 : (float) (totalLength / size);
+        for (Map<String, Float> variants : alternatives) {
+            BitSet termRows = new BitSet(size);
+            for (Map.Entry<String, Float> variant : variants.entrySet()) {
+                Postings list = postings.get(variant.getKey());
+                if (list == null) {
+                    continue;
+                }
+                int documentFrequency = list.rows().length;
+                double idf = Math.log(1 + (size - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                for (int i = 0; i < documentFrequency; i++) {
+                    int row = list.rows()[i];
+                    float frequency = list.frequencies()[i];
+                    float norm = K1 * (1 - B + B * lengths[row] / averageLength);
+                    scores[row] += (float) (variant.getValue() * idf * frequency * (K1 + 1) / (frequency + norm));
+                    termRows.set(row);
+                }
+            }
+            if (termRows.isEmpty()) {
+                return new Ranking(new BitSet(size), scores);
+            }
+            if (matches == null) {
+                matches = termRows;
+            } else {
+                matches.and(termRows);
+            }
+        }
+        return new Ranking(matches == null ? new BitSet(size) : matches, scores);
+    }
+
+    private static Map<String, Float> frequencies(Vin vin) {
+        Map<String, Float> frequencies = new LinkedHashMap<>();
+        add(frequencies, vin.getNom(), NOM_WEIGHT);
+        add(frequencies, vin.getCepage(), CEPAGE_WEIGHT);
+        add(frequencies, vin.getRegion(), REGION_WEIGHT);
+        add(frequencies, vin.getNotesDegustation(), NOTES_WEIGHT);
+        return frequencies;
+    }
+
+    private static void add(Map<String, Float> frequencies, String text, float weight) {
+        for (String term : TextAnalyzer.terms(text)) {
+            frequencies.merge(term, weight, Float::sum);
+        }
+    }
+
+    /**
+     * Résultat d'une requête : lignes retenues et scores (0 pour les lignes qui ne contiennent aucun terme).
+     */
+    record Ranking(BitSet matches, float[] scores) {
+    }
+
+    /**
+     * Lignes d'un terme, croissantes, et fréquence pondérée du terme dans chacune.
+     */
+    private record Postings(int[] rows, float[] frequencies) {
+
+        Postings with(int row, float frequency) {
+            int position = Arrays.binarySearch(rows, row);
+            if (position >= 0) {
+                float[] newFrequencies = frequencies.clone();
+                newFrequencies[position] = frequency;
+                return new Postings(rows, newFrequencies);
+            }
+            int insert = -position - 1;
+            int[] newRows = new int[rows.length + 1];
+            float[] newFrequencies = new float[rows.length + 1];
+            System.arraycopy(rows, 0, newRows, 0, insert);
+            System.arraycopy(frequencies, 0, newFrequencies, 0, insert);
+            newRows[insert] = row;
+            newFrequencies[insert] = frequency;
+            System.arraycopy(rows, insert, newRows, insert + 1, rows.length - insert);
+            System.arraycopy(frequencies, insert, newFrequencies, insert + 1, rows.length - insert);
+            return new Postings(newRows, newFrequencies);
+        }
+
+        Postings without(int row) {
+            int position = Arrays.binarySearch(rows, row);
+            if (position < 0) {
+                return this;
+            }
+            int[] newRows = new int[rows.length - 1];
+            float[] newFrequencies = new float[rows.length - 1];
+            System.arraycopy(rows, 0, newRows, 0, position);
+            System.arraycopy(frequencies, 0, newFrequencies, 0, position);
+            System.arraycopy(rows, position + 1, newRows, position, rows.length - position - 1);
+            System.arraycopy(frequencies, position + 1, newFrequencies, position, rows.length - position - 1);
+            return new Postings(newRows, newFrequencies);
+        }
+    }
+
+    private static final class PostingsBuilder {
+        private final List<Integer> rows = new ArrayList<>();
+        private final List<Float> frequencies = new ArrayList<>();
+
+        void add(int row, float frequency) {
+            rows.add(row);
+            frequencies.add(frequency);
+        }
+
+        Postings build() {
+            int[] rowArray = new int[rows.size()];
+            float[] frequencyArray = new float[rows.size()];
+            for (int i = 0; i < rowArray.length; i++) {
+                rowArray[i] = rows.get(i);
+                frequencyArray[i] = frequencies.get(i);
+            }
+            return new Postings(rowArray, frequencyArray);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinFacets;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Catalogue des vins servi depuis la mémoire.
+ * <p>
+ * Les lectures se contentent de lire une référence volatile vers un {@link CatalogSnapshot} immuable :
+ * elles ne prennent jamais de verrou et ne voient jamais une mise à jour à moitié appliquée.
+ * Les écritures (rares) publient une nouvelle photo après le commit de la transaction.
+ * La photo est construite paresseusement à la première lecture.
+ * <p>
+ * Désactivable avec {@code catalog.snapshot.enabled=false} : {@code VinService} repasse alors
+ * par le repository pour toutes les lectures.
+ */
+@Component
+public class VinCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(VinCatalog.class);
+
+    private final VinRepository vinRepository;
+    private final boolean enabled;
+    private final VinComparators comparators;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer rebuildTimer;
+
+    // Sérialise les reconstructions et les mises à jour ; les lecteurs ne le prennent jamais.
+    private final Object writeLock = new Object();
+    private volatile CatalogSnapshot current;
+    private long nextVersion = 1;
+
+    public VinCatalog(VinRepository vinRepository,
+                      MeterRegistry meterRegistry,
+                      @Value("${catalog.snapshot.enabled:true}") boolean enabled,
+                      @Value("${catalog.snapshot.collation:}") String collation) {
+        this.vinRepository = vinRepository;
+        this.enabled = enabled;
+        this.comparators = VinComparators.forCollation(collation);
+        this.hits = Counter.builder("catalog.snapshot.requests")
+                .description("Lectures du catalogue servies par la photo en mémoire")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("catalog.snapshot.requests")
+                .description("Lectures du catalogue ayant dû interroger la base")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("catalog.snapshot.rebuild")
+                .description("Durée de reconstruction complète de la photo du catalogue")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.size", this, catalog -> {
+                    CatalogSnapshot snapshot = catalog.current;
+                    return snapshot == null ? 0 : snapshot.size();
+                })
+                .description("Nombre de vins dans la photo courante")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<Vin> findAll() {
+        return snapshot().vins();
+    }
+
+    /**
+     * Cherche d'abord dans la photo ; un vin absent (ex. inséré par une autre instance)
+     * est recherché en base et compté comme un miss.
+     */
+    public Optional<Vin> findById(Long id) {
+        CatalogSnapshot snapshot = current;
+        if (snapshot != null) {
+            Optional<Vin> vin = snapshot.findById(id);
+            if (vin.isPresent()) {
+                hits.increment();
+                return vin;
+            }
+        }
+        misses.increment();
+        return vinRepository.findById(id);
+    }
+
+    /**
+     * @return la page calculée en mémoire, ou vide si le tri n'est pas supporté par la photo
+     * (dont les tris sur le texte sans {@code catalog.snapshot.collation})
+     */
+    public Optional<Page<Vin>> search(VinFilter filter, Pageable pageable) {
+        return snapshot().search(filter, pageable, comparators);
+    }
+
+    /**
+     * @return au plus {@code limit} vins strictement après le curseur
+     */
+    public List<Vin> searchAfter(VinFilter filter, VinCursor cursor, int limit) {
+        return snapshot().searchAfter(filter, cursor, limit);
+    }
+
+    /**
+     * @return les compteurs de facettes calculés en mémoire
+     */
+    public VinFacets facets(VinFilter filter) {
+        return snapshot().facets(filter);
+    }
+
+    /**
+     * Publie le vin sauvegardé dans une nouvelle photo, après le commit si une transaction est active.
+     */
+    public void onVinSaved(Vin saved) {
+        if (!enabled || saved == null || saved.getId() == null) {
+            return;
+        }
+        AfterCommit.run(() -> apply(saved));
+    }
+
+    /**
+     * Jette la photo après le commit d'un import en masse : une seule reconstruction, à la prochaine lecture,
+     * plutôt qu'une copie de la photo par vin.
+     */
+    public void onVinsImported() {
+        AfterCommit.run(this::invalidate);
+    }
+
+    /**
+     * Jette la photo après le commit d'une liaison ou déliaison d'accords en masse : les copies des accords qu'elle
+     * porte seraient sinon reprises par les sauvegardes suivantes des mêmes vins.
+     */
+    public void onAccordsChanged() {
+        AfterCommit.run(this::invalidate);
+    }
+
+    /**
+     * Jette la photo courante ; la prochaine lecture la reconstruira (ex. après un chargement en masse).
+     */
+    public void invalidate() {
+        synchronized (writeLock) {
+            current = null;
+        }
+    }
+
+    /**
+     * Reconstruit immédiatement la photo depuis la base.
+     */
+    public CatalogSnapshot refresh() {
+        synchronized (writeLock) {
+            List<Vin> loaded = rebuildTimer.record(vinRepository::findAllWithAccords);
+            CatalogSnapshot snapshot = CatalogSnapshot.of(nextVersion++, loaded);
+            current = snapshot;
+            logger.info("Catalogue des vins reconstruit : {} vins (version {})", snapshot.size(), snapshot.version());
+            return snapshot;
+        }
+    }
+
+    private CatalogSnapshot snapshot() {
+        CatalogSnapshot snapshot = current;
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot;
+        }
+        misses.increment();
+        synchronized (writeLock) {
+            snapshot = current;
+            return snapshot != null ? snapshot : refresh();
+        }
+    }
+
+    private void apply(Vin saved) {
+        synchronized (writeLock) {
+            // Pas encore de photo : la première lecture chargera le vin depuis la base.
+            if (current != null) {
+                current = current.withVin(nextVersion++, saved);
+            }
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinFacets;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Vin;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Index colonnaire immuable des filtres de {@code /api/vins/search}.
+ * <p>
+ * Une ligne correspond à la position d'un vin dans la photo (triée par id). On garde :
+ * <ul>
+ *     <li>les ids, croissants avec la ligne ;</li>
+ *     <li>les prix en centimes ({@code long}) et deux permutations des lignes triées par prix,
+ *     utilisées à la fois pour les bornes (recherche dichotomique) et pour le tri par prix ;</li>
+ *     <li>un {@link BitSet} par {@link CouleurVin} ;</li>
+ *     <li>les régions et les cépages encodés par dictionnaire (en minuscules), avec un {@link BitSet} par entrée.</li>
+ * </ul>
+ * Un filtre s'évalue par intersections de bitsets, sans allocation par ligne ; les facettes comptent l'intersection
+ * des lignes retenues avec le bitset de chaque valeur.
+ * Les mises à jour produisent un nouvel index en ne recopiant que les colonnes touchées.
+ */
+final class VinColumnIndex {
+
+    static final long NO_PRIX = Long.MIN_VALUE;
+
+    /** Bornes des tranches de prix des facettes, en centimes. */
+    static final long[] PRIX_BUCKETS = {2_500, 5_000, 10_000, 20_000};
+
+    private static final CouleurVin[] COULEURS = CouleurVin.values();
+
+    private final int size;
+    private final long[] ids;
+    private final long[] prixCents;
+    // Lignes triées par (prix, ligne) ; les vins sans prix sont à la fin.
+    private final int[] byPrixAsc;
+    // Lignes triées par (prix décroissant, ligne) ; les vins sans prix sont en tête.
+    private final int[] byPrixDesc;
+    private final int pricedCount;
+    private final BitSet[] byCouleur;
+    private final Dictionary regions;
+    private final Dictionary cepages;
+
+    private VinColumnIndex(int size, long[] ids, long[] prixCents, int[] byPrixAsc, int[] byPrixDesc, int pricedCount,
+                           BitSet[] byCouleur, Dictionary regions, Dictionary cepages) {
+        this.size = size;
+        this.ids = ids;
+        this.prixCents = prixCents;
+        this.byPrixAsc = byPrixAsc;
+        this.byPrixDesc = byPrixDesc;
+        this.pricedCount = pricedCount;
+        this.byCouleur = byCouleur;
+        this.regions = regions;
+        this.cepages = cepages;
+    }
+
+    static VinColumnIndex build(List<Vin> rows) {
+        int size = rows.size();
+        long[] ids = new long[size];
+        long[] prixCents = new long[size];
+        int pricedCount = 0;
+        BitSet[] byCouleur = new BitSet[COULEURS.length];
+        for (int c = 0; c < byCouleur.length; c++) {
+            byCouleur[c] = new BitSet(size);
+        }
+
+        for (int row = 0; row < size; row++) {
+            Vin vin = rows.get(row);
+            ids[row] = vin.getId();
+            prixCents[row] = toCents(vin.getPrix());
+            if (prixCents[row] != NO_PRIX) {
+                pricedCount++;
+            }
+            if (vin.getCouleur() != null) {
+                byCouleur[vin.getCouleur().ordinal()].set(row);
+            }
+        }
+
+        int[] byPrixAsc = sortedRows(prixCents, false);
+        int[] byPrixDesc = sortedRows(prixCents, true);
+        return new VinColumnIndex(size, ids, prixCents, byPrixAsc, byPrixDesc, pricedCount, byCouleur,
+                Dictionary.build(rows, Vin::getRegion), Dictionary.build(rows, Vin::getCepage));
+    }
+
+    /**
+     * Remplace la ligne {@code row}, ou ajoute une ligne en fin d'index si {@code row == size()}.
+     */
+    VinColumnIndex withRow(int row, Vin vin) {
+        boolean append = row == size;
+        int newSize = append ? size + 1 : size;
+
+        // Une mise à jour garde son id (et donc sa ligne) : seul un ajout recopie la colonne
+        long[] newIds = ids;
+        if (append) {
+            newIds = Arrays.copyOf(ids, newSize);
+            newIds[row] = vin.getId();
+        }
+
+        long oldPrix = append ? NO_PRIX : prixCents[row];
+        long newPrix = toCents(vin.getPrix());
+        long[] newPrixCents = Arrays.copyOf(prixCents, newSize);
+        newPrixCents[row] = newPrix;
+        int newPricedCount = pricedCount
+                - (!append && oldPrix != NO_PRIX ? 1 : 0)
+                + (newPrix != NO_PRIX ? 1 : 0);
+        int[] newByPrixAsc = reposition(byPrixAsc, append, row, newPrixCents, false);
+        int[] newByPrixDesc = reposition(byPrixDesc, append, row, newPrixCents, true);
+
+        BitSet[] newByCouleur = byCouleur.clone();
+        for (int c = 0; c < newByCouleur.length; c++) {
+            boolean had = !append && byCouleur[c].get(row);
+            boolean has = vin.getCouleur() != null && vin.getCouleur().ordinal() == c;
+            if (had != has) {
+                newByCouleur[c] = (BitSet) byCouleur[c].clone();
+                newByCouleur[c].set(row, has);
+            }
+        }
+
+        return new VinColumnIndex(newSize, newIds, newPrixCents, newByPrixAsc, newByPrixDesc, newPricedCount,
+                newByCouleur, regions.withRow(row, vin.getRegion(), newSize),
+                cepages.withRow(row, vin.getCepage(), newSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return les lignes satisfaisant tous les critères du filtre
+     */
+    BitSet filter(VinFilter filter) {
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+        if (filter.couleur() != null) {
+            result.and(byCouleur[filter.couleur().ordinal()]);
+        }
+        if (filter.minPrix() != null || filter.maxPrix() != null) {
+            result.and(prixRange(filter.minPrix(), filter.maxPrix()));
+        }
+        String needle = normalize(filter.region());
+        if (needle != null && !needle.isEmpty()) {
+            BitSet inRegion = new BitSet(size);
+            for (int id = 0; id < regions.values.length; id++) {
+                if (regions.values[id].contains(needle)) {
+                    inRegion.or(regions.rows[id]);
+                }
+            }
+            result.and(inRegion);
+        }
+        return result;
+    }
+
+    /**
+     * Facettes du filtre : chacune est comptée sur les lignes qui satisfont tous les critères sauf le sien
+     * (un critère absent ne coûte pas de second filtrage), puis par intersection avec le bitset de chaque valeur.
+     *
+     * @param textMatches lignes retenues par le texte libre, ou {@code null} sans texte libre
+     */
+    VinFacets facets(VinFilter filter, BitSet textMatches) {
+        BitSet all = filter(filter, textMatches);
+        BitSet anyCouleur = filter.couleur() == null ? all
+                : filter(new VinFilter(null, filter.minPrix(), filter.maxPrix(), filter.region()), textMatches);
+        BitSet anyPrix = filter.minPrix() == null && filter.maxPrix() == null ? all
+                : filter(new VinFilter(filter.couleur(), null, null, filter.region()), textMatches);
+        BitSet anyRegion = filter.region() == null || filter.region().isEmpty() ? all
+                : filter(new VinFilter(filter.couleur(), filter.minPrix(), filter.maxPrix(), null), textMatches);
+
+        // Un seul bitset de travail pour toutes les intersections
+        BitSet scratch = new BitSet(size);
+        Map<CouleurVin, Integer> couleurs = new EnumMap<>(CouleurVin.class);
+        for (CouleurVin couleur : COULEURS) {
+            couleurs.put(couleur, intersection(anyCouleur, byCouleur[couleur.ordinal()], scratch));
+        }
+
+        int[] prixCounts = new int[PRIX_BUCKETS.length + 1];
+        for (int row = anyPrix.nextSetBit(0); row >= 0; row = anyPrix.nextSetBit(row + 1)) {
+            if (prixCents[row] != NO_PRIX) {
+                int bucket = 0;
+                while (bucket < PRIX_BUCKETS.length && prixCents[row] >= PRIX_BUCKETS[bucket]) {
+                    bucket++;
+                }
+                prixCounts[bucket]++;
+            }
+        }
+        List<VinFacets.PrixBucket> prix = new ArrayList<>(prixCounts.length);
+        for (int bucket = 0; bucket < prixCounts.length; bucket++) {
+            prix.add(new VinFacets.PrixBucket(
+                    bucket == 0 ? null : BigDecimal.valueOf(PRIX_BUCKETS[bucket - 1], 2),
+                    bucket == PRIX_BUCKETS.length ? null : BigDecimal.valueOf(PRIX_BUCKETS[bucket], 2),
+                    prixCounts[bucket]));
+        }
+
+        return new VinFacets(all.cardinality(), couleurs, regions.counts(anyRegion, scratch),
+                cepages.counts(all, scratch), prix);
+    }
+
+    private BitSet filter(VinFilter filter, BitSet textMatches) {
+        BitSet result = filter(filter);
+        if (textMatches != null) {
+            result.and(textMatches);
+        }
+        return result;
+    }
+
+    private static int intersection(BitSet a, BitSet b, BitSet scratch) {
+        scratch.clear();
+        scratch.or(a);
+        scratch.and(b);
+        return scratch.cardinality();
+    }
+
+    /**
+     * Copie dans {@code out} les lignes de {@code matches} dans l'ordre des prix,
+     * en sautant les {@code offset} premières.
+     *
+     * @return le nombre de lignes copiées
+     */
+    int rowsByPrix(BitSet matches, boolean descending, long offset, int[] out) {
+        return collect(descending ? byPrixDesc : byPrixAsc, 0, matches, offset, out);
+    }
+
+    /**
+     * Copie dans {@code out} les lignes de {@code matches} qui suivent strictement la clé
+     * ({@code afterCents}, {@code afterId}) dans l'ordre des prix (pagination par clé).
+     *
+     * @param afterCents prix en centimes du dernier vin déjà servi, ou {@link #NO_PRIX}
+     * @return le nombre de lignes copiées
+     */
+    int rowsByPrixAfter(BitSet matches, boolean descending, long afterCents, long afterId, int[] out) {
+        int[] order = descending ? byPrixDesc : byPrixAsc;
+        int lo = 0;
+        int hi = order.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int row = order[mid];
+            if (compare(prixCents[row], ids[row], afterCents, afterId, descending) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return collect(order, lo, matches, 0, out);
+    }
+
+    /**
+     * @return la première ligne dont l'id est strictement supérieur à {@code id}
+     */
+    int firstRowAfterId(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private static int collect(int[] order, int start, BitSet matches, long offset, int[] out) {
+        int copied = 0;
+        long skipped = 0;
+        for (int i = start; i < order.length && copied < out.length; i++) {
+            int row = order[i];
+            if (matches.get(row)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    out[copied++] = row;
+                }
+            }
+        }
+        return copied;
+    }
+
+    private BitSet prixRange(Double minPrix, Double maxPrix) {
+        // Bornes converties en centimes : un prix est retenu si min <= prix <= max
+        int from = minPrix == null ? 0
+                : lowerBound(BigDecimal.valueOf(minPrix).movePointRight(2).setScale(0, RoundingMode.CEILING).longValue());
+        int to = maxPrix == null ? pricedCount
+                : lowerBound(BigDecimal.valueOf(maxPrix).movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue() + 1);
+        BitSet range = new BitSet(size);
+        for (int i = from; i < to; i++) {
+            range.set(byPrixAsc[i]);
+        }
+        return range;
+    }
+
+    // Première position de byPrixAsc dont le prix est >= cents, parmi les vins ayant un prix.
+    private int lowerBound(long cents) {
+        int lo = 0;
+        int hi = pricedCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prixCents[byPrixAsc[mid]] < cents) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    static long toCents(BigDecimal prix) {
+        return prix == null ? NO_PRIX : prix.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] sortedRows(long[] prixCents, boolean descending) {
+        Integer[] rows = new Integer[prixCents.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        Arrays.sort(rows, (a, b) -> compare(prixCents[a], a, prixCents[b], b, descending));
+        int[] sorted = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            sorted[i] = rows[i];
+        }
+        return sorted;
+    }
+
+    private static int[] reposition(int[] order, boolean append, int row, long[] prixCents, boolean descending) {
+        int[] result = new int[append ? order.length + 1 : order.length];
+        int length = 0;
+        for (int r : order) {
+            if (append || r != row) {
+                result[length++] = r;
+            }
+        }
+        int lo = 0;
+        int hi = length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(prixCents[result[mid]], result[mid], prixCents[row], row, descending) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        System.arraycopy(result, lo, result, lo + 1, length - lo);
+        result[lo] = row;
+        return result;
+    }
+
+    /**
+     * Colonne texte encodée par dictionnaire : valeurs distinctes en minuscules, libellé (première orthographe
+     * rencontrée), valeur de chaque ligne ({@code -1} si absente) et bitset des lignes de chaque valeur.
+     * Immuable : {@link #withRow} ne recopie que les bitsets touchés.
+     */
+    private static final class Dictionary {
+
+        private final String[] values;
+        private final String[] labels;
+        private final int[] valueIds;
+        private final BitSet[] rows;
+
+        private Dictionary(String[] values, String[] labels, int[] valueIds, BitSet[] rows) {
+            this.values = values;
+            this.labels = labels;
+            this.valueIds = valueIds;
+            this.rows = rows;
+        }
+
+        static Dictionary build(List<Vin> vins, Function<Vin, String> column) {
+            int size = vins.size();
+            Map<String, Integer> ids = new HashMap<>();
+            List<String> labels = new ArrayList<>();
+            List<BitSet> rows = new ArrayList<>();
+            int[] valueIds = new int[size];
+            for (int row = 0; row < size; row++) {
+                String label = column.apply(vins.get(row));
+                if (label == null) {
+                    valueIds[row] = -1;
+                    continue;
+                }
+                Integer id = ids.putIfAbsent(normalize(label), ids.size());
+                if (id == null) {
+                    id = labels.size();
+                    labels.add(label);
+                    rows.add(new BitSet(size));
+                }
+                valueIds[row] = id;
+                rows.get(id).set(row);
+            }
+            String[] values = new String[ids.size()];
+            ids.forEach((value, id) -> values[id] = value);
+            return new Dictionary(values, labels.toArray(new String[0]), valueIds, rows.toArray(new BitSet[0]));
+        }
+
+        /**
+         * Remplace la valeur de la ligne {@code row}, ou l'ajoute si {@code row} est la dernière de {@code newSize}.
+         */
+        Dictionary withRow(int row, String label, int newSize) {
+            boolean append = row == valueIds.length;
+            String value = normalize(label);
+            String[] newValues = values;
+            String[] newLabels = labels;
+            BitSet[] newRows = rows.clone();
+            int oldId = append ? -1 : valueIds[row];
+            int newId = value == null ? -1 : indexOf(values, value);
+            if (value != null && newId < 0) {
+                newId = values.length;
+                newValues = Arrays.copyOf(values, newId + 1);
+                newValues[newId] = value;
+                newLabels = Arrays.copyOf(labels, newId + 1);
+                newLabels[newId] = label;
+                newRows = Arrays.copyOf(newRows, newId + 1);
+                newRows[newId] = new BitSet(newSize);
+            }
+            int[] newValueIds = Arrays.copyOf(valueIds, newSize);
+            newValueIds[row] = newId;
+            if (oldId != newId) {
+                if (oldId >= 0) {
+                    newRows[oldId] = (BitSet) rows[oldId].clone();
+                    newRows[oldId].clear(row);
+                }
+                if (newId >= 0) {
+                    newRows[newId] = (BitSet) newRows[newId].clone();
+                    newRows[newId].set(row);
+                }
+            }
+            return new Dictionary(newValues, newLabels, newValueIds, newRows);
+        }
+
+        // Valeurs non vides portées par au moins une ligne de matches, les plus fréquentes d'abord
+        List<VinFacets.Value> counts(BitSet matches, BitSet scratch) {
+            List<VinFacets.Value> counts = new ArrayList<>();
+            for (int id = 0; id < values.length; id++) {
+                int count = values[id].isBlank() ? 0 : intersection(matches, rows[id], scratch);
+                if (count > 0) {
+                    counts.add(new VinFacets.Value(labels[id], count));
+                }
+            }
+            counts.sort(Comparator.comparingInt(VinFacets.Value::count).reversed()
+                    .thenComparing(VinFacets.Value::value));
+            return counts;
+        }
+    }
+
+    // Ordre (prix, id) ; sans prix en dernier en ASC et en premier en DESC, comme PostgreSQL.
+    // Les lignes étant triées par id, le numéro de ligne peut servir de départage.
+    private static int compare(long pa, long ida, long pb, long idb, boolean descending) {
+        if (pa != pb) {
+            if (pa == NO_PRIX) {
+                return descending ? -1 : 1;
+            }
+            if (pb == NO_PRIX) {
+                return descending ? 1 : -1;
+            }
+            return descending ? Long.compare(pb, pa) : Long.compare(pa, pb);
+        }
+        return Long.compare(ida, idb);
+    }
+}
@@ -0,0 +1,102 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.model.Vin;
+import org.springframework.data.domain.Sort;
+
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Traduit un {@link Sort} Spring Data en {@link Comparator} sur {@link Vin}.
+ * Les nulls suivent la convention PostgreSQL (derniers en ASC, premiers en DESC)
+ * et l'id départage toujours les égalités pour garder une pagination stable.
+ * <p>
+ * Les colonnes de texte libre (nom, région, cépage, notes) sont comparées avec un {@link Collator} de la
+ * collation de la base ({@code catalog.snapshot.collation}) : casse et accents y pèsent moins que les lettres,
+ * comme pour un {@code ORDER BY} PostgreSQL, et non dans l'ordre des points de code Java.
+ * Sans collation configurée, ces tris sont laissés à la base.
+ */
+public final class VinComparators {
+
+    public static final Comparator<Vin> BY_ID = Comparator.comparing(Vin::getId);
+
+    // La couleur n'a que des lettres majuscules ASCII : toutes les collations la classent comme Java
+    private static final Map<String, Function<Vin, ?>> VALUES = Map.of(
+            "id", Vin::getId,
+            "prix", Vin::getPrix,
+            "couleur", vin -> vin.getCouleur() == null ? null : vin.getCouleur().name()
+    );
+
+    private static final Map<String, Function<Vin, ?>> TEXTS = Map.of(
+            "nom", Vin::getNom,
+            "region", Vin::getRegion,
+            "cepage", Vin::getCepage,
+            "notesDegustation", Vin::getNotesDegustation
+    );
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Object> NATURAL = (Comparator) Comparator.naturalOrder();
+
+    private final Collator collator;
+
+    private VinComparators(Collator collator) {
+        this.collator = collator;
+    }
+
+    /**
+     * @param languageTag collation de la base en BCP 47 (ex. {@code en-US} pour {@code en_US.UTF-8}),
+     *                    ou vide pour laisser à la base les tris sur le texte
+     */
+    public static VinComparators forCollation(String languageTag) {
+        if (languageTag == null || languageTag.isBlank()) {
+            return new VinComparators(null);
+        }
+        Collator collator = Collator.getInstance(Locale.forLanguageTag(languageTag.trim()));
+        // Un accent composé ou décomposé (NFC / NFD) classe pareil
+        collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        return new VinComparators(collator);
+    }
+
+    /**
+     * @return le comparateur correspondant, ou vide si une propriété du tri n'est pas supportée
+     * (l'appelant retombe alors sur la requête JPA, qui produira l'erreur habituelle)
+     */
+    public Optional<Comparator<Vin>> of(Sort sort) {
+        Comparator<Vin> comparator = null;
+        // Collator.compare est synchronisé : chaque tri a sa copie pour ne pas sérialiser les recherches
+        Comparator<Object> collated = null;
+        for (Sort.Order order : sort) {
+            Function<Vin, ?> extractor = VALUES.get(order.getProperty());
+            Comparator<Object> values = NATURAL;
+            if (extractor == null && collator != null && TEXTS.containsKey(order.getProperty())) {
+                extractor = TEXTS.get(order.getProperty());
+                if (collated == null) {
+                    collated = (Collator) collator.clone();
+                }
+                values = collated;
+            }
+            if (extractor == null || order.isIgnoreCase()) {
+                return Optional.empty();
+            }
+            Comparator<Vin> next = comparing(extractor, values, order);
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return Optional.of(comparator == null ? BY_ID : comparator.thenComparing(BY_ID));
+    }
+
+    private static Comparator<Vin> comparing(Function<Vin, ?> extractor, Comparator<Object> natural,
+                                             Sort.Order order) {
+        boolean nullsFirst = switch (order.getNullHandling()) {
+            case NULLS_FIRST -> true;
+            case NULLS_LAST -> false;
+            case NATIVE -> order.isDescending();
+        };
+        Comparator<Object> values = order.isDescending() ? natural.reversed() : natural;
+        Comparator<Object> withNulls = nullsFirst ? Comparator.nullsFirst(values) : Comparator.nullsLast(values);
+        return (a, b) -> withNulls.compare(extractor.apply(a), extractor.apply(b));
+    }
+}
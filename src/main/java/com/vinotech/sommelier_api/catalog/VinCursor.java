@@ -0,0 +1,74 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.exception.InvalidRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position dans une pagination par clé (keyset) de {@code /api/vins/search}.
+ * <p>
+ * Le curseur porte l'ordre ({@code id} ou {@code prix}, l'id départageant toujours les égalités)
+ * et la clé du dernier vin servi. Il est exposé aux clients sous forme d'un jeton opaque
+ * (Base64 URL) : {@code prix:asc:15000:42} pour un dernier vin à 150,00 $ d'id 42.
+ *
+ * @param property   {@code "id"} ou {@code "prix"}
+ * @param descending sens du tri
+ * @param prixCents  prix du dernier vin servi en centimes ({@code null} si sans prix)
+ * @param id         id du dernier vin servi, {@code null} pour la première page
+ */
+public record VinCursor(String property, boolean descending, Long prixCents, Long id) {
+
+    private static final List<String> PROPERTIES = List.of("id", "prix");
+
+    /**
+     * Curseur de première page pour le tri demandé (par défaut : id croissant).
+     */
+    public static VinCursor start(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return new VinCursor("id", false, null, null);
+        }
+        Sort.Order order = orders.get(0);
+        if (orders.size() > 1 || !PROPERTIES.contains(order.getProperty())
+                || order.isIgnoreCase() || order.getNullHandling() != Sort.NullHandling.NATIVE) {
+            throw new InvalidRequestException("Keyset pagination only supports sort=id or sort=prix (asc or desc)");
+        }
+        return new VinCursor(order.getProperty(), order.isDescending(), null, null);
+    }
+
+    public static VinCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":");
+            if (parts.length != 4 || !PROPERTIES.contains(parts[0])
+                    || !(parts[1].equals("asc") || parts[1].equals("desc"))) {
+                throw new InvalidRequestException("Invalid cursor '" + token + "'");
+            }
+            Long prixCents = parts[2].equals("null") ? null : Long.valueOf(parts[2]);
+            return new VinCursor(parts[0], parts[1].equals("desc"), prixCents, Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor '" + token + "'");
+        }
+    }
+
+    public boolean isStart() {
+        return id == null;
+    }
+
+    /**
+     * @return le curseur positionné après {@code last}, dans le même ordre
+     */
+    public VinCursor after(VinView last) {
+        long cents = VinColumnIndex.toCents(last.prix());
+        return new VinCursor(property, descending, cents == VinColumnIndex.NO_PRIX ? null : cents, last.id());
+    }
+
+    public String encode() {
+        String raw = property + ":" + (descending ? "desc" : "asc") + ":" + prixCents + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.model.CouleurVin;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Critères de recherche de {@code /api/vins/search}, évalués en mémoire par {@link VinColumnIndex}
+ * et {@link TextIndex}.
+ * La sémantique reproduit celle de la {@code Specification} JPA de {@code VinService} :
+ * un vin sans prix ne satisfait jamais une borne de prix, et la région est comparée
+ * en sous-chaîne insensible à la casse. Le texte libre {@code q} retient les vins qui contiennent
+ * tous ses termes ; avec {@code fuzzy}, un terme peut aussi être satisfait par un mot proche d'un nom ou d'un
+ * cépage ({@link FuzzyIndex}).
+ */
+public record VinFilter(CouleurVin couleur, Double minPrix, Double maxPrix, String region, String q, boolean fuzzy) {
+
+    // Un accent combinant (texte décomposé) reste dans son mot au lieu de le couper en deux
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+
+    /**
+     * Critères sans texte libre.
+     */
+    public VinFilter(CouleurVin couleur, Double minPrix, Double maxPrix, String region) {
+        this(couleur, minPrix, maxPrix, region, null, false);
+    }
+
+    /**
+     * Critères avec un texte libre exact.
+     */
+    public VinFilter(CouleurVin couleur, Double minPrix, Double maxPrix, String region, String q) {
+        this(couleur, minPrix, maxPrix, region, q, false);
+    }
+
+    /**
+     * Forme canonique, pour servir de clé de cache : la région est comparée sans tenir compte de la casse
+     * ("Loire" et "loire" sélectionnent les mêmes vins) et une région vide ne filtre pas. Le texte libre est
+     * réduit à ses mots distincts, en minuscules et triés ("Gamay LÉGER" et "léger gamay" donnent le même résultat),
+     * et {@code fuzzy} n'a d'effet qu'avec un texte libre.
+     * <p>
+     * Les mots gardent leurs accents, leurs pluriels et les mots vides : c'est la granularité de la recherche en
+     * base, qui les compare mot pour mot. L'analyse en mémoire ({@link TextAnalyzer}) n'étant fonction que de ces
+     * mots, la clé vaut pour les deux chemins ; "bulles" et "bulle" restent deux entrées.
+     */
+    public VinFilter normalized() {
+        String normalizedRegion = region == null || region.isEmpty() ? null : region.toLowerCase(Locale.ROOT);
+        String normalizedQ = q == null ? null : String.join(" ", words(q).stream()
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .toList());
+        if (normalizedQ != null && normalizedQ.isEmpty()) {
+            normalizedQ = null;
+        }
+        return new VinFilter(couleur, minPrix, maxPrix, normalizedRegion, normalizedQ, fuzzy && normalizedQ != null);
+    }
+
+    /**
+     * Mots du texte libre, dans l'ordre et tels quels : le découpage de la recherche en base
+     * ({@code VinService}) et de la clé {@link #normalized()}, qui doivent rester identiques.
+     *
+     * @return les mots non vides ; vide pour {@code null}
+     */
+    public static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(WORD_SEPARATORS.split(text))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+}
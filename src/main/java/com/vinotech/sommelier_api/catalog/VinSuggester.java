@@ -0,0 +1,125 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinSuggestion;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Saisie semi-automatique de {@code /api/vins/suggest}, servie depuis un {@link SuggestIndex} en mémoire,
+ * sans accès à la base.
+ * <p>
+ * Même modèle que {@link VinCatalog} pour les lectures (référence volatile vers un index immuable), mais la
+ * reconstruction ne bloque jamais une requête : quand la {@link CatalogVersion} a changé depuis la construction de
+ * l'index, la requête est servie par l'index courant et une reconstruction est lancée en tâche de fond (une seule à
+ * la fois). Seule la toute première requête attend la construction.
+ */
+@Component
+public class VinSuggester {
+
+    /** Nombre maximal de suggestions par requête. */
+    public static final int MAX_LIMIT = SuggestIndex.MAX_LIMIT;
+
+    private static final Logger logger = LoggerFactory.getLogger(VinSuggester.class);
+
+    private final VinCatalog vinCatalog;
+    private final VinRepository vinRepository;
+    private final CatalogVersion catalogVersion;
+    private final Executor executor;
+    private final Timer rebuildTimer;
+
+    private final Object writeLock = new Object();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile SuggestIndex current;
+
+    @Autowired
+    public VinSuggester(VinCatalog vinCatalog, VinRepository vinRepository, CatalogVersion catalogVersion,
+                        MeterRegistry meterRegistry) {
+        this(vinCatalog, vinRepository, catalogVersion, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vin-suggest-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    VinSuggester(VinCatalog vinCatalog, VinRepository vinRepository, CatalogVersion catalogVersion,
+                 MeterRegistry meterRegistry, Executor executor) {
+        this.vinCatalog = vinCatalog;
+        this.vinRepository = vinRepository;
+        this.catalogVersion = catalogVersion;
+        this.executor = executor;
+        this.rebuildTimer = Timer.builder("vin.suggest.rebuild")
+                .description("Durée de reconstruction du dictionnaire des suggestions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param limit nombre maximal de suggestions, au plus {@link #MAX_LIMIT}
+     * @return les noms, régions et cépages dont la valeur ou un mot commence par {@code prefix}
+     *         (casse et accents ignorés), les plus populaires d'abord
+     */
+    public List<VinSuggestion> suggest(String prefix, int limit) {
+        SuggestIndex index = current;
+        if (index == null) {
+            synchronized (writeLock) {
+                index = current != null ? current : refresh();
+            }
+        } else if (index.version() != catalogVersion.current()) {
+            scheduleRebuild();
+        }
+        return index.suggest(prefix, limit);
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    logger.warn("Reconstruction des suggestions impossible, l'index précédent reste servi", e);
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuildScheduled.set(false);
+        }
+    }
+
+    private SuggestIndex refresh() {
+        synchronized (writeLock) {
+            // Version lue avant les vins : une écriture concurrente relancera une reconstruction
+            long version = catalogVersion.current();
+            SuggestIndex index = rebuildTimer.record(() -> {
+                List<Vin> vins = vinCatalog.isEnabled() ? vinCatalog.findAll() : vinRepository.findAllWithAccords();
+                return SuggestIndex.build(version, vins);
+            });
+            current = index;
+            logger.info("Suggestions reconstruites : {} valeurs (version {})", index.size(), version);
+            return index;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+}
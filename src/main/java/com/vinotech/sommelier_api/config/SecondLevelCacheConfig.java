@@ -0,0 +1,161 @@
+package com.vinotech.sommelier_api.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.vinotech.sommelier_api.model.CacheRegions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.spi.CachingProvider;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache de second niveau de Hibernate : régions JCache adossées à des caches Caffeine locaux,
+ * sans serveur de cache externe.
+ * <p>
+ * Chaque région ({@link CacheRegions}) est bornée en octets : le poids d'une entrée est la taille de sa forme
+ * sérialisée, estimée à l'écriture. Les régions non déclarées ici font échouer le démarrage plutôt que d'être
+ * créées sans limite. Les statistiques natives de Caffeine sont publiées par région (requêtes, taux de succès,
+ * évictions, taille) dans les métriques {@code cache.*}, avec le tag {@code cache=<région>}.
+ * <p>
+ * Désactivable avec {@code catalog.cache.second-level.enabled=false} : le cache de second niveau reste alors coupé
+ * ({@code hibernate.cache.use_second_level_cache=false} dans {@code application.properties}, que seule cette
+ * configuration rétablit) et aucune région n'est créée.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.cache.second-level.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    private static final AtomicInteger MANAGERS = new AtomicInteger();
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${catalog.cache.entity-size:16MB}") DataSize entitySize,
+            @Value("${catalog.cache.collection-size:8MB}") DataSize collectionSize,
+            @Value("${catalog.cache.query-size:8MB}") DataSize querySize) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // URI propre à chaque contexte Spring : deux contextes (ex. en test) ne partagent jamais leurs régions
+        URI uri = URI.create("sommelier-api:second-level-cache:" + MANAGERS.incrementAndGet());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+        regions(entitySize, collectionSize, querySize)
+                .forEach((region, size) -> cacheManager.createCache(region, configuration(size)));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : hibernateCacheManager.getCacheNames()) {
+                com.github.benmanes.caffeine.cache.Cache<?, ?> cache = hibernateCacheManager.getCache(region)
+                        .unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+                CaffeineCacheMetrics.monitor(registry, cache, region);
+                Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                        .description("Part des lectures de la région servies par le cache")
+                        .tag("cache", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Régions et taille maximale de chacune ; les horodatages des tables n'ont pas de limite (une entrée par table) :
+     * les évincer ferait servir des résultats de requête périmés.
+     */
+    static Map<String, DataSize> regions(DataSize entitySize, DataSize collectionSize, DataSize querySize) {
+        Map<String, DataSize> regions = new LinkedHashMap<>();
+        regions.put(CacheRegions.VIN, entitySize);
+        regions.put(CacheRegions.PLAT, entitySize);
+        regions.put(CacheRegions.VIN_PLATS_ACCORDES, collectionSize);
+        regions.put(CacheRegions.PLAT_VINS_ACCORDES, collectionSize);
+        regions.put(CacheRegions.PLAT_TYPES_MENU, collectionSize);
+        regions.put(CacheRegions.VIN_SEARCH, querySize);
+        regions.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, querySize);
+        regions.put(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null);
+        return regions;
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(DataSize maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate ne met en cache que des formes désassemblées et immuables : inutile de les copier
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+        if (maximumSize != null) {
+            configuration.setMaximumWeight(OptionalLong.of(maximumSize.toBytes()));
+            configuration.setWeigherFactory(Optional.of(FactoryBuilder.factoryOf(SerializedSizeWeigher.class)));
+        }
+        return configuration;
+    }
+
+    /**
+     * Poids d'une entrée : la taille de sa valeur sérialisée, en octets (les entrées de Hibernate sont sérialisables).
+     */
+    public static class SerializedSizeWeigher implements Weigher<Object, Object>, Serializable {
+
+        // Clé, nœud de la table et valeur non sérialisable
+        static final int ENTRY_OVERHEAD = 64;
+        static final int UNKNOWN_SIZE = 1024;
+
+        @Override
+        public int weigh(Object key, Object value) {
+            return ENTRY_OVERHEAD + sizeOf(value);
+        }
+
+        static int sizeOf(Object value) {
+            CountingOutputStream counter = new CountingOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+                out.writeObject(value);
+            } catch (IOException e) {
+                return UNKNOWN_SIZE;
+            }
+            return counter.count;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        int count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
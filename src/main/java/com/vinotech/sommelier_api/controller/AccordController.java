@@ -0,0 +1,32 @@
+package com.vinotech.sommelier_api.controller;
+
+import com.vinotech.sommelier_api.dto.AccordBulkResult;
+import com.vinotech.sommelier_api.dto.AccordOperation;
+import com.vinotech.sommelier_api.service.AccordService;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/accords")
+public class AccordController {
+
+    private final AccordService accordService;
+
+    public AccordController(AccordService accordService) {
+        this.accordService = accordService;
+    }
+
+    /**
+     * Lie ou délie des vins et des plats en masse, en une transaction.
+     * URL: POST /api/accords/bulk avec [{"vinId": 1, "platId": 2, "op": "LINK"}, ...]
+     * Réponse : le nombre d'accords créés, supprimés, et d'opérations sans effet.
+     */
+    @PostMapping("/bulk")
+    public AccordBulkResult bulk(@RequestBody List<AccordOperation> operations) {
+        return accordService.apply(operations);
+    }
+}
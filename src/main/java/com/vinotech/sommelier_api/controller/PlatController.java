@@ -1,25 +1,132 @@
 package com.vinotech.sommelier_api.controller;
 
-import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.catalog.CatalogResponseCache;
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.PlatIndex;
+import com.vinotech.sommelier_api.dto.PlatView;
+import com.vinotech.sommelier_api.dto.VinRecommendation;
+import com.vinotech.sommelier_api.exception.InvalidRequestException;
+import com.vinotech.sommelier_api.model.Allergene;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.MenuType;
 import com.vinotech.sommelier_api.repository.PlatRepository;
+import com.vinotech.sommelier_api.service.NdjsonExportService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/plats")
 public class PlatController {
 
+    private static final int MAX_RECOMMENDATIONS = 50;
+
     private final PlatRepository platRepository;
+    private final NdjsonExportService ndjsonExportService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCache responseCache;
+    private final PairingEngine pairingEngine;
+    private final PlatIndex platIndex;
 
-    public PlatController(PlatRepository platRepository) {
+    public PlatController(PlatRepository platRepository, NdjsonExportService ndjsonExportService,
+                          CatalogVersion catalogVersion, CatalogResponseCache responseCache,
+                          PairingEngine pairingEngine, PlatIndex platIndex) {
         this.platRepository = platRepository;
+        this.ndjsonExportService = ndjsonExportService;
+        this.catalogVersion = catalogVersion;
+        this.responseCache = responseCache;
+        this.pairingEngine = pairingEngine;
+        this.platIndex = platIndex;
     }
 
     @GetMapping
-    public List<Plat> getAllPlats() {
-        return platRepository.findAll();
+    public ResponseEntity<byte[]> getAllPlats(WebRequest request) {
+        boolean gzip = CatalogResponseCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // 304 sans requête en base si le client a déjà la version courante
+        if (request.checkNotModified(catalogVersion.etag(gzip ? "json-gzip" : "json"))) {
+            return null;
+        }
+        // Sinon, octets en cache tant que le catalogue n'a pas changé
+        return responseCache.get("plats", platRepository::findAllViews).toResponse(gzip);
+    }
+
+    /**
+     * Plats sans les allergènes donnés, filtrés sur l'index en mémoire des allergènes.
+     * URL: GET /api/plats?sansAllergenes=GLUTEN,SOJA&inclureModifiables=true
+     * Avec {@code inclureModifiables}, un plat est gardé si tous ses allergènes exclus peuvent être retirés.
+     */
+    @GetMapping(params = {"sansAllergenes", "!menu"})
+    public List<PlatView> getPlatsSansAllergenes(
+            @RequestParam Set<Allergene> sansAllergenes,
+            @RequestParam(defaultValue = "false") boolean inclureModifiables,
+            WebRequest request
+    ) {
+        if (request.checkNotModified(catalogVersion.etag("json"))) {
+            return null;
+        }
+        return platIndex.platsSans(sansAllergenes, inclureModifiables);
+    }
+
+    /**
+     * Plats d'un menu, paginés par id croissant, servis par l'index des plats en mémoire.
+     * URL: GET /api/plats?menu=SOUPER&page=0&size=20, avec en option sansAllergenes et inclureModifiables.
+     */
+    @GetMapping(params = "menu")
+    public Page<PlatView> getPlatsByMenu(
+            @RequestParam MenuType menu,
+            @RequestParam(required = false) Set<Allergene> sansAllergenes,
+            @RequestParam(defaultValue = "false") boolean inclureModifiables,
+            Pageable pageable,
+            WebRequest request
+    ) {
+        if (request.checkNotModified(catalogVersion.etag("json"))) {
+            return null;
+        }
+        return platIndex.menu(menu, sansAllergenes == null ? Set.of() : sansAllergenes, inclureModifiables, pageable);
+    }
+
+    /**
+     * Exporte tous les Plats en flux NDJSON (un plat par ligne, sans les accords).
+     * Mappé sur GET /api/plats avec l'en-tête Accept: application/x-ndjson
+     */
+    @GetMapping(produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPlats(WebRequest request) {
+        if (request.checkNotModified(catalogVersion.etag("ndjson"))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(NdjsonExportService.APPLICATION_NDJSON)
+                .body(ndjsonExportService::exportPlats);
+    }
+
+    /**
+     * Meilleurs vins pour un plat, calculés sur la matrice des accords en mémoire.
+     * URL: GET /api/plats/{id}/vins/recommended?limit=5&maxPrix=60&couleur=BLANC
+     */
+    @GetMapping("/{id}/vins/recommended")
+    public ResponseEntity<List<VinRecommendation>> getRecommendedVins(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) Double maxPrix,
+            @RequestParam(required = false) CouleurVin couleur
+    ) {
+        if (limit < 1 || limit > MAX_RECOMMENDATIONS) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_RECOMMENDATIONS);
+        }
+        return pairingEngine.recommend(id, limit, maxPrix, couleur)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,28 @@
 package com.vinotech.sommelier_api.controller;
 
+import com.vinotech.sommelier_api.catalog.CatalogResponseCache;
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.VinSuggester;
+import com.vinotech.sommelier_api.dto.CursorSlice;
+import com.vinotech.sommelier_api.dto.VinBulkResult;
+import com.vinotech.sommelier_api.dto.VinFacets;
+import com.vinotech.sommelier_api.dto.VinSuggestion;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.exception.InvalidRequestException;
 import com.vinotech.sommelier_api.model.CouleurVin;
 import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.service.NdjsonExportService;
+import com.vinotech.sommelier_api.service.VinImportService;
 import com.vinotech.sommelier_api.service.VinService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
@@ -16,10 +32,23 @@ import java.util.List;
 public class VinController {
 
     private final VinService vinService;
+    private final NdjsonExportService ndjsonExportService;
+    private final VinImportService vinImportService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCache responseCache;
+    private final VinSuggester vinSuggester;
 
-    // Injection du Service
-    public VinController(VinService vinService) {
+    // Injection des Services
+    public VinController(VinService vinService, NdjsonExportService ndjsonExportService,
+                         VinImportService vinImportService,
+                         CatalogVersion catalogVersion, CatalogResponseCache responseCache,
+                         VinSuggester vinSuggester) {
         this.vinService = vinService;
+        this.ndjsonExportService = ndjsonExportService;
+        this.vinImportService = vinImportService;
+        this.catalogVersion = catalogVersion;
+        this.responseCache = responseCache;
+        this.vinSuggester = vinSuggester;
     }
 
     /**
@@ -32,38 +61,124 @@ public class VinController {
         return ResponseEntity.created(location).body(saved);
     }
 
+    /**
+     * Importe des Vins en masse depuis un flux NDJSON (un vin par ligne), lu au fil de l'eau.
+     * URL: POST /api/vins/bulk avec Content-Type: application/x-ndjson
+     * Un vin de même nom et même région est mis à jour, sinon il est créé. Chaque lot est validé
+     * dans sa propre transaction ; la réponse donne le bilan de chaque lot.
+     */
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public VinBulkResult importVins(InputStream body) throws IOException {
+        return vinImportService.importNdjson(body);
+    }
+
     /**
      * Récupère la liste de tous les Vins. Mappé sur GET /api/vins
+     * Répond 304 sans lire le catalogue si le client présente l'ETag de la version courante,
+     * sinon sert les octets JSON (ou gzip) en cache pour cette version.
      */
     @GetMapping
-    public List<Vin> getAllVins() {
-        return vinService.findAll();
+    public ResponseEntity<byte[]> getAllVins(WebRequest request) {
+        boolean gzip = CatalogResponseCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (request.checkNotModified(catalogVersion.etag(gzip ? "json-gzip" : "json"))) {
+            return null;
+        }
+        return responseCache.get("vins", vinService::findAllViews).toResponse(gzip);
+    }
+
+    /**
+     * Exporte tous les Vins en flux NDJSON (un vin par ligne, sans les accords).
+     * Mappé sur GET /api/vins avec l'en-tête Accept: application/x-ndjson
+     */
+    @GetMapping(produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportVins(WebRequest request) {
+        if (request.checkNotModified(catalogVersion.etag("ndjson"))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(NdjsonExportService.APPLICATION_NDJSON)
+                .body(ndjsonExportService::exportVins);
     }
 
     /**
      * Récupère un Vin par son ID. Mappé sur GET /api/vins/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Vin> getVinById(@PathVariable Long id) {
-        return vinService.findById(id)
+    public ResponseEntity<VinView> getVinById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(catalogVersion.etag("json"))) {
+            return null;
+        }
+        return vinService.findViewById(id)
                 .map(ResponseEntity::ok) // Si trouvé (200 OK)
                 .orElse(ResponseEntity.notFound().build()); // Si non trouvé (404 Not Found)
     }
 
+    /**
+     * Saisie semi-automatique sur les noms, régions et cépages, servie depuis la mémoire.
+     * URL: GET /api/vins/suggest?prefix=cha&limit=10
+     */
+    @GetMapping("/suggest")
+    public List<VinSuggestion> suggest(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > VinSuggester.MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + VinSuggester.MAX_LIMIT);
+        }
+        return vinSuggester.suggest(prefix, limit);
+    }
+
     /**
      * Recherche filtrée.
-     * URL: GET /api/vins/search?couleur=ROUGE&minPrix=50&maxPrix=100&region=loire
-     * Tous les paramètres sont optionnels.
+     * URL: GET /api/vins/search?couleur=ROUGE&minPrix=50&maxPrix=100&region=loire&q=gamay léger
+     * Tous les paramètres sont optionnels. Avec {@code q} et sans {@code sort}, les vins sont classés par pertinence ;
+     * avec {@code fuzzy=true}, un mot de {@code q} mal orthographié trouve aussi les noms et cépages proches.
      */
     @GetMapping("/search")
-    public Page<Vin> searchVins(
+    public Page<VinView> searchVins(
+            @RequestParam(required = false) CouleurVin couleur,
+            @RequestParam(required = false) Double minPrix,
+            @RequestParam(required = false) Double maxPrix,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            Pageable pageable
+    ) {
+        return vinService.searchVins(couleur, minPrix, maxPrix, region, q, fuzzy, pageable);
+    }
+
+    /**
+     * Compteurs de la barre de filtres pour les mêmes critères que la recherche.
+     * URL: GET /api/vins/facets?couleur=ROUGE&region=loire
+     * Chaque facette (couleurs, régions, cépages, tranches de prix) ignore son propre critère.
+     */
+    @GetMapping("/facets")
+    public VinFacets facets(
+            @RequestParam(required = false) CouleurVin couleur,
+            @RequestParam(required = false) Double minPrix,
+            @RequestParam(required = false) Double maxPrix,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "false") boolean fuzzy
+    ) {
+        return vinService.facets(couleur, minPrix, maxPrix, region, q, fuzzy);
+    }
+
+    /**
+     * Recherche filtrée paginée par clé (keyset), activée par la présence du paramètre {@code after}.
+     * URL: GET /api/vins/search?after=&size=20&sort=prix puis GET /api/vins/search?after={nextCursor}
+     * Pas de numéro de page ni de total : la réponse porte le curseur de la tranche suivante.
+     */
+    @GetMapping(value = "/search", params = "after")
+    public CursorSlice<VinView> searchVinsAfter(
             @RequestParam(required = false) CouleurVin couleur,
             @RequestParam(required = false) Double minPrix,
             @RequestParam(required = false) Double maxPrix,
             @RequestParam(required = false) String region,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam String after,
             Pageable pageable
     ) {
-        return vinService.searchVins(couleur, minPrix, maxPrix, region, pageable);
+        return vinService.searchVinsAfter(couleur, minPrix, maxPrix, region, q, fuzzy, after, pageable.getPageSize(),
+                pageable.getSort());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.vinotech.sommelier_api.dto;
+
+/**
+ * Bilan d'une requête d'accords en masse.
+ *
+ * @param linked    accords créés
+ * @param unlinked  accords supprimés
+ * @param unchanged opérations sans effet (accord déjà présent, ou absent)
+ */
+public record AccordBulkResult(int linked, int unlinked, int unchanged) {
+}
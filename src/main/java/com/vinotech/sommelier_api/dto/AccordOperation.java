@@ -0,0 +1,11 @@
+package com.vinotech.sommelier_api.dto;
+
+/**
+ * Une opération d'une requête d'accords en masse : lier ou délier un vin et un plat.
+ */
+public record AccordOperation(Long vinId, Long platId, Op op) {
+
+    public enum Op {
+        LINK, UNLINK
+    }
+}
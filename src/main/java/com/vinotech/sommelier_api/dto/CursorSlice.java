@@ -0,0 +1,10 @@
+package com.vinotech.sommelier_api.dto;
+
+import java.util.List;
+
+/**
+ * Tranche d'une pagination par clé : pas de total ni de numéro de page,
+ * seulement un curseur opaque pour demander la suite ({@code null} sur la dernière tranche).
+ */
+public record CursorSlice<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+}
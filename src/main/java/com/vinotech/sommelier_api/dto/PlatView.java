@@ -0,0 +1,22 @@
+package com.vinotech.sommelier_api.dto;
+
+import com.vinotech.sommelier_api.model.MenuType;
+
+import java.util.Set;
+
+/**
+ * Vue en lecture d'un plat : les colonnes et les types de menu, sans les vins accordés.
+ */
+public record PlatView(Long id, String nom, String ingredients, String allergenes,
+                       String allergenesModifiables, String optionRemplacement, Set<MenuType> typesMenu) {
+
+    // Constructeur des requêtes JPQL : une collection ne peut pas être sélectionnée dans un "select new"
+    public PlatView(Long id, String nom, String ingredients, String allergenes,
+                    String allergenesModifiables, String optionRemplacement) {
+        this(id, nom, ingredients, allergenes, allergenesModifiables, optionRemplacement, Set.of());
+    }
+
+    public PlatView withTypesMenu(Set<MenuType> typesMenu) {
+        return new PlatView(id, nom, ingredients, allergenes, allergenesModifiables, optionRemplacement, typesMenu);
+    }
+}
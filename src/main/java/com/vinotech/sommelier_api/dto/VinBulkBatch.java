@@ -0,0 +1,24 @@
+package com.vinotech.sommelier_api.dto;
+
+import java.util.List;
+
+/**
+ * Bilan d'un lot d'un import de vins en masse : chaque lot est validé (ou annulé) dans sa propre transaction.
+ *
+ * @param batch     numéro du lot, à partir de 1
+ * @param firstLine première ligne NDJSON du lot, à partir de 1
+ * @param lastLine  dernière ligne NDJSON du lot
+ * @param status    {@code COMMITTED}, ou {@code ROLLED_BACK} si la base a refusé le lot
+ * @param inserted  vins créés
+ * @param updated   vins existants modifiés
+ * @param unchanged vins existants déjà à jour
+ * @param rejected  lignes non importées (invalides, ou dans un lot annulé)
+ * @param errors    les premières erreurs du lot
+ */
+public record VinBulkBatch(int batch, long firstLine, long lastLine, Status status,
+                           int inserted, int updated, int unchanged, int rejected, List<String> errors) {
+
+    public enum Status {
+        COMMITTED, ROLLED_BACK
+    }
+}
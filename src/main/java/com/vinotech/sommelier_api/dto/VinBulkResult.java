@@ -0,0 +1,20 @@
+package com.vinotech.sommelier_api.dto;
+
+import java.util.List;
+
+/**
+ * Bilan d'un import de vins en masse : les totaux, puis le détail lot par lot.
+ */
+public record VinBulkResult(int inserted, int updated, int unchanged, int rejected, List<VinBulkBatch> batches) {
+
+    public static VinBulkResult of(List<VinBulkBatch> batches) {
+        int inserted = 0, updated = 0, unchanged = 0, rejected = 0;
+        for (VinBulkBatch batch : batches) {
+            inserted += batch.inserted();
+            updated += batch.updated();
+            unchanged += batch.unchanged();
+            rejected += batch.rejected();
+        }
+        return new VinBulkResult(inserted, updated, unchanged, rejected, List.copyOf(batches));
+    }
+}
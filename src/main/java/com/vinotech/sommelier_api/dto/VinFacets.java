@@ -0,0 +1,30 @@
+package com.vinotech.sommelier_api.dto;
+
+import com.vinotech.sommelier_api.model.CouleurVin;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compteurs de la barre de filtres pour {@code /api/vins/facets}. Chaque facette compte les vins qui satisfont
+ * tous les critères sauf le sien : choisir une couleur laisse voir combien de vins ont chacune des autres.
+ *
+ * @param total    nombre de vins satisfaisant tous les critères
+ * @param couleurs toutes les couleurs, dans l'ordre de {@link CouleurVin}
+ * @param regions  régions et cépages présents, les plus fréquents d'abord (casse ignorée)
+ * @param prix     toutes les tranches de prix, croissantes
+ */
+public record VinFacets(int total, Map<CouleurVin, Integer> couleurs, List<Value> regions, List<Value> cepages,
+                        List<PrixBucket> prix) {
+
+    public record Value(String value, int count) {
+    }
+
+    /**
+     * @param min borne incluse, {@code null} pour la première tranche
+     * @param max borne exclue, {@code null} pour la dernière tranche
+     */
+    public record PrixBucket(BigDecimal min, BigDecimal max, int count) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.vinotech.sommelier_api.dto;
+
+/**
+ * Vin recommandé pour un plat, avec son score d'accord (plus haut = meilleur).
+ */
+public record VinRecommendation(VinView vin, float score) {
+}
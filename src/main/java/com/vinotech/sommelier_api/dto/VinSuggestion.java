@@ -0,0 +1,13 @@
+package com.vinotech.sommelier_api.dto;
+
+/**
+ * Suggestion de saisie pour {@code /api/vins/suggest} : un nom de vin, une région ou un cépage du catalogue.
+ *
+ * @param popularity nombre de vins portant cette valeur, plus leurs accords avec des plats
+ */
+public record VinSuggestion(String value, Type type, int popularity) {
+
+    public enum Type {
+        NOM, REGION, CEPAGE
+    }
+}
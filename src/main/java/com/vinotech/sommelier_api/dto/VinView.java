@@ -0,0 +1,19 @@
+package com.vinotech.sommelier_api.dto;
+
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Vin;
+
+import java.math.BigDecimal;
+
+/**
+ * Vue en lecture d'un vin : uniquement les colonnes, sélectionnées directement en JPQL.
+ * Rien de lazy à charger pendant la sérialisation, qui se fait donc hors transaction.
+ */
+public record VinView(Long id, String nom, BigDecimal prix, String region,
+                      String notesDegustation, CouleurVin couleur, String cepage) {
+
+    public static VinView of(Vin vin) {
+        return new VinView(vin.getId(), vin.getNom(), vin.getPrix(), vin.getRegion(),
+                vin.getNotesDegustation(), vin.getCouleur(), vin.getCepage());
+    }
+}
@@ -0,0 +1,12 @@
+package com.vinotech.sommelier_api.exception;
+
+/**
+ * Thrown when a request parameter is well-formed but cannot be honoured (e.g. a corrupted pagination cursor).
+ * Mapped to 400 Bad Request by {@link RestExceptionHandler}.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
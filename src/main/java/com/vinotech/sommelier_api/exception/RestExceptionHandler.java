@@ -35,6 +35,13 @@ public class RestExceptionHandler {
                 .body(Map.of("error", "Malformed or missing JSON request body"));
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(InvalidRequestException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException ex) {
         // Log full exception with stacktrace for internal diagnostics, but return a sanitized message to clients
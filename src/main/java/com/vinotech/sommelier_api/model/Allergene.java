@@ -0,0 +1,106 @@
+package com.vinotech.sommelier_api.model;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Normalized allergens, parsed from the free-text {@code Plat.allergenes} and
+ * {@code Plat.allergenesModifiables} columns (e.g. "Soja, Gluten").
+ * A set of allergens is represented as a {@code long} bitmask, one bit per constant ({@link #bit()}),
+ * plus {@link #UNKNOWN} for labels that match no constant.
+ */
+public enum Allergene {
+    GLUTEN("gluten", "ble"),
+    PRODUITS_LAITIERS("produits laitiers", "produit laitier", "lait", "lactose"),
+    OEUFS("oeufs", "oeuf"),
+    NOIX("noix", "fruits a coque"),
+    ARACHIDES("arachides", "arachide", "cacahuetes"),
+    SOJA("soja", "soya"),
+    POISSON("poisson", "poissons"),
+    FRUITS_DE_MER("fruits de mer", "crustaces"),
+    MOLLUSQUES("mollusques", "mollusque"),
+    MOUTARDE("moutarde"),
+    SESAME("sesame"),
+    SULFITES("sulfites", "sulfite"),
+    CELERI("celeri", "celeris"),
+    LUPIN("lupin", "lupins"),
+    VIANDE("viande", "viandes");
+
+    /**
+     * Set by {@link #parseMask} when a label matches no allergen: such a plat may contain anything,
+     * so allergen filters must treat this bit as excluded. Not an enum constant, so it cannot be requested.
+     */
+    public static final long UNKNOWN = 1L << 63;
+
+    private static final Map<String, Allergene> BY_LABEL = new HashMap<>();
+
+    static {
+        for (Allergene allergene : values()) {
+            for (String label : allergene.labels) {
+                BY_LABEL.put(label, allergene);
+            }
+        }
+    }
+
+    private final String[] labels;
+
+    Allergene(String... labels) {
+        this.labels = labels;
+    }
+
+    /**
+     * @return the bit of this allergen in a bitmask
+     */
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Parses a comma-separated list of allergens, ignoring case, accents and surrounding spaces.
+     *
+     * @param text the free-text column value, may be {@code null} or empty
+     * @param unknown receives the labels that match no allergen (may be {@code null})
+     * @return the bitmask of the recognized allergens, with {@link #UNKNOWN} if any label was not recognized
+     */
+    public static long parseMask(String text, Consumer<String> unknown) {
+        if (text == null || text.isBlank()) {
+            return 0L;
+        }
+        long mask = 0L;
+        for (String token : text.split(",")) {
+            String label = normalize(token);
+            if (label.isEmpty()) {
+                continue;
+            }
+            Allergene allergene = BY_LABEL.get(label);
+            if (allergene != null) {
+                mask |= allergene.bit();
+                continue;
+            }
+            mask |= UNKNOWN;
+            if (unknown != null) {
+                unknown.accept(token.trim());
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return the bitmask of the given allergens
+     */
+    public static long maskOf(Iterable<Allergene> allergenes) {
+        long mask = 0L;
+        for (Allergene allergene : allergenes) {
+            mask |= allergene.bit();
+        }
+        return mask;
+    }
+
+    private static String normalize(String token) {
+        String stripped = Normalizer.normalize(token.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT).replace("œ", "oe").replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,19 @@
+package com.vinotech.sommelier_api.model;
+
+/**
+ * Names of the Hibernate second-level cache regions of the catalog entities, their collections and queries.
+ * Every region must be declared in {@code SecondLevelCacheConfig}: regions are bounded, none is created implicitly.
+ */
+public final class CacheRegions {
+
+    public static final String VIN = "vin";
+    public static final String PLAT = "plat";
+    public static final String VIN_PLATS_ACCORDES = "vin.platsAccordes";
+    public static final String PLAT_VINS_ACCORDES = "plat.vinsAccordes";
+    public static final String PLAT_TYPES_MENU = "plat.typesMenu";
+    /** Results of the database-backed wine searches (pages and their totals). */
+    public static final String VIN_SEARCH = "vin.search";
+
+    private CacheRegions() {
+    }
+}
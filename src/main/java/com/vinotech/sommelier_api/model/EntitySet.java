@@ -0,0 +1,320 @@
+package com.vinotech.sommelier_api.model;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of entities backing the accord associations ({@code Vin.platsAccordes}, {@code Plat.vinsAccordes}).
+ * <p>
+ * Entities are equal when they share a non-null id, so persisted elements are kept in an
+ * open-addressing table keyed by their primitive {@code long} id: {@code add}, {@code remove} and
+ * {@code contains} stay O(1) as the accord graph grows, whatever the elements' {@code hashCode}.
+ * Transient elements (no id yet) are equal only to themselves; they are kept in a separate list and
+ * compared by identity, then moved into the table by the next operation once they have been persisted.
+ * <p>
+ * Not thread-safe, like the {@code HashSet} it replaces. Does not accept {@code null}.
+ *
+ * @param <E> the entity type
+ */
+public class EntitySet<E extends Identifiable> extends AbstractSet<E> {
+
+    // Marks a deleted slot, so that probing and running iterators are not disturbed by removals
+    private static final Object REMOVED = new Object();
+    private static final int MIN_CAPACITY = 8;
+
+    // Allocated on the first persisted element: most association sets stay empty
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int used;
+
+    private final List<E> transients = new ArrayList<>(0);
+    private int modCount;
+
+    public EntitySet() {
+    }
+
+    /**
+     * @param expectedSize the number of elements expected, to size the table up front
+     */
+    public EntitySet(int expectedSize) {
+        if (expectedSize > 0) {
+            allocate(capacityFor(expectedSize));
+        }
+    }
+
+    public EntitySet(Collection<? extends E> elements) {
+        this(elements.size());
+        addAll(elements);
+    }
+
+    @Override
+    public int size() {
+        settle();
+        return size + transients.size();
+    }
+
+    @Override
+    public boolean add(E element) {
+        Long id = element.getId();
+        settle();
+        if (id == null) {
+            if (indexOfTransient(element) >= 0) {
+                return false;
+            }
+            transients.add(element);
+            modCount++;
+            return true;
+        }
+        return put(id, element);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Identifiable entity)) {
+            return false;
+        }
+        settle();
+        Long id = entity.getId();
+        if (id == null) {
+            return indexOfTransient(o) >= 0;
+        }
+        int slot = find(id);
+        return slot >= 0 && o.equals(values[slot]);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Identifiable entity)) {
+            return false;
+        }
+        settle();
+        Long id = entity.getId();
+        if (id == null) {
+            int index = indexOfTransient(o);
+            if (index < 0) {
+                return false;
+            }
+            transients.remove(index);
+            modCount++;
+            return true;
+        }
+        int slot = find(id);
+        if (slot < 0 || !o.equals(values[slot])) {
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (values != null) {
+            Arrays.fill(values, null);
+        }
+        size = 0;
+        used = 0;
+        transients.clear();
+        modCount++;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        settle();
+        return new Iter();
+    }
+
+    /**
+     * Moves the transient elements that have been persisted since they were added into the table.
+     * An element whose new id is already present is dropped, as it is now equal to that element.
+     */
+    private void settle() {
+        if (transients.isEmpty()) {
+            return;
+        }
+        for (Iterator<E> it = transients.iterator(); it.hasNext(); ) {
+            E element = it.next();
+            Long id = element.getId();
+            if (id != null) {
+                it.remove();
+                put(id, element);
+                modCount++;
+            }
+        }
+    }
+
+    private int indexOfTransient(Object o) {
+        for (int i = 0; i < transients.size(); i++) {
+            if (transients.get(i) == o) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean put(long id, E element) {
+        if (values == null) {
+            allocate(MIN_CAPACITY);
+        } else if (used + 1 > values.length / 2) {
+            // Rehash, which also purges the deleted slots (same capacity if they were the cause)
+            rehash(capacityFor(size + 1));
+        }
+        int mask = values.length - 1;
+        int free = -1;
+        for (int slot = mix(id) & mask; ; slot = (slot + 1) & mask) {
+            Object value = values[slot];
+            if (value == null) {
+                if (free < 0) {
+                    free = slot;
+                    used++;
+                }
+                keys[free] = id;
+                values[free] = element;
+                size++;
+                modCount++;
+                return true;
+            }
+            if (value == REMOVED) {
+                if (free < 0) {
+                    free = slot;
+                }
+            } else if (keys[slot] == id) {
+                return false;
+            }
+        }
+    }
+
+    private int find(long id) {
+        if (values == null) {
+            return -1;
+        }
+        int mask = values.length - 1;
+        for (int slot = mix(id) & mask; ; slot = (slot + 1) & mask) {
+            Object value = values[slot];
+            if (value == null) {
+                return -1;
+            }
+            if (value != REMOVED && keys[slot] == id) {
+                return slot;
+            }
+        }
+    }
+
+    private void removeSlot(int slot) {
+        values[slot] = REMOVED;
+        size--;
+        modCount++;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        used = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value != null && value != REMOVED) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = value;
+                used++;
+            }
+        }
+    }
+
+    // Table at most half full
+    private static int capacityFor(int elements) {
+        int capacity = Integer.highestOneBit(Math.max(elements * 2 - 1, MIN_CAPACITY - 1)) << 1;
+        return Math.max(capacity, MIN_CAPACITY);
+    }
+
+    // Ids are sequential: spread them so that neighbouring ids do not probe neighbouring slots
+    private static int mix(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // First live slot of the table at or after the given one, or -1
+    private int liveSlotFrom(int from) {
+        if (values != null) {
+            for (int slot = from; slot < values.length; slot++) {
+                if (values[slot] != null && values[slot] != REMOVED) {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Walks the table, then the transient elements
+    private final class Iter implements Iterator<E> {
+
+        private int nextSlot = liveSlotFrom(0);
+        private int nextTransient;
+        private int lastSlot = -1;
+        private int lastTransient = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot >= 0 || nextTransient < transients.size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkForComodification();
+            if (nextSlot >= 0) {
+                lastSlot = nextSlot;
+                lastTransient = -1;
+                nextSlot = liveSlotFrom(nextSlot + 1);
+                return (E) values[lastSlot];
+            }
+            if (nextTransient >= transients.size()) {
+                throw new NoSuchElementException();
+            }
+            lastSlot = -1;
+            lastTransient = nextTransient++;
+            return transients.get(lastTransient);
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot < 0 && lastTransient < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            if (lastSlot >= 0) {
+                removeSlot(lastSlot);
+            } else {
+                transients.remove(lastTransient);
+                nextTransient--;
+                modCount++;
+            }
+            lastSlot = -1;
+            lastTransient = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.vinotech.sommelier_api.model;
+
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.collection.spi.PersistentSet;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.metamodel.CollectionClassification;
+import org.hibernate.metamodel.mapping.EntityValuedModelPart;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.type.ManyToOneType;
+import org.hibernate.usertype.UserCollectionType;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hibernate collection type for the accord associations: a {@link PersistentSet} backed by an
+ * {@link EntitySet} instead of a {@code HashSet}, so that collections loaded from the database
+ * keep the id-keyed lookups of the ones created in code.
+ */
+public class EntitySetType implements UserCollectionType {
+
+    @Override
+    public CollectionClassification getClassification() {
+        return CollectionClassification.SET;
+    }
+
+    @Override
+    public Class<?> getCollectionClass() {
+        return Set.class;
+    }
+
+    @Override
+    public PersistentCollection<?> instantiate(SharedSessionContractImplementor session, CollectionPersister persister) {
+        return new PersistentSet<>(session);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public PersistentCollection<?> wrap(SharedSessionContractImplementor session, Object collection) {
+        return new PersistentSet<>(session, (Set<Object>) collection);
+    }
+
+    @Override
+    public Iterator<?> getElementsIterator(Object collection) {
+        return ((Set<?>) collection).iterator();
+    }
+
+    @Override
+    public boolean contains(Object collection, Object entity) {
+        return ((Set<?>) collection).contains(entity);
+    }
+
+    @Override
+    public Object indexOf(Object collection, Object entity) {
+        return null;
+    }
+
+    /**
+     * Merge support: replaces the target elements by the original ones, resolved in the session
+     * as Hibernate does for its own collection types. Entity elements are merged through a
+     * {@link ManyToOneType} on the element entity, the type Hibernate gives the element of a
+     * many-to-many association; any other element is immutable and copied as is.
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object replaceElements(Object original, Object target, CollectionPersister persister, Object owner,
+                                  Map copyCache, SharedSessionContractImplementor session) {
+        Collection<Object> result = (Collection<Object>) target;
+        result.clear();
+        if (!(persister.getAttributeMapping().getElementDescriptor() instanceof EntityValuedModelPart element)) {
+            result.addAll((Collection<?>) original);
+            return result;
+        }
+        ManyToOneType elementType = new ManyToOneType(session.getFactory().getTypeConfiguration(),
+                element.getEntityMappingType().getEntityName());
+        for (Object entity : (Collection<?>) original) {
+            result.add(elementType.replace(entity, null, session, owner, copyCache));
+        }
+        return result;
+    }
+
+    @Override
+    public Object instantiate(int anticipatedSize) {
+        return anticipatedSize > 0 ? new EntitySet<>(anticipatedSize) : new EntitySet<>();
+    }
+}
@@ -0,0 +1,12 @@
+package com.vinotech.sommelier_api.model;
+
+/**
+ * An entity identified by its database-generated id.
+ */
+public interface Identifiable {
+
+    /**
+     * @return the id, or {@code null} while the entity has not been persisted
+     */
+    Long getId();
+}
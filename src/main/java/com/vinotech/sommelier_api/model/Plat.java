@@ -8,6 +8,10 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Setter;
 import lombok.AccessLevel;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CollectionType;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -16,11 +20,20 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PLAT)
 @Table(name = "plats")
-public class Plat {
+public class Plat implements Identifiable {
+
+    /** Sequence of the ids, shared with the bulk seed loader. */
+    public static final String ID_SEQUENCE = "plats_seq";
+    /** Ids reserved per sequence call (pooled optimizer): lets Hibernate batch the inserts. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     // Attributs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -42,6 +55,8 @@ public class Plat {
     @CollectionTable(name = "plat_menu_types", joinColumns = @JoinColumn(name = "plat_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "menu_type")
+    @BatchSize(size = 100) // Plats loaded one by one (streams, findAll): one select per 100 plats, not per plat
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PLAT_TYPES_MENU)
     private Set<MenuType> typesMenu = new HashSet<>();
 
     /**
@@ -54,7 +69,9 @@ public class Plat {
     @Getter
     @Setter(AccessLevel.NONE)
     @ManyToMany(mappedBy = "platsAccordes", fetch = FetchType.LAZY)
-    private Set<Vin> vinsAccordes = new HashSet<>();
+    @CollectionType(type = EntitySetType.class)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PLAT_VINS_ACCORDES)
+    private Set<Vin> vinsAccordes = new EntitySet<>();
 
     /**
      * Determine whether this Plat is equal to another object based on its non-null id.
@@ -0,0 +1,41 @@
+package com.vinotech.sommelier_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Content hash of a seed file that has been loaded into the database, with the natural keys of the rows it
+ * put in its table (the only rows a later reconciliation may delete).
+ * <p>
+ * Created with the catalog tables (Flyway baseline, or {@code ddl-auto} on H2) so that the table follows
+ * their lifecycle: when the catalog tables are recreated, the recorded hashes go with them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "seed_metadata")
+public class SeedRecord {
+
+    @Id
+    @Column(length = 100)
+    private String name; // seed file, e.g. "vins"
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash; // SHA-256, hex
+
+    @Column(name = "seeded_keys", columnDefinition = "TEXT")
+    private String seededKeys; // natural keys of the rows the file put in its table, JSON
+
+    @Column(name = "loaded_at", nullable = false)
+    private Instant loadedAt;
+}
@@ -2,9 +2,11 @@ package com.vinotech.sommelier_api.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CollectionType;
 
 import java.math.BigDecimal;
-import java.util.HashSet;
 import java.util.Set;
 
 
@@ -14,12 +16,22 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "vins")
-public class Vin {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.VIN)
+// Natural key (nom, region) of the bulk import upsert
+@Table(name = "vins", indexes = @Index(name = "idx_vins_nom_region", columnList = "nom, region"))
+public class Vin implements Identifiable {
+
+    /** Sequence of the ids, shared with the bulk seed loader. */
+    public static final String ID_SEQUENCE = "vins_seq";
+    /** Ids reserved per sequence call (pooled optimizer): lets Hibernate batch the inserts. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     // Attributs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // -> SERIAL/PRIMARY KEY
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+    private Long id; // -> PRIMARY KEY, from vins_seq
 
     @Column(nullable = false, length = 100)
     private String nom;
@@ -50,7 +62,7 @@ public class Vin {
         }
         // Ensure the collection exists (defensive against builder/all-args constructor that may set it to null)
         if (this.platsAccordes == null) {
-            this.platsAccordes = new HashSet<>();
+            this.platsAccordes = new EntitySet<>();
         }
         if (this.platsAccordes.add(plat)) {
             Set<Vin> vinsAccordes = plat.getVinsAccordes();
@@ -85,12 +97,14 @@ public class Vin {
     @Setter(AccessLevel.NONE) // Empêche Lombok de générer setPlatsAccordes()
     @Builder.Default
     @ManyToMany(fetch = FetchType.LAZY)
+    @CollectionType(type = EntitySetType.class)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.VIN_PLATS_ACCORDES)
     @JoinTable(
             name = "accord_vin_plat",
             joinColumns = @JoinColumn(name = "vin_id"),
             inverseJoinColumns = @JoinColumn(name = "plat_id")
     )
-    private Set<Plat> platsAccordes = new HashSet<>();
+    private Set<Plat> platsAccordes = new EntitySet<>();
 
     /**
      * Determine whether this Vin is equal to another object by comparing their persistent IDs.
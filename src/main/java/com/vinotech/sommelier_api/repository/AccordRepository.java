@@ -0,0 +1,116 @@
+package com.vinotech.sommelier_api.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Écritures ensemblistes dans la table de jointure {@code accord_vin_plat}, sans passer par les entités :
+ * pas de chargement des vins ni de leurs collections, et des insert/delete envoyés par lots JDBC.
+ */
+@Repository
+public class AccordRepository {
+
+    // Lignes par lot JDBC
+    static final int BATCH_SIZE = 500;
+    // Paramètres par clause IN lors des vérifications d'existence
+    private static final int IN_CHUNK = 1000;
+
+    private static final String INSERT_POSTGRES =
+            "insert into accord_vin_plat (vin_id, plat_id) values (?, ?) on conflict do nothing";
+    // Repli portable (H2 en test) : compte exact des lignes insérées, mais pas atomique face à un insert concurrent
+    private static final String INSERT_PORTABLE =
+            "insert into accord_vin_plat (vin_id, plat_id) select cast(? as bigint), cast(? as bigint) "
+                    + "where not exists (select 1 from accord_vin_plat where vin_id = ? and plat_id = ?)";
+    private static final String DELETE =
+            "delete from accord_vin_plat where vin_id = ? and plat_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public AccordRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Crée les accords absents.
+     *
+     * @param pairs paires {@code {vinId, platId}}
+     * @return le nombre d'accords réellement créés
+     */
+    public int link(List<long[]> pairs) {
+        if (isPostgres()) {
+            return count(jdbcTemplate.batchUpdate(INSERT_POSTGRES, pairs, BATCH_SIZE, (ps, pair) -> {
+                ps.setLong(1, pair[0]);
+                ps.setLong(2, pair[1]);
+            }));
+        }
+        return count(jdbcTemplate.batchUpdate(INSERT_PORTABLE, pairs, BATCH_SIZE, (ps, pair) -> {
+            ps.setLong(1, pair[0]);
+            ps.setLong(2, pair[1]);
+            ps.setLong(3, pair[0]);
+            ps.setLong(4, pair[1]);
+        }));
+    }
+
+    /**
+     * Supprime les accords présents.
+     *
+     * @param pairs paires {@code {vinId, platId}}
+     * @return le nombre d'accords réellement supprimés
+     */
+    public int unlink(List<long[]> pairs) {
+        return count(jdbcTemplate.batchUpdate(DELETE, pairs, BATCH_SIZE, (ps, pair) -> {
+            ps.setLong(1, pair[0]);
+            ps.setLong(2, pair[1]);
+        }));
+    }
+
+    public Set<Long> existingVinIds(Collection<Long> ids) {
+        return existingIds("select id from vins where id in (", ids);
+    }
+
+    public Set<Long> existingPlatIds(Collection<Long> ids) {
+        return existingIds("select id from plats where id in (", ids);
+    }
+
+    private Set<Long> existingIds(String selectPrefix, Collection<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        Long[] all = ids.toArray(new Long[0]);
+        for (int from = 0; from < all.length; from += IN_CHUNK) {
+            int to = Math.min(from + IN_CHUNK, all.length);
+            String sql = selectPrefix + "?" + ",?".repeat(to - from - 1) + ")";
+            Object[] args = new Object[to - from];
+            System.arraycopy(all, from, args, 0, args.length);
+            existing.addAll(jdbcTemplate.queryForList(sql, Long.class, args));
+        }
+        return existing;
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return result;
+    }
+
+    private static int count(int[][] batches) {
+        int rows = 0;
+        for (int[] batch : batches) {
+            for (int updated : batch) {
+                // Certains pilotes (ex. PostgreSQL avec reWriteBatchedInserts) ne donnent pas le compte par ligne
+                rows += updated == Statement.SUCCESS_NO_INFO ? 1 : Math.max(updated, 0);
+            }
+        }
+        return rows;
+    }
+}
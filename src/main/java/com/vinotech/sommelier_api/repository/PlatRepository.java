@@ -1,9 +1,73 @@
 package com.vinotech.sommelier_api.repository;
 
+import com.vinotech.sommelier_api.dto.PlatView;
+import com.vinotech.sommelier_api.model.MenuType;
 import com.vinotech.sommelier_api.model.Plat;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface PlatRepository extends JpaRepository<Plat, Long> {
-}
\ No newline at end of file
+
+    // Nombre de lignes lues par aller-retour JDBC lors des parcours en flux
+    String STREAM_FETCH_SIZE = "200";
+
+    // Parcours en flux pour l'export NDJSON : doit être consommé dans une transaction (curseur JDBC)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select p from Plat p order by p.id")
+    Stream<Plat> streamAll();
+
+    // Plats avec leurs types de menu chargés dans la même requête (pas de select par plat sur plat_menu_types)
+    @Query("select distinct p from Plat p left join fetch p.typesMenu order by p.id")
+    List<Plat> findAllWithTypesMenu();
+
+    // Colonnes des plats et types de menu en une seule requête : une ligne par (plat, type), type null si aucun
+    @Query("select p.id, p.nom, p.ingredients, p.allergenes, p.allergenesModifiables, p.optionRemplacement, t "
+            + "from Plat p left join p.typesMenu t order by p.id")
+    List<Object[]> findAllViewRows();
+
+    /**
+     * Tous les plats en vues de lecture, triés par id, en un seul aller-retour.
+     */
+    @Transactional(readOnly = true)
+    default List<PlatView> findAllViews() {
+        List<PlatView> views = new ArrayList<>();
+        Long currentId = null;
+        Object[] current = null;
+        Set<MenuType> typesMenu = EnumSet.noneOf(MenuType.class);
+        for (Object[] row : findAllViewRows()) {
+            Long id = (Long) row[0];
+            if (!id.equals(currentId)) {
+                if (current != null) {
+                    views.add(toView(current, typesMenu));
+                }
+                currentId = id;
+                current = row;
+                typesMenu = EnumSet.noneOf(MenuType.class);
+            }
+            if (row[6] != null) {
+                typesMenu.add((MenuType) row[6]);
+            }
+        }
+        if (current != null) {
+            views.add(toView(current, typesMenu));
+        }
+        return views;
+    }
+
+    private static PlatView toView(Object[] row, Set<MenuType> typesMenu) {
+        return new PlatView((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                (String) row[4], (String) row[5], typesMenu.isEmpty() ? Set.of() : typesMenu);
+    }
+}
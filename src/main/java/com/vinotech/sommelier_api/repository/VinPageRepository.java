@@ -0,0 +1,20 @@
+package com.vinotech.sommelier_api.repository;
+
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.model.Vin;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Fragment de VinRepository : lecture du contenu d'une page sans le count(*) de JpaSpecificationExecutor
+public interface VinPageRepository {
+
+    /**
+     * Vues des vins d'une page, projetées directement dans la requête (pas d'entité chargée).
+     *
+     * @param pageable position ({@code offset}) et tri de la page
+     * @param limit    nombre maximal de vins à lire (peut dépasser la taille de la page)
+     */
+    List<VinView> findViews(Specification<Vin> specification, Pageable pageable, int limit);
+}
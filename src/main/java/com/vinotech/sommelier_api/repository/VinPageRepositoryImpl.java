@@ -0,0 +1,47 @@
+package com.vinotech.sommelier_api.repository;
+
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.model.CacheRegions;
+import com.vinotech.sommelier_api.model.Vin;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class VinPageRepositoryImpl implements VinPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<VinView> findViews(Specification<Vin> specification, Pageable pageable, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<VinView> query = criteriaBuilder.createQuery(VinView.class);
+        Root<Vin> root = query.from(Vin.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(criteriaBuilder.construct(VinView.class, root.get("id"), root.get("nom"), root.get("prix"),
+                root.get("region"), root.get("notesDegustation"), root.get("couleur"), root.get("cepage")));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+        // Cache de requêtes : une même forme de recherche (filtres, tri, page) est resservie sans SQL
+        // tant qu'aucune écriture n'a touché la table vins
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, CacheRegions.VIN_SEARCH)
+                .setFirstResult(pageable.isPaged() ? (int) pageable.getOffset() : 0)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,11 +1,53 @@
 // Les JPA Repository permettent d'interagir avec la BD sans utiliser de commandes SQL brutes.
 package com.vinotech.sommelier_api.repository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.model.CacheRegions;
 import com.vinotech.sommelier_api.model.Vin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.domain.Specification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 // JpaRepository hérite automatiquement des méthodes CRUD pour l'Entité Vin (ID de type Long)
-public interface VinRepository extends JpaRepository<Vin, Long>, JpaSpecificationExecutor<Vin> {
-}
\ No newline at end of file
+public interface VinRepository extends JpaRepository<Vin, Long>, JpaSpecificationExecutor<Vin>, VinPageRepository {
+
+    // Nombre de lignes lues par aller-retour JDBC lors des parcours en flux
+    String STREAM_FETCH_SIZE = "200";
+
+    // Charge tout le catalogue avec ses accords en une seule requête (photo en mémoire du catalogue)
+    @Query("select distinct v from Vin v left join fetch v.platsAccordes")
+    List<Vin> findAllWithAccords();
+
+    // Parcours en flux pour l'export NDJSON : doit être consommé dans une transaction (curseur JDBC)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select v from Vin v order by v.id")
+    Stream<Vin> streamAll();
+
+    // Total de la recherche paginée, servi par le cache de requêtes comme les pages elles-mêmes
+    @Override
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.VIN_SEARCH)})
+    long count(Specification<Vin> specification);
+
+    // Candidats de l'upsert par clé naturelle (nom, region) de l'import en masse ; la région est comparée en mémoire
+    List<Vin> findAllByNomIn(Collection<String> noms);
+
+    // Vues de lecture : colonnes seulement, sans entité gérée ni collection lazy
+    @Query("select new com.vinotech.sommelier_api.dto.VinView(v.id, v.nom, v.prix, v.region, "
+            + "v.notesDegustation, v.couleur, v.cepage) from Vin v order by v.id")
+    List<VinView> findAllViews();
+
+    @Query("select new com.vinotech.sommelier_api.dto.VinView(v.id, v.nom, v.prix, v.region, "
+            + "v.notesDegustation, v.couleur, v.cepage) from Vin v where v.id = :id")
+    Optional<VinView> findViewById(Long id);
+}
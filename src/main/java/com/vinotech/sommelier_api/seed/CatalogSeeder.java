@@ -0,0 +1,219 @@
+package com.vinotech.sommelier_api.seed;
+
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.PlatIndex;
+import com.vinotech.sommelier_api.catalog.SecondLevelCache;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Chargement du catalogue de départ au démarrage, sûr quand plusieurs instances démarrent ensemble.
+ * <p>
+ * Tout se passe dans une transaction qui commence par prendre le {@link SeedLock} : une seule instance charge
+ * à la fois, les autres attendent qu'elle ait validé, puis ne trouvent plus rien à charger. Elles reconstruisent
+ * quand même leurs structures en mémoire, qui ont pu être lues pendant le chargement. Un fichier dont l'empreinte
+ * SHA-256 est déjà enregistrée dans {@link SeedMetadata} (et dont la table n'est pas vide) est ignoré
+ * sans rien compter ni relire en base. Les données et leur empreinte sont validées ensemble : une empreinte
+ * n'est enregistrée que lorsque la table correspond au fichier (chargée ou réconciliée).
+ * <p>
+ * Une table vide est chargée en masse ({@link SeedLoader}). Une table déjà remplie dont le fichier a changé
+ * est conservée telle quelle en mode {@link Mode#LOAD}, sans enregistrer la nouvelle empreinte, ou alignée sur
+ * le fichier par différence en mode {@link Mode#RECONCILE} ({@link SeedReconciler}) : seules les lignes ajoutées,
+ * modifiées ou retirées sont écrites, les ids et les accords des autres sont conservés. Seules les lignes
+ * déposées par un fichier précédent sont supprimées : celles créées par l'API restent. Après une écriture,
+ * les structures en mémoire du catalogue et le cache de second niveau sont invalidés.
+ */
+@Component
+public class CatalogSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSeeder.class);
+
+    /**
+     * Traitement d'une table déjà remplie dont le fichier de départ a changé.
+     */
+    public enum Mode {
+        /** Les données en place sont conservées. */
+        LOAD,
+        /** La table est alignée sur le fichier, par différence. */
+        RECONCILE
+    }
+
+    static final String VINS_FILE = "vins.json";
+    static final String PLATS_FILE = "plats.json";
+
+    private final SeedLoader seedLoader;
+    private final SeedReconciler seedReconciler;
+    private final SeedLock seedLock;
+    private final SeedMetadata seedMetadata;
+    private final TransactionTemplate transactionTemplate;
+    private final VinCatalog vinCatalog;
+    private final PairingEngine pairingEngine;
+    private final PlatIndex platIndex;
+    private final CatalogVersion catalogVersion;
+    private final SecondLevelCache secondLevelCache;
+    private final Mode mode;
+
+    public CatalogSeeder(SeedLoader seedLoader, SeedReconciler seedReconciler, SeedLock seedLock,
+                         SeedMetadata seedMetadata, PlatformTransactionManager transactionManager,
+                         VinCatalog vinCatalog, PairingEngine pairingEngine, PlatIndex platIndex,
+                         CatalogVersion catalogVersion, SecondLevelCache secondLevelCache,
+                         @Value("${seed.mode:LOAD}") Mode mode) {
+        this.seedLoader = seedLoader;
+        this.seedReconciler = seedReconciler;
+        this.seedLock = seedLock;
+        this.seedMetadata = seedMetadata;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.vinCatalog = vinCatalog;
+        this.pairingEngine = pairingEngine;
+        this.platIndex = platIndex;
+        this.catalogVersion = catalogVersion;
+        this.secondLevelCache = secondLevelCache;
+        this.mode = mode;
+    }
+
+    /**
+     * Charge ou réconcilie, selon le mode configuré, les fichiers de départ embarqués qui doivent l'être.
+     *
+     * @return {@code true} si des lignes ont été écrites
+     */
+    public boolean seed() {
+        return seed(seeds(new ClassPathResource(VINS_FILE), new ClassPathResource(PLATS_FILE)), mode);
+    }
+
+    /**
+     * Réconcilie les tables avec les fichiers de départ d'un répertoire (rechargement à chaud en développement).
+     *
+     * @return {@code true} si des lignes ont été écrites
+     */
+    public boolean reconcile(Path directory) {
+        return seed(seeds(new FileSystemResource(directory.resolve(VINS_FILE)),
+                new FileSystemResource(directory.resolve(PLATS_FILE))), Mode.RECONCILE);
+    }
+
+    boolean seed(List<Seed> seeds, Mode mode) {
+        AtomicBoolean waited = new AtomicBoolean();
+        boolean written = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (seedLock.acquire()) {
+                logger.info("Chargement du catalogue par une autre instance attendu, vérification des fichiers");
+                waited.set(true);
+            }
+            boolean loaded = false;
+            for (Seed seed : seeds) {
+                loaded |= seedIfNeeded(seed, mode);
+            }
+            return loaded;
+        }));
+        if (written || waited.get()) {
+            // Écritures directes en base, validées ici ou par l'instance attendue : les structures en mémoire
+            // doivent être reconstruites
+            vinCatalog.invalidate();
+            pairingEngine.invalidate();
+            platIndex.invalidate();
+            catalogVersion.bump();
+            secondLevelCache.onCatalogReloaded();
+        }
+        return written;
+    }
+
+    private List<Seed> seeds(Resource vins, Resource plats) {
+        return List.of(
+                new Seed("vins", vins, "vins", seedLoader::loadVins, seedReconciler::reconcileVins,
+                        seedReconciler::vinKeys),
+                new Seed("plats", plats, "plats", seedLoader::loadPlats, seedReconciler::reconcilePlats,
+                        seedReconciler::platKeys));
+    }
+
+    private boolean seedIfNeeded(Seed seed, Mode mode) {
+        String hash = hash(seed.resource());
+        Optional<String> recorded = seedMetadata.hash(seed.name());
+        boolean hasRows = seedMetadata.hasRows(seed.table());
+        if (hasRows && recorded.isPresent() && recorded.get().equals(hash)) {
+            logger.info("{} : fichier de départ inchangé, chargement ignoré", seed.name());
+            return false;
+        }
+        if (hasRows && mode == Mode.LOAD) {
+            // Base remplie avant l'empreinte, ou fichier modifié : les données en place sont conservées. Elles ne
+            // correspondent pas au fichier, dont l'empreinte n'est donc pas enregistrée : un RECONCILE l'appliquera
+            logger.info("{} : la base contient déjà des données, fichier de départ {} non appliqué", seed.name(), hash);
+            return false;
+        }
+        long start = System.nanoTime();
+        try (InputStream json = seed.resource().getInputStream()) {
+            if (hasRows) {
+                SeedDiff diff = seed.reconciler().reconcile(json, seedMetadata.keys(seed.name()));
+                seedMetadata.record(seed.name(), hash, keys(seed));
+                logger.info("{} réconciliés en {} ms : {} ajoutés, {} modifiés, {} supprimés", seed.name(),
+                        (System.nanoTime() - start) / 1_000_000, diff.inserted(), diff.updated(), diff.deleted());
+                return diff.changes() > 0;
+            }
+            int count = seed.loader().load(json);
+            seedMetadata.record(seed.name(), hash, keys(seed));
+            logger.info("{} {} importés en {} ms", count, seed.name(), (System.nanoTime() - start) / 1_000_000);
+            return count > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + seed.resource().getDescription(), e);
+        }
+    }
+
+    private static Set<List<String>> keys(Seed seed) throws IOException {
+        try (InputStream json = seed.resource().getInputStream()) {
+            return seed.keys().read(json);
+        }
+    }
+
+    static String hash(Resource resource) {
+        try (DigestInputStream in = new DigestInputStream(resource.getInputStream(), MessageDigest.getInstance("SHA-256"))) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + resource.getDescription(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Un fichier de départ : son nom dans {@code seed_metadata}, la table qu'il remplit, son chargeur
+     * (table vide), sa réconciliation (table remplie) et la lecture des clés naturelles de ses lignes.
+     */
+    record Seed(String name, Resource resource, String table, Loader loader, Reconciler reconciler, Keys keys) {
+    }
+
+    @FunctionalInterface
+    interface Loader {
+        int load(InputStream json) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface Reconciler {
+        SeedDiff reconcile(InputStream json, Set<List<String>> seeded) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface Keys {
+        Set<List<String>> read(InputStream json) throws IOException;
+    }
+}
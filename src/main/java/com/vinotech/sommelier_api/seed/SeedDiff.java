@@ -0,0 +1,11 @@
+package com.vinotech.sommelier_api.seed;
+
+/**
+ * Écritures appliquées par une réconciliation d'une table avec son fichier de départ.
+ */
+public record SeedDiff(int inserted, int updated, int deleted) {
+
+    public int changes() {
+        return inserted + updated + deleted;
+    }
+}
@@ -0,0 +1,248 @@
+package com.vinotech.sommelier_api.seed;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Chargement en masse du catalogue de départ ({@code vins.json}, {@code plats.json}).
+ * <p>
+ * Le JSON est lu en flux avec l'API à jetons de Jackson : un seul objet est lié à la fois, et les lignes
+ * sont écrites par paquets de {@value #CHUNK_SIZE}, sans jamais tenir tout le fichier en mémoire.
+ * Les ids sont réservés par blocs dans les séquences des entités ({@link Vin#ID_SEQUENCE},
+ * {@link Plat#ID_SEQUENCE}), comme le fait l'optimiseur {@code pooled} de Hibernate, puis les lignes
+ * partent en {@code COPY ... FROM STDIN} sur PostgreSQL, en lots JDBC ailleurs (H2).
+ * Aucune entité ne passe par le contexte de persistance.
+ */
+@Component
+public class SeedLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeedLoader.class);
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String VIN_COLUMNS = "id, nom, prix, region, notes_degustation, couleur, cepage";
+    private static final String PLAT_COLUMNS = "id, nom, ingredients, allergenes, allergenes_modifiables, option_remplacement";
+    private static final String MENU_COLUMNS = "plat_id, menu_type";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Dialect dialect;
+
+    public SeedLoader(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    /**
+     * Insère les vins d'un tableau JSON, dans une seule transaction.
+     *
+     * @return le nombre de vins insérés
+     */
+    @Transactional
+    public int loadVins(InputStream json) throws IOException {
+        return stream(json, Vin.class, this::insertVins);
+    }
+
+    /**
+     * Insère les plats d'un tableau JSON, avec leurs types de menu, dans une seule transaction.
+     *
+     * @return le nombre de plats insérés
+     */
+    @Transactional
+    public int loadPlats(InputStream json) throws IOException {
+        return stream(json, Plat.class, this::insertPlats);
+    }
+
+    /**
+     * Insère des vins sous de nouveaux ids (ceux des objets sont ignorés).
+     */
+    void insertVins(List<Vin> vins) {
+        long[] ids = allocateIds(Vin.ID_SEQUENCE, Vin.ID_ALLOCATION_SIZE, vins.size());
+        List<Object[]> rows = new ArrayList<>(vins.size());
+        for (int i = 0; i < vins.size(); i++) {
+            Vin vin = vins.get(i);
+            rows.add(new Object[]{ids[i], vin.getNom(), vin.getPrix(), vin.getRegion(), vin.getNotesDegustation(),
+                    vin.getCouleur() == null ? null : vin.getCouleur().name(), vin.getCepage()});
+        }
+        write("vins", VIN_COLUMNS, rows);
+    }
+
+    /**
+     * Insère des plats et leurs types de menu sous de nouveaux ids (ceux des objets sont ignorés).
+     */
+    void insertPlats(List<Plat> plats) {
+        long[] ids = allocateIds(Plat.ID_SEQUENCE, Plat.ID_ALLOCATION_SIZE, plats.size());
+        List<Object[]> rows = new ArrayList<>(plats.size());
+        List<Object[]> menus = new ArrayList<>();
+        for (int i = 0; i < plats.size(); i++) {
+            Plat plat = plats.get(i);
+            rows.add(new Object[]{ids[i], plat.getNom(), plat.getIngredients(), plat.getAllergenes(),
+                    plat.getAllergenesModifiables(), plat.getOptionRemplacement()});
+            menus.addAll(menuRows(ids[i], plat.getTypesMenu()));
+        }
+        write("plats", PLAT_COLUMNS, rows);
+        write("plat_menu_types", MENU_COLUMNS, menus);
+    }
+
+    /**
+     * Insère les types de menu de plats existants.
+     */
+    void insertMenuTypes(Map<Long, Set<MenuType>> typesByPlat) {
+        List<Object[]> rows = new ArrayList<>();
+        typesByPlat.forEach((platId, types) -> rows.addAll(menuRows(platId, types)));
+        write("plat_menu_types", MENU_COLUMNS, rows);
+    }
+
+    private static List<Object[]> menuRows(long platId, Set<MenuType> types) {
+        List<Object[]> rows = new ArrayList<>();
+        if (types != null) {
+            for (MenuType type : types) {
+                rows.add(new Object[]{platId, type.name()});
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Parcourt un tableau JSON objet par objet et passe les objets au consommateur par paquets.
+     */
+    private <T> int stream(InputStream json, Class<T> type, Consumer<List<T>> writer) throws IOException {
+        int count = 0;
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of " + type.getSimpleName());
+            }
+            List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                chunk.add(objectMapper.readValue(parser, type));
+                if (chunk.size() == CHUNK_SIZE) {
+                    writer.accept(chunk);
+                    count += chunk.size();
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writer.accept(chunk);
+                count += chunk.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Réserve {@code count} ids dans la séquence, par blocs de {@code allocationSize}.
+     * <p>
+     * Un appel qui renvoie {@code v} réserve {@code [v - allocationSize + 1, v]} (borné à 1), exactement
+     * le bloc que l'optimiseur {@code pooled} de Hibernate tirerait de cette valeur : les ids du chargeur et
+     * ceux des {@code save()} ultérieurs ne peuvent pas se chevaucher.
+     */
+    long[] allocateIds(String sequence, int allocationSize, int count) {
+        String sql = dialect.getSequenceSupport().getSequenceNextValString(sequence);
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            Long high = jdbcTemplate.queryForObject(sql, Long.class);
+            for (long id = Math.max(1, high - allocationSize + 1); id <= high && filled < count; id++) {
+                ids[filled++] = id;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Place la séquence au-delà des ids déjà présents dans la table (ex. lignes créées avec des ids
+     * {@code SERIAL}, avant les séquences) : sans cela, les blocs réservés pourraient chevaucher des lignes existantes.
+     */
+    void alignSequence(String sequence, int allocationSize, String table) {
+        Long max = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        if (max == null) {
+            return;
+        }
+        Long high = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+        if (high - allocationSize + 1 > max) {
+            return;
+        }
+        logger.info("Séquence {} réalignée après l'id {} de {}", sequence, max, table);
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (max + allocationSize));
+    }
+
+    private void write(String table, String columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                copy(connection, table, columns, rows);
+            } else {
+                String placeholders = "?" + ", ?".repeat(columns.split(",").length - 1);
+                jdbcTemplate.batchUpdate("insert into " + table + " (" + columns + ") values (" + placeholders + ")", rows);
+            }
+            return null;
+        });
+        logger.debug("{} lignes écrites dans {}", rows.size(), table);
+    }
+
+    private static void copy(Connection connection, String table, String columns, List<Object[]> rows) throws SQLException {
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)", new StringReader(csv(rows)));
+        } catch (IOException e) {
+            throw new SQLException("COPY into " + table + " failed", e);
+        }
+    }
+
+    static String csv(List<Object[]> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                appendCsv(csv, row[i]);
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    // CSV de COPY : un champ vide non quoté est NULL, une chaîne est toujours quotée (donc "" reste une chaîne vide)
+    private static void appendCsv(StringBuilder csv, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            csv.append(decimal.toPlainString());
+        } else if (value instanceof Number) {
+            csv.append(value);
+        } else {
+            csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.vinotech.sommelier_api.seed;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Verrou de chargement partagé entre les instances de l'API : un verrou consultatif PostgreSQL
+ * ({@code pg_advisory_xact_lock}), sans effet sur les autres bases (H2 en local et en test).
+ * <p>
+ * Une instance qui trouve le verrou pris attend la fin du chargement en cours plutôt que de démarrer sur des
+ * tables vides ou à moitié chargées ; elle sait alors qu'une autre instance a pu écrire dans le catalogue.
+ * <p>
+ * Le verrou est pris pour la transaction en cours et relâché à son commit ou à son rollback :
+ * il ne survit pas à une instance qui tombe en plein chargement.
+ */
+@Component
+public class SeedLock {
+
+    // Clé du verrou consultatif, propre au chargement du catalogue
+    static final long LOCK_KEY = 0x5EED_CA7A_1060L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public SeedLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Prend le verrou, en attendant que l'instance qui le détient ait validé ou annulé son chargement.
+     *
+     * @return {@code true} s'il a fallu attendre une autre instance
+     * @throws IllegalStateException hors transaction : le verrou serait relâché aussitôt
+     */
+    public boolean acquire() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("The seed lock must be taken inside a transaction");
+        }
+        if (!isPostgres()) {
+            return false;
+        }
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY))) {
+            return false;
+        }
+        jdbcTemplate.queryForList("select pg_advisory_xact_lock(?)", LOCK_KEY);
+        return true;
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return result;
+    }
+}
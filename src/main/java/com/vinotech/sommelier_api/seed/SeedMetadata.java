@@ -0,0 +1,80 @@
+package com.vinotech.sommelier_api.seed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Empreintes des fichiers de départ déjà chargés, dans la table {@code seed_metadata}
+ * ({@link com.vinotech.sommelier_api.model.SeedRecord}, une ligne par fichier, lue par clé primaire).
+ * <p>
+ * Une empreinte ne suffit pas à conclure que les données sont là (table vidée à la main) :
+ * {@link #hasRows(String)} le vérifie, sans compter les lignes.
+ * <p>
+ * Chaque fichier garde aussi les clés naturelles des lignes qu'il a déposées : une réconciliation ne supprime
+ * que celles-là, jamais les lignes créées par l'API.
+ */
+@Component
+public class SeedMetadata {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public SeedMetadata(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public Optional<String> hash(String name) {
+        List<String> hashes = jdbcTemplate.queryForList(
+                "select content_hash from seed_metadata where name = ?", String.class, name);
+        return hashes.stream().findFirst();
+    }
+
+    /**
+     * @return les clés déposées par le dernier fichier chargé, vide si aucune n'a été enregistrée
+     * (lignes présentes avant l'enregistrement des clés : aucune n'est alors supprimable)
+     */
+    public Set<List<String>> keys(String name) {
+        List<String> keys = jdbcTemplate.queryForList(
+                "select seeded_keys from seed_metadata where name = ?", String.class, name);
+        if (keys.isEmpty() || keys.get(0) == null) {
+            return Set.of();
+        }
+        try {
+            return objectMapper.readValue(keys.get(0), new TypeReference<LinkedHashSet<List<String>>>() {});
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to read the seeded keys of " + name, e);
+        }
+    }
+
+    public void record(String name, String hash, Set<List<String>> keys) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(keys);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to write the seeded keys of " + name, e);
+        }
+        jdbcTemplate.update("delete from seed_metadata where name = ?", name);
+        jdbcTemplate.update(
+                "insert into seed_metadata (name, content_hash, seeded_keys, loaded_at) values (?, ?, ?, ?)",
+                name, hash, json, Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * @return {@code true} si la table contient au moins une ligne (sans la compter)
+     */
+    public boolean hasRows(String table) {
+        return !jdbcTemplate.queryForList("select 1 from " + table + " fetch first 1 rows only").isEmpty();
+    }
+}
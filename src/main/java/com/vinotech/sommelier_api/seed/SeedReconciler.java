@@ -0,0 +1,252 @@
+package com.vinotech.sommelier_api.seed;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Réconciliation des tables du catalogue avec les fichiers de départ, par clé naturelle
+ * ({@code (nom, region)} pour les vins, {@code nom} pour les plats).
+ * <p>
+ * Le fichier fait foi : les lignes absentes sont insérées, celles qui diffèrent sont mises à jour sur place
+ * (l'id, et donc les accords, sont conservés), celles qui n'y figurent plus sont supprimées avec leurs accords.
+ * Seules les lignes déposées par un fichier précédent (leurs clés, {@code seeded}) peuvent être supprimées :
+ * les vins et plats créés par l'API ne figurent dans aucun fichier et sont conservés.
+ * Les lignes identiques ne sont pas touchées. Toutes les écritures partent en lots JDBC.
+ */
+@Component
+public class SeedReconciler {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_VINS =
+            "select id, nom, prix, region, notes_degustation, couleur, cepage from vins order by id";
+    private static final String UPDATE_VIN =
+            "update vins set prix = ?, notes_degustation = ?, couleur = ?, cepage = ? where id = ?";
+    private static final String SELECT_PLATS =
+            "select id, nom, ingredients, allergenes, allergenes_modifiables, option_remplacement from plats order by id";
+    private static final String UPDATE_PLAT =
+            "update plats set ingredients = ?, allergenes = ?, allergenes_modifiables = ?, option_remplacement = ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final SeedLoader seedLoader;
+
+    public SeedReconciler(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, SeedLoader seedLoader) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.seedLoader = seedLoader;
+    }
+
+    /**
+     * Aligne la table {@code vins} sur un tableau JSON de vins ; pour une même clé, la dernière entrée l'emporte.
+     *
+     * @param seeded clés {@link #vinKeys(InputStream) (nom, region)} déposées par le fichier précédent
+     */
+    @Transactional
+    public SeedDiff reconcileVins(InputStream json, Set<List<String>> seeded) throws IOException {
+        Map<List<String>, Vin> wanted = new LinkedHashMap<>();
+        for (Vin vin : readVins(json)) {
+            wanted.put(key(vin), vin);
+        }
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<Vin> current = jdbcTemplate.query(SELECT_VINS, (rs, i) -> Vin.builder()
+                .id(rs.getLong("id"))
+                .nom(rs.getString("nom"))
+                .prix(rs.getBigDecimal("prix"))
+                .region(rs.getString("region"))
+                .notesDegustation(rs.getString("notes_degustation"))
+                .couleur(rs.getString("couleur") == null ? null : CouleurVin.valueOf(rs.getString("couleur")))
+                .cepage(rs.getString("cepage"))
+                .build());
+        for (Vin existing : current) {
+            // Retirée de la map à la première occurrence : un doublon d'une clé du fichier est supprimé
+            List<String> key = key(existing);
+            Vin seed = wanted.remove(key);
+            if (seed == null) {
+                if (seeded.contains(key)) {
+                    deletes.add(new Object[]{existing.getId()});
+                }
+            } else if (!sameColumns(seed, existing)) {
+                updates.add(new Object[]{seed.getPrix(), seed.getNotesDegustation(),
+                        seed.getCouleur() == null ? null : seed.getCouleur().name(), seed.getCepage(), existing.getId()});
+            }
+        }
+
+        batch("delete from accord_vin_plat where vin_id = ?", deletes);
+        batch("delete from vins where id = ?", deletes);
+        batch(UPDATE_VIN, updates);
+        if (!wanted.isEmpty()) {
+            seedLoader.alignSequence(Vin.ID_SEQUENCE, Vin.ID_ALLOCATION_SIZE, "vins");
+            seedLoader.insertVins(new ArrayList<>(wanted.values()));
+        }
+        return new SeedDiff(wanted.size(), updates.size(), deletes.size());
+    }
+
+    /**
+     * Aligne les tables {@code plats} et {@code plat_menu_types} sur un tableau JSON de plats ;
+     * pour un même nom, la dernière entrée l'emporte.
+     *
+     * @param seeded clés {@link #platKeys(InputStream) (nom)} déposées par le fichier précédent
+     */
+    @Transactional
+    public SeedDiff reconcilePlats(InputStream json, Set<List<String>> seeded) throws IOException {
+        Map<List<String>, Plat> wanted = new LinkedHashMap<>();
+        for (Plat plat : readPlats(json)) {
+            wanted.put(key(plat), plat);
+        }
+
+        Map<Long, Set<MenuType>> menus = new HashMap<>();
+        jdbcTemplate.query("select plat_id, menu_type from plat_menu_types", rs -> {
+            menus.computeIfAbsent(rs.getLong("plat_id"), id -> EnumSet.noneOf(MenuType.class))
+                    .add(MenuType.valueOf(rs.getString("menu_type")));
+        });
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> menuChanges = new ArrayList<>();
+        Map<Long, Set<MenuType>> newMenus = new LinkedHashMap<>();
+        List<Object[]> deletes = new ArrayList<>();
+        Set<Long> changed = new HashSet<>();
+        List<Plat> current = jdbcTemplate.query(SELECT_PLATS, (rs, i) -> {
+            Plat plat = new Plat();
+            plat.setId(rs.getLong("id"));
+            plat.setNom(rs.getString("nom"));
+            plat.setIngredients(rs.getString("ingredients"));
+            plat.setAllergenes(rs.getString("allergenes"));
+            plat.setAllergenesModifiables(rs.getString("allergenes_modifiables"));
+            plat.setOptionRemplacement(rs.getString("option_remplacement"));
+            return plat;
+        });
+        for (Plat existing : current) {
+            List<String> key = key(existing);
+            Plat seed = wanted.remove(key);
+            if (seed == null) {
+                if (seeded.contains(key)) {
+                    deletes.add(new Object[]{existing.getId()});
+                }
+                continue;
+            }
+            Set<MenuType> seedMenus = menuTypes(seed.getTypesMenu());
+            boolean columnsChanged = !sameColumns(seed, existing);
+            boolean menusChanged = !seedMenus.equals(menus.getOrDefault(existing.getId(), EnumSet.noneOf(MenuType.class)));
+            if (columnsChanged || menusChanged) {
+                changed.add(existing.getId());
+            }
+            if (columnsChanged) {
+                updates.add(new Object[]{seed.getIngredients(), seed.getAllergenes(), seed.getAllergenesModifiables(),
+                        seed.getOptionRemplacement(), existing.getId()});
+            }
+            if (menusChanged) {
+                menuChanges.add(new Object[]{existing.getId()});
+                newMenus.put(existing.getId(), seedMenus);
+            }
+        }
+
+        batch("delete from accord_vin_plat where plat_id = ?", deletes);
+        batch("delete from plat_menu_types where plat_id = ?", deletes);
+        batch("delete from plats where id = ?", deletes);
+        batch(UPDATE_PLAT, updates);
+        batch("delete from plat_menu_types where plat_id = ?", menuChanges);
+        seedLoader.insertMenuTypes(newMenus);
+        if (!wanted.isEmpty()) {
+            seedLoader.alignSequence(Plat.ID_SEQUENCE, Plat.ID_ALLOCATION_SIZE, "plats");
+            seedLoader.insertPlats(new ArrayList<>(wanted.values()));
+        }
+        return new SeedDiff(wanted.size(), changed.size(), deletes.size());
+    }
+
+    /**
+     * @return les clés naturelles {@code (nom, region)} d'un tableau JSON de vins
+     */
+    public Set<List<String>> vinKeys(InputStream json) throws IOException {
+        Set<List<String>> keys = new LinkedHashSet<>();
+        for (Vin vin : readVins(json)) {
+            keys.add(key(vin));
+        }
+        return keys;
+    }
+
+    /**
+     * @return les clés naturelles {@code (nom)} d'un tableau JSON de plats
+     */
+    public Set<List<String>> platKeys(InputStream json) throws IOException {
+        Set<List<String>> keys = new LinkedHashSet<>();
+        for (Plat plat : readPlats(json)) {
+            keys.add(key(plat));
+        }
+        return keys;
+    }
+
+    private List<Vin> readVins(InputStream json) throws IOException {
+        return objectMapper.readValue(json, new TypeReference<List<Vin>>() {});
+    }
+
+    private List<Plat> readPlats(InputStream json) throws IOException {
+        return objectMapper.readValue(json, new TypeReference<List<Plat>>() {});
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, (ps, row) -> {
+                for (int i = 0; i < row.length; i++) {
+                    ps.setObject(i + 1, row[i]);
+                }
+            });
+        }
+    }
+
+    private static Set<MenuType> menuTypes(Set<MenuType> types) {
+        return types == null || types.isEmpty() ? EnumSet.noneOf(MenuType.class) : EnumSet.copyOf(types);
+    }
+
+    private static boolean sameColumns(Vin a, Vin b) {
+        return samePrix(a.getPrix(), b.getPrix())
+                && Objects.equals(a.getNotesDegustation(), b.getNotesDegustation())
+                && a.getCouleur() == b.getCouleur()
+                && Objects.equals(a.getCepage(), b.getCepage());
+    }
+
+    private static boolean sameColumns(Plat a, Plat b) {
+        return Objects.equals(a.getIngredients(), b.getIngredients())
+                && Objects.equals(a.getAllergenes(), b.getAllergenes())
+                && Objects.equals(a.getAllergenesModifiables(), b.getAllergenesModifiables())
+                && Objects.equals(a.getOptionRemplacement(), b.getOptionRemplacement());
+    }
+
+    private static boolean samePrix(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    // Listes plutôt que records : les clés sont enregistrées en JSON dans seed_metadata
+    private static List<String> key(Vin vin) {
+        return Arrays.asList(vin.getNom(), vin.getRegion());
+    }
+
+    private static List<String> key(Plat plat) {
+        return Collections.singletonList(plat.getNom());
+    }
+}
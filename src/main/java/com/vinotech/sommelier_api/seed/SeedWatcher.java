@@ -0,0 +1,109 @@
+package com.vinotech.sommelier_api.seed;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mode développement : surveille les fichiers de départ d'un répertoire ({@code seed.watch.dir}, ex.
+ * {@code src/main/resources}) et réconcilie la base dès qu'ils sont modifiés, sans redémarrer.
+ * <p>
+ * Les événements rapprochés (un éditeur écrit souvent un fichier en plusieurs fois) sont regroupés en
+ * une seule réconciliation ; un fichier réécrit à l'identique est ignoré sur son empreinte.
+ */
+@Component
+@ConditionalOnProperty(name = "seed.watch.dir")
+public class SeedWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeedWatcher.class);
+
+    // Attente d'autres événements avant de réconcilier
+    static final long DEBOUNCE_MS = 300;
+
+    private static final Set<String> FILES = Set.of(CatalogSeeder.VINS_FILE, CatalogSeeder.PLATS_FILE);
+
+    private final CatalogSeeder catalogSeeder;
+    private final Path directory;
+    private volatile WatchService watchService;
+
+    public SeedWatcher(CatalogSeeder catalogSeeder, @Value("${seed.watch.dir}") Path directory) {
+        this.catalogSeeder = catalogSeeder;
+        this.directory = directory.toAbsolutePath();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread thread = new Thread(this::watch, "seed-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Surveillance des fichiers de départ dans {}", directory);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        WatchService service = watchService;
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                boolean relevant = drain(watchService.take());
+                // Regroupe la rafale d'événements qui suit
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    relevant |= drain(next);
+                }
+                if (relevant) {
+                    reconcile();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Arrêt de l'application
+        }
+    }
+
+    private void reconcile() {
+        try {
+            if (catalogSeeder.reconcile(directory)) {
+                logger.info("Fichiers de départ modifiés : catalogue réconcilié");
+            }
+        } catch (RuntimeException e) {
+            // Fichier en cours d'édition ou invalide : on attend la prochaine modification
+            logger.warn("Réconciliation des fichiers de départ impossible : {}", e.getMessage());
+        }
+    }
+
+    private static boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path file && FILES.contains(file.getFileName().toString())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+}
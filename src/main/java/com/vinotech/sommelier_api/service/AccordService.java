@@ -0,0 +1,102 @@
+package com.vinotech.sommelier_api.service;
+
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.SecondLevelCache;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import com.vinotech.sommelier_api.dto.AccordBulkResult;
+import com.vinotech.sommelier_api.dto.AccordOperation;
+import com.vinotech.sommelier_api.exception.InvalidRequestException;
+import com.vinotech.sommelier_api.repository.AccordRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Liaison et déliaison des accords vin/plat en masse.
+ * <p>
+ * Tout le lot s'exécute dans une seule transaction : les paires sont vérifiées en deux requêtes,
+ * puis écrites par lots dans la table de jointure. La matrice des accords, les collections d'accords
+ * du cache de second niveau et la photo du catalogue ne sont invalidées qu'une fois, après le commit, et la
+ * version du catalogue n'est incrémentée qu'une fois (ETags, reconstruction des suggestions).
+ */
+@Service
+public class AccordService {
+
+    public static final int MAX_OPERATIONS = 50_000;
+
+    private final AccordRepository accordRepository;
+    private final PairingEngine pairingEngine;
+    private final SecondLevelCache secondLevelCache;
+    private final VinCatalog vinCatalog;
+    private final CatalogVersion catalogVersion;
+
+    public AccordService(AccordRepository accordRepository, PairingEngine pairingEngine,
+                         SecondLevelCache secondLevelCache, VinCatalog vinCatalog, CatalogVersion catalogVersion) {
+        this.accordRepository = accordRepository;
+        this.pairingEngine = pairingEngine;
+        this.secondLevelCache = secondLevelCache;
+        this.vinCatalog = vinCatalog;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * Applique les opérations ; pour une même paire, la dernière l'emporte.
+     *
+     * @throws InvalidRequestException si une opération est incomplète ou désigne un vin ou un plat inconnu
+     */
+    @Transactional
+    public AccordBulkResult apply(List<AccordOperation> operations) {
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new InvalidRequestException("At most " + MAX_OPERATIONS + " operations per request");
+        }
+        Map<Pair, AccordOperation.Op> last = new LinkedHashMap<>();
+        Set<Long> vinIds = new HashSet<>();
+        Set<Long> platIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            AccordOperation operation = operations.get(i);
+            if (operation == null || operation.vinId() == null || operation.platId() == null || operation.op() == null) {
+                throw new InvalidRequestException("Operation " + i + ": vinId, platId and op are required");
+            }
+            last.put(new Pair(operation.vinId(), operation.platId()), operation.op());
+            vinIds.add(operation.vinId());
+            platIds.add(operation.platId());
+        }
+        if (last.isEmpty()) {
+            return new AccordBulkResult(0, 0, 0);
+        }
+        requireExisting("vin", vinIds, accordRepository.existingVinIds(vinIds));
+        requireExisting("plat", platIds, accordRepository.existingPlatIds(platIds));
+
+        List<long[]> links = new ArrayList<>();
+        List<long[]> unlinks = new ArrayList<>();
+        last.forEach((pair, op) -> (op == AccordOperation.Op.LINK ? links : unlinks)
+                .add(new long[]{pair.vinId(), pair.platId()}));
+        int linked = links.isEmpty() ? 0 : accordRepository.link(links);
+        int unlinked = unlinks.isEmpty() ? 0 : accordRepository.unlink(unlinks);
+        if (linked + unlinked > 0) {
+            pairingEngine.onAccordsChanged();
+            secondLevelCache.onAccordsChanged();
+            vinCatalog.onAccordsChanged();
+            catalogVersion.bump();
+        }
+        return new AccordBulkResult(linked, unlinked, operations.size() - linked - unlinked);
+    }
+
+    private static void requireExisting(String entity, Set<Long> requested, Set<Long> existing) {
+        if (existing.size() == requested.size()) {
+            return;
+        }
+        List<Long> unknown = requested.stream().filter(id -> !existing.contains(id)).sorted().limit(10).toList();
+        throw new InvalidRequestException("Unknown " + entity + " id(s): " + unknown);
+    }
+
+    private record Pair(long vinId, long platId) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.vinotech.sommelier_api.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Export du catalogue au format NDJSON (un objet JSON par ligne), en flux.
+ * <p>
+ * Les lignes sont lues par un curseur JDBC ({@code fetch size}) et écrites au fil de l'eau :
+ * chaque entité est détachée dès qu'elle est écrite, si bien que ni le contexte de persistance
+ * ni le tampon de sortie ne grossissent avec la taille du catalogue.
+ * Les lignes ne portent que les colonnes : les associations lazy ne sont pas parcourues
+ * (ce serait une requête par ligne).
+ */
+@Service
+public class NdjsonExportService {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
+    // Vide le tampon vers le client toutes les N lignes (et après la première, pour le premier octet)
+    private static final int FLUSH_EVERY = 64;
+
+    private final VinRepository vinRepository;
+    private final PlatRepository platRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    public NdjsonExportService(VinRepository vinRepository,
+                               PlatRepository platRepository,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper) {
+        this.vinRepository = vinRepository;
+        this.platRepository = platRepository;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.copy()
+                // Le flux de la réponse appartient au conteneur de servlets : on ne le ferme pas
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+                .addMixIn(Vin.class, WithoutAccords.class)
+                .addMixIn(Plat.class, WithoutAccords.class)
+                .writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    @Transactional(readOnly = true)
+    public void exportVins(OutputStream out) {
+        try (Stream<Vin> vins = vinRepository.streamAll()) {
+            write(vins, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPlats(OutputStream out) {
+        try (Stream<Plat> plats = platRepository.streamAll()) {
+            write(plats, out);
+        }
+    }
+
+    private <T> void write(Stream<T> rows, OutputStream out) {
+        try (SequenceWriter sequence = writer.writeValues(out)) {
+            long count = 0;
+            for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+                T row = it.next();
+                sequence.write(row);
+                entityManager.detach(row);
+                if (++count % FLUSH_EVERY == 1) {
+                    sequence.flush();
+                }
+            }
+            // Le séparateur n'est écrit qu'entre deux valeurs : on termine la dernière ligne
+            if (count > 0) {
+                sequence.flush();
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @JsonIgnoreProperties({"platsAccordes", "vinsAccordes"})
+    private abstract static class WithoutAccords {
+    }
+}
@@ -0,0 +1,95 @@
+package com.vinotech.sommelier_api.service;
+
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.VinFilter;
+import com.vinotech.sommelier_api.dto.VinView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Regroupement ("single flight") des recherches de vins identiques lancées en même temps, par exemple
+ * par toutes les tablettes d'un service qui démarre.
+ * <p>
+ * La première requête d'une {@link SearchKey} exécute la recherche sur son propre thread et publie le résultat
+ * dans un {@link CompletableFuture} ; les requêtes identiques qui arrivent pendant ce temps attendent ce futur
+ * au lieu de relancer la requête et le count(*). L'entrée est retirée dès la fin de la recherche : rien n'est
+ * conservé (c'est le rôle du {@link SearchResultCache}, avec lequel ce mécanisme se combine ou non).
+ * La génération du catalogue fait partie de la clé : une requête arrivée après une écriture ne reçoit jamais
+ * le résultat d'une recherche commencée avant.
+ * <p>
+ * Une erreur de la recherche est renvoyée à toutes les requêtes qui l'attendaient.
+ * Métriques : {@code vin.search.coalesced} (recherches évitées), {@code vin.search.in.flight}.
+ */
+@Component
+public class SearchCoalescer {
+
+    private final boolean enabled;
+    private final CatalogVersion catalogVersion;
+    private final Map<SearchKey, CompletableFuture<Page<VinView>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public SearchCoalescer(@Value("${catalog.search.coalescing.enabled:true}") boolean enabled,
+                           CatalogVersion catalogVersion,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.catalogVersion = catalogVersion;
+        this.coalesced = Counter.builder("vin.search.coalesced")
+                .description("Recherches de vins servies par une recherche identique déjà en cours")
+                .register(meterRegistry);
+        Gauge.builder("vin.search.in.flight", inFlight, Map::size)
+                .description("Recherches de vins distinctes en cours d'exécution")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Le résultat de la recherche identique en cours s'il y en a une, sinon celui de {@code search}.
+     */
+    public Page<VinView> execute(VinFilter filter, Pageable pageable, Supplier<Page<VinView>> search) {
+        if (!enabled || pageable.isUnpaged()) {
+            return search.get();
+        }
+        SearchKey key = SearchKey.of(catalogVersion.current(), filter, pageable);
+        CompletableFuture<Page<VinView>> call = new CompletableFuture<>();
+        CompletableFuture<Page<VinView>> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        try {
+            Page<VinView> page = search.get();
+            call.complete(page);
+            return page;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static Page<VinView> await(CompletableFuture<Page<VinView>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // Même exception que la requête qui a exécuté la recherche (ex. 400 pour un tri invalide)
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
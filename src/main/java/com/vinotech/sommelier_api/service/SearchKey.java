@@ -0,0 +1,20 @@
+package com.vinotech.sommelier_api.service;
+
+import com.vinotech.sommelier_api.catalog.VinFilter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Identité d'une recherche paginée de vins : critères normalisés, page, taille et tri, dans une génération
+ * du catalogue donnée. Deux recherches de même clé renvoient la même page.
+ */
+record SearchKey(long generation, VinFilter filter, int page, int size, Sort sort) {
+
+    /**
+     * @param pageable une pagination ({@code pageable.isPaged()})
+     */
+    static SearchKey of(long generation, VinFilter filter, Pageable pageable) {
+        return new SearchKey(generation, filter.normalized(), pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort());
+    }
+}
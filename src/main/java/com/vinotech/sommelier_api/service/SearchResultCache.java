@@ -0,0 +1,91 @@
+package com.vinotech.sommelier_api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.VinFilter;
+import com.vinotech.sommelier_api.dto.VinView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Cache des pages de {@code /api/vins/search} : quelques combinaisons de filtres font l'essentiel du trafic.
+ * <p>
+ * La clé est le tuple normalisé (couleur, bornes de prix, région en minuscules, page, taille, tri) et la
+ * génération du catalogue ({@link CatalogVersion}) lue <em>avant</em> la recherche. Chaque écriture validée
+ * ({@code VinService.save}, import, chargement des fichiers de départ) change la génération : les pages
+ * calculées avant ne sont plus jamais servies, et le cache est vidé à la première lecture qui le remarque.
+ * <p>
+ * Borné en nombre d'entrées ({@code catalog.search.cache.max-entries}) avec l'éviction W-TinyLFU de Caffeine :
+ * une recherche vue une seule fois ne chasse pas les recherches fréquentes. Chaque entrée expire
+ * {@code catalog.search.cache.ttl-ms} après son calcul. Les recherches non paginées ne sont pas mises en cache.
+ * <p>
+ * Métriques : {@code cache.gets{result=hit|miss}}, {@code cache.hit.ratio}, {@code cache.size},
+ * {@code cache.evictions}, avec le tag {@code cache=vin.search.results}.
+ */
+@Component
+public class SearchResultCache {
+
+    static final String NAME = "vin.search.results";
+
+    private final boolean enabled;
+    private final CatalogVersion catalogVersion;
+    private final Cache<SearchKey, Page<VinView>> pages;
+    private volatile long generation;
+
+    public SearchResultCache(@Value("${catalog.search.cache.enabled:true}") boolean enabled,
+                             @Value("${catalog.search.cache.max-entries:2000}") long maxEntries,
+                             @Value("${catalog.search.cache.ttl-ms:60000}") long ttlMillis,
+                             CatalogVersion catalogVersion,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.catalogVersion = catalogVersion;
+        this.generation = catalogVersion.current();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, NAME);
+        Gauge.builder("cache.hit.ratio", pages, c -> c.stats().hitRate())
+                .description("Part des recherches de vins servies par le cache")
+                .tag("cache", NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * La page en cache pour ces critères, ou celle calculée par {@code search}, mise en cache.
+     */
+    public Page<VinView> get(VinFilter filter, Pageable pageable, Supplier<Page<VinView>> search) {
+        if (!enabled || pageable.isUnpaged()) {
+            return search.get();
+        }
+        long current = catalogVersion.current();
+        if (current != generation) {
+            // Les entrées des générations précédentes ne seraient plus lues : on libère la place tout de suite
+            generation = current;
+            pages.invalidateAll();
+        }
+        SearchKey key = SearchKey.of(current, filter, pageable);
+        Page<VinView> page = pages.getIfPresent(key);
+        if (page == null) {
+            // Calcul hors du verrou de la table de Caffeine : une recherche lente ne bloque pas les autres clés
+            page = search.get();
+            pages.put(key, page);
+        }
+        return page;
+    }
+
+    long size() {
+        pages.cleanUp();
+        return pages.estimatedSize();
+    }
+}
@@ -0,0 +1,130 @@
+package com.vinotech.sommelier_api.service;
+
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.VinFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Stratégie de calcul du total des pages de la recherche de vins en base
+ * ({@code catalog.search.totals-strategy}) :
+ * <ul>
+ *   <li>{@code exact} : un {@code count(*)} par page, comme avant (par défaut) ;</li>
+ *   <li>{@code cached} : total mis en cache par filtre normalisé, pendant {@code catalog.search.totals-ttl-ms}
+ *       et jusqu'à la prochaine écriture dans le catalogue ;</li>
+ *   <li>{@code none} : aucun comptage, sémantique d'un {@code Slice} (on lit un vin de plus pour savoir
+ *       s'il reste une page) ; {@code totalElements} n'est alors qu'une borne inférieure (0 pour une page
+ *       au-delà de la fin).</li>
+ * </ul>
+ * Les recherches servies par la photo en mémoire ne sont pas concernées : leur total ne coûte rien.
+ * Métrique : {@code vin.search.count{strategy, result=executed|avoided}}.
+ */
+@Component
+public class SearchTotals {
+
+    public enum Strategy { EXACT, CACHED, NONE }
+
+    // Au-delà, on vide le cache plutôt que de le laisser grossir avec des filtres jamais revus
+    private static final int MAX_CACHED_FILTERS = 1024;
+
+    private final Strategy strategy;
+    private final long ttlNanos;
+    private final CatalogVersion catalogVersion;
+    private final Map<VinFilter, CachedTotal> totals = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter avoided;
+
+    public SearchTotals(@Value("${catalog.search.totals-strategy:exact}") String strategy,
+                        @Value("${catalog.search.totals-ttl-ms:5000}") long ttlMillis,
+                        CatalogVersion catalogVersion,
+                        MeterRegistry meterRegistry) {
+        this.strategy = Strategy.valueOf(strategy.trim().toUpperCase(Locale.ROOT));
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.catalogVersion = catalogVersion;
+        String tag = this.strategy.name().toLowerCase(Locale.ROOT);
+        this.executed = Counter.builder("vin.search.count")
+                .description("Requêtes count(*) exécutées pour la recherche de vins")
+                .tag("strategy", tag)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.avoided = Counter.builder("vin.search.count")
+                .description("Requêtes count(*) évitées pour la recherche de vins")
+                .tag("strategy", tag)
+                .tag("result", "avoided")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Construit une page paginée ({@code pageable.isPaged()}).
+     *
+     * @param content lit au plus N vins à partir de l'offset de la page
+     * @param count   le count(*) sur les mêmes prédicats
+     */
+    public <T> Page<T> page(VinFilter filter, Pageable pageable, IntFunction<List<T>> content, LongSupplier count) {
+        int size = pageable.getPageSize();
+        if (strategy == Strategy.NONE) {
+            List<T> rows = content.apply(size + 1);
+            boolean hasNext = rows.size() > size;
+            List<T> pageContent = hasNext ? rows.subList(0, size) : rows;
+            avoided.increment();
+            // Page vide au-delà de la fin : le nombre de vins est inconnu, l'offset pourrait le dépasser
+            long total = pageContent.isEmpty() ? 0 : pageable.getOffset() + pageContent.size() + (hasNext ? 1 : 0);
+            return new PageImpl<>(pageContent, pageable, total);
+        }
+        List<T> rows = content.apply(size);
+        // Comme Spring Data, on ne compte pas quand le contenu suffit (première ou dernière page incomplète)
+        if (isDeducible(pageable, rows.size())) {
+            avoided.increment();
+        }
+        if (strategy == Strategy.EXACT) {
+            return PageableExecutionUtils.getPage(rows, pageable, () -> {
+                executed.increment();
+                return count.getAsLong();
+            });
+        }
+        return PageableExecutionUtils.getPage(rows, pageable, () -> cachedTotal(filter, count));
+    }
+
+    private long cachedTotal(VinFilter filter, LongSupplier count) {
+        VinFilter key = filter.normalized();
+        long version = catalogVersion.current();
+        long now = System.nanoTime();
+        CachedTotal cached = totals.get(key);
+        if (cached != null && cached.version() == version && now - cached.computedAt() < ttlNanos) {
+            avoided.increment();
+            return cached.total();
+        }
+        executed.increment();
+        long total = count.getAsLong();
+        if (totals.size() >= MAX_CACHED_FILTERS) {
+            totals.clear();
+        }
+        totals.put(key, new CachedTotal(version, now, total));
+        return total;
+    }
+
+    // Même condition que PageableExecutionUtils.getPage : le total est connu sans compter
+    private static boolean isDeducible(Pageable pageable, int contentSize) {
+        if (pageable.getOffset() == 0) {
+            return pageable.getPageSize() > contentSize;
+        }
+        return contentSize != 0 && pageable.getPageSize() > contentSize;
+    }
+
+    private record CachedTotal(long version, long computedAt, long total) {
+    }
+}
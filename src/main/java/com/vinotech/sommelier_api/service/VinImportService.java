@@ -0,0 +1,231 @@
+package com.vinotech.sommelier_api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import com.vinotech.sommelier_api.dto.VinBulkBatch;
+import com.vinotech.sommelier_api.dto.VinBulkResult;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import de vins en masse depuis un flux NDJSON (un vin par ligne), avec upsert sur la clé naturelle
+ * {@code (nom, region)}.
+ * <p>
+ * Le flux est lu ligne à ligne et traité par lots de {@value #BATCH_SIZE} lignes, chacun dans sa propre
+ * transaction : un lot validé le reste même si un lot suivant échoue. Seul le lot courant est en mémoire
+ * (lignes lues et contexte de persistance, fermé au commit), quelle que soit la taille du flux.
+ * Les structures en mémoire du catalogue sont invalidées après le commit de chaque lot qui a écrit.
+ */
+@Service
+public class VinImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VinImportService.class);
+
+    static final int BATCH_SIZE = 500;
+    // Erreurs détaillées par lot ; les suivantes ne sont que comptées
+    static final int MAX_ERRORS_PER_BATCH = 20;
+
+    private final VinRepository vinRepository;
+    private final VinCatalog vinCatalog;
+    private final PairingEngine pairingEngine;
+    private final CatalogVersion catalogVersion;
+    private final ObjectReader reader;
+    private final TransactionTemplate transactionTemplate;
+
+    public VinImportService(VinRepository vinRepository, VinCatalog vinCatalog, PairingEngine pairingEngine,
+                            CatalogVersion catalogVersion, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager) {
+        this.vinRepository = vinRepository;
+        this.vinCatalog = vinCatalog;
+        this.pairingEngine = pairingEngine;
+        this.catalogVersion = catalogVersion;
+        this.reader = objectMapper.readerFor(Vin.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Importe les vins du flux, lot par lot. Les lignes vides sont ignorées ; une ligne invalide est
+     * rejetée sans bloquer le reste de son lot.
+     *
+     * @return les totaux et le bilan de chaque lot
+     */
+    public VinBulkResult importNdjson(InputStream ndjson) throws IOException {
+        List<VinBulkBatch> batches = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        Batch batch = new Batch(1, 1);
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            batch.lastLine = lineNumber;
+            if (!line.isBlank()) {
+                batch.add(lineNumber, line);
+            }
+            if (batch.lines() == BATCH_SIZE) {
+                batches.add(write(batch));
+                batch = new Batch(batch.number + 1, lineNumber + 1);
+            }
+        }
+        if (batch.lines() > 0) {
+            batches.add(write(batch));
+        }
+        return VinBulkResult.of(batches);
+    }
+
+    private VinBulkBatch write(Batch batch) {
+        if (batch.rows.isEmpty()) {
+            return batch.result(VinBulkBatch.Status.COMMITTED, 0, 0, 0);
+        }
+        try {
+            int[] counts = transactionTemplate.execute(status -> upsert(batch.rows));
+            return batch.result(VinBulkBatch.Status.COMMITTED, counts[0], counts[1], counts[2]);
+        } catch (DataAccessException e) {
+            logger.warn("Lot {} de l'import de vins annulé (lignes {} à {})", batch.number, batch.firstLine, batch.lastLine, e);
+            batch.rejected += batch.rows.size();
+            batch.error("Batch rolled back: the database rejected one of its rows");
+            return batch.result(VinBulkBatch.Status.ROLLED_BACK, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Insère ou met à jour les vins d'un lot ; au sein du lot, la dernière ligne d'une même clé l'emporte.
+     *
+     * @return {@code {inserted, updated, unchanged}}
+     */
+    private int[] upsert(List<Vin> rows) {
+        Set<String> noms = rows.stream().map(Vin::getNom).collect(Collectors.toSet());
+        Map<Key, Vin> existing = new HashMap<>();
+        for (Vin vin : vinRepository.findAllByNomIn(noms)) {
+            existing.merge(Key.of(vin), vin, (a, b) -> a.getId() <= b.getId() ? a : b);
+        }
+
+        List<Vin> created = new ArrayList<>();
+        int updated = 0;
+        int unchanged = 0;
+        for (Vin row : rows) {
+            Vin vin = existing.get(Key.of(row));
+            if (vin == null) {
+                vin = Vin.builder().nom(row.getNom()).region(row.getRegion()).build();
+                copyColumns(row, vin);
+                existing.put(Key.of(vin), vin);
+                created.add(vin);
+            } else if (sameColumns(row, vin)) {
+                unchanged++;
+            } else {
+                copyColumns(row, vin);
+                updated++;
+            }
+        }
+        vinRepository.saveAll(created);
+        // Les erreurs d'écriture remontent ici, traduites, plutôt qu'au commit
+        vinRepository.flush();
+        if (created.size() + updated > 0) {
+            vinCatalog.onVinsImported();
+            pairingEngine.onVinsImported();
+            catalogVersion.bump();
+        }
+        return new int[]{created.size(), updated, unchanged};
+    }
+
+    private static void copyColumns(Vin from, Vin to) {
+        to.setPrix(from.getPrix());
+        to.setNotesDegustation(from.getNotesDegustation());
+        to.setCouleur(from.getCouleur());
+        to.setCepage(from.getCepage());
+    }
+
+    private static boolean sameColumns(Vin a, Vin b) {
+        boolean samePrix = a.getPrix() == null ? b.getPrix() == null
+                : b.getPrix() != null && a.getPrix().compareTo(b.getPrix()) == 0;
+        return samePrix
+                && Objects.equals(a.getNotesDegustation(), b.getNotesDegustation())
+                && a.getCouleur() == b.getCouleur()
+                && Objects.equals(a.getCepage(), b.getCepage());
+    }
+
+    private record Key(String nom, String region) {
+        static Key of(Vin vin) {
+            return new Key(vin.getNom(), vin.getRegion());
+        }
+    }
+
+    /**
+     * Lignes d'un lot en cours de lecture, déjà liées et validées.
+     */
+    private final class Batch {
+        final int number;
+        final long firstLine;
+        long lastLine;
+        final List<Vin> rows = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+        int rejected;
+
+        Batch(int number, long firstLine) {
+            this.number = number;
+            this.firstLine = firstLine;
+            this.lastLine = firstLine - 1;
+        }
+
+        int lines() {
+            return rows.size() + rejected;
+        }
+
+        void add(long lineNumber, String line) {
+            Vin vin;
+            try {
+                vin = reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                reject("Line " + lineNumber + ": malformed JSON");
+                return;
+            }
+            if (vin == null || isBlank(vin.getNom()) || isBlank(vin.getRegion())) {
+                reject("Line " + lineNumber + ": nom and region are required");
+                return;
+            }
+            rows.add(vin);
+        }
+
+        void reject(String error) {
+            rejected++;
+            error(error);
+        }
+
+        void error(String error) {
+            if (errors.size() < MAX_ERRORS_PER_BATCH) {
+                errors.add(error);
+            }
+        }
+
+        VinBulkBatch result(VinBulkBatch.Status status, int inserted, int updated, int unchanged) {
+            return new VinBulkBatch(number, firstLine, lastLine, status, inserted, updated, unchanged, rejected,
+                    List.copyOf(errors));
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
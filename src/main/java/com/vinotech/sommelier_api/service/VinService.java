@@ -1,73 +1,259 @@
 package com.vinotech.sommelier_api.service;
 
+import com.vinotech.sommelier_api.catalog.CatalogSnapshot;
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import com.vinotech.sommelier_api.catalog.VinCursor;
+import com.vinotech.sommelier_api.catalog.VinFilter;
+import com.vinotech.sommelier_api.dto.CursorSlice;
+import com.vinotech.sommelier_api.dto.VinFacets;
+import com.vinotech.sommelier_api.dto.VinView;
 import com.vinotech.sommelier_api.model.CouleurVin;
 import com.vinotech.sommelier_api.model.Vin;
 import com.vinotech.sommelier_api.repository.VinRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.criteria.JpaOrder;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
 public class VinService {
 
     private final VinRepository vinRepository;
+    private final VinCatalog vinCatalog;
+    private final CatalogVersion catalogVersion;
+    private final SearchTotals searchTotals;
+    private final SearchResultCache searchResultCache;
+    private final SearchCoalescer searchCoalescer;
+    private final PairingEngine pairingEngine;
 
-    public VinService(VinRepository vinRepository) {
+    public VinService(VinRepository vinRepository, VinCatalog vinCatalog, CatalogVersion catalogVersion,
+                      SearchTotals searchTotals, SearchResultCache searchResultCache, SearchCoalescer searchCoalescer,
+                      PairingEngine pairingEngine) {
         this.vinRepository = vinRepository;
+        this.vinCatalog = vinCatalog;
+        this.catalogVersion = catalogVersion;
+        this.searchTotals = searchTotals;
+        this.searchResultCache = searchResultCache;
+        this.searchCoalescer = searchCoalescer;
+        this.pairingEngine = pairingEngine;
     }
 
     public Vin save(Vin vin) {
-        return vinRepository.save(vin);
+        Vin saved = vinRepository.save(vin);
+        vinCatalog.onVinSaved(saved);
+        pairingEngine.onVinSaved(saved);
+        catalogVersion.bump();
+        return saved;
     }
 
     public List<Vin> findAll() {
+        if (vinCatalog.isEnabled()) {
+            return vinCatalog.findAll();
+        }
         return vinRepository.findAll();
     }
 
     public Optional<Vin> findById(Long id) {
+        if (vinCatalog.isEnabled()) {
+            return vinCatalog.findById(id);
+        }
         return vinRepository.findById(id);
     }
 
     /**
-     * Recherche avancée avec critères dynamiques et pagination.
+     * Vues de tous les vins, pour les lectures exposées par l'API : depuis la photo en mémoire,
+     * ou par une projection JPQL. La transaction est terminée avant la sérialisation.
      */
-    public Page<Vin> searchVins(CouleurVin couleur, Double minPrix, Double maxPrix, String region, Pageable pageable) {
-        Specification<Vin> spec = (root, query, criteriaBuilder) -> {
+    public List<VinView> findAllViews() {
+        if (vinCatalog.isEnabled()) {
+            return vinCatalog.findAll().stream().map(VinView::of).toList();
+        }
+        return vinRepository.findAllViews();
+    }
+
+    public Optional<VinView> findViewById(Long id) {
+        if (vinCatalog.isEnabled()) {
+            return vinCatalog.findById(id).map(VinView::of);
+        }
+        return vinRepository.findViewById(id);
+    }
+
+    /**
+     * Recherche avancée avec critères dynamiques, texte libre {@code q} et pagination. Les recherches identiques simultanées
+     * n'en font qu'une ({@link SearchCoalescer}), servie par le {@link SearchResultCache}. Sinon, depuis la photo en mémoire du catalogue quand elle est active et que le tri le permet,
+     * ou par projection en base, le calcul du total suivant {@link SearchTotals}.
+     * Le classement par pertinence du texte libre et la tolérance aux fautes ({@code fuzzy}) n'existent qu'en mémoire ;
+     * en base, {@code q} ne fait que filtrer, mot pour mot.
+     */
+    public Page<VinView> searchVins(CouleurVin couleur, Double minPrix, Double maxPrix, String region, String q,
+                                    boolean fuzzy, Pageable pageable) {
+        VinFilter filter = new VinFilter(couleur, minPrix, maxPrix, region, q, fuzzy);
+        return searchCoalescer.execute(filter, pageable,
+                () -> searchResultCache.get(filter, pageable, () -> search(filter, pageable)));
+    }
+
+    private Page<VinView> search(VinFilter filter, Pageable pageable) {
+        if (vinCatalog.isEnabled()) {
+            Optional<Page<Vin>> page = vinCatalog.search(filter, pageable);
+            if (page.isPresent()) {
+                return page.get().map(VinView::of);
+            }
+        }
+        Specification<Vin> specification = specification(filter);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(vinRepository.findViews(specification, pageable, Integer.MAX_VALUE));
+        }
+        return searchTotals.page(filter, pageable,
+                limit -> vinRepository.findViews(specification, pageable, limit),
+                () -> vinRepository.count(specification));
+    }
+
+    /**
+     * Recherche paginée par clé (keyset) : pas de OFFSET ni de count(*), le coût d'une page
+     * ne dépend pas de sa profondeur.
+     *
+     * @param after jeton retourné par la tranche précédente, ou vide pour la première tranche
+     * @param size  nombre maximal de vins dans la tranche
+     * @param sort  ordre de la première tranche ({@code id} ou {@code prix}) ; ensuite, c'est le curseur qui fait foi
+     */
+    public CursorSlice<VinView> searchVinsAfter(CouleurVin couleur, Double minPrix, Double maxPrix, String region,
+                                                String q, boolean fuzzy, String after, int size, Sort sort) {
+        VinFilter filter = new VinFilter(couleur, minPrix, maxPrix, region, q, fuzzy);
+        VinCursor cursor = after == null || after.isEmpty() ? VinCursor.start(sort) : VinCursor.decode(after);
+
+        // On lit un vin de plus que demandé pour savoir s'il reste une tranche
+        List<VinView> rows;
+        if (vinCatalog.isEnabled()) {
+            rows = vinCatalog.searchAfter(filter, cursor, size + 1).stream().map(VinView::of).toList();
+        } else {
+            // Pageable non trié : l'ordre est posé par la Specification du curseur
+            rows = vinRepository.findViews(specification(filter).and(keyset(cursor)), Pageable.ofSize(size + 1), size + 1);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<VinView> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursor.after(content.get(content.size() - 1)).encode() : null;
+        return new CursorSlice<>(List.copyOf(content), content.size(), hasNext, nextCursor);
+    }
+
+    /**
+     * Compteurs de la barre de filtres (couleurs, régions, cépages, tranches de prix) pour les critères de la recherche,
+     * calculés sur les bitsets par valeur de la photo en mémoire. Sans photo, une seule requête charge les vins du texte
+     * libre et les autres critères sont évalués sur un index construit pour l'occasion : jamais un GROUP BY par facette.
+     */
+    public VinFacets facets(CouleurVin couleur, Double minPrix, Double maxPrix, String region, String q, boolean fuzzy) {
+        VinFilter filter = new VinFilter(couleur, minPrix, maxPrix, region, q, fuzzy);
+        if (vinCatalog.isEnabled()) {
+            return vinCatalog.facets(filter);
+        }
+        List<Vin> vins = vinRepository.findAll(specification(new VinFilter(null, null, null, null, q)));
+        return CatalogSnapshot.facets(vins, filter);
+    }
+
+    private static Specification<Vin> specification(VinFilter filter) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // 1. Filtre Couleur
-            if (couleur != null) {
-                predicates.add(criteriaBuilder.equal(root.get("couleur"), couleur));
+            if (filter.couleur() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("couleur"), filter.couleur()));
             }
 
             // 2. Filtre Prix Min (Conversion Double -> BigDecimal)
-            if (minPrix != null) {
-                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("prix"), BigDecimal.valueOf(minPrix)));
+            if (filter.minPrix() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("prix"), BigDecimal.valueOf(filter.minPrix())));
             }
 
             // 3. Filtre Prix Max (Conversion Double -> BigDecimal)
-            if (maxPrix != null) {
-                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("prix"), BigDecimal.valueOf(maxPrix)));
+            if (filter.maxPrix() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("prix"), BigDecimal.valueOf(filter.maxPrix())));
             }
 
             // 4. Filtre Région
-            if (region != null && !region.isEmpty()) {
-                predicates.add(criteriaBuilder.like(
-                        criteriaBuilder.lower(root.get("region")),
-                        "%" + region.toLowerCase() + "%"
-                ));
+            if (filter.region() != null && !filter.region().isEmpty()) {
+                predicates.add(contains(criteriaBuilder, root.get("region"), filter.region()));
+            }
+
+            // 5. Texte libre : chaque mot dans l'une des colonnes texte (sans pliage des accents ni racinisation)
+            if (filter.q() != null) {
+                for (String word : VinFilter.words(filter.q())) {
+                    predicates.add(criteriaBuilder.or(
+                            contains(criteriaBuilder, root.get("nom"), word),
+                            contains(criteriaBuilder, root.get("notesDegustation"), word),
+                            contains(criteriaBuilder, root.get("cepage"), word),
+                            contains(criteriaBuilder, root.get("region"), word)));
+                }
             }
 
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
+    }
+
+    /**
+     * {@code lower(colonne) like '%texte%'}, le texte étant pris littéralement ({@code %} et {@code _} échappés),
+     * comme dans la photo en mémoire. L'expression {@code lower(colonne)} est celle des index trigrammes
+     * ({@code db/migration/V2__search_indexes.sql}) : la modifier les rendrait inutilisables.
+     */
+    private static Predicate contains(CriteriaBuilder criteriaBuilder, Expression<String> column, String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return criteriaBuilder.like(criteriaBuilder.lower(column), "%" + escaped + "%", '\\');
+    }
+
+    /**
+     * Ordre (prix, id) ou (id) du curseur et prédicat "strictement après le curseur",
+     * avec les vins sans prix en dernier en ASC et en premier en DESC (convention PostgreSQL).
+     * L'ordre est posé ici plutôt que via un {@link Sort} : Spring Data ignore la position des nulls
+     * d'un {@code Sort} dans les requêtes Criteria.
+     */
+    private static Specification<Vin> keyset(VinCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            Path<BigDecimal> prix = root.get("prix");
+            Order byId = cursor.descending() && cursor.property().equals("id") ? cb.desc(id) : cb.asc(id);
+            if (cursor.property().equals("prix")) {
+                JpaOrder byPrix = (JpaOrder) (cursor.descending() ? cb.desc(prix) : cb.asc(prix));
+                query.orderBy(byPrix.nullPrecedence(cursor.descending() ? NullPrecedence.FIRST : NullPrecedence.LAST), byId);
+            } else {
+                query.orderBy(byId);
+            }
 
-        return vinRepository.findAll(spec, pageable);
+            if (cursor.isStart()) {
+                return cb.conjunction();
+            }
+            if (cursor.property().equals("id")) {
+                return cursor.descending() ? cb.lessThan(id, cursor.id()) : cb.greaterThan(id, cursor.id());
+            }
+            Predicate sameKeyAfter = cursor.prixCents() == null
+                    ? cb.and(cb.isNull(prix), cb.greaterThan(id, cursor.id()))
+                    : cb.and(cb.equal(prix, BigDecimal.valueOf(cursor.prixCents(), 2)), cb.greaterThan(id, cursor.id()));
+            if (cursor.prixCents() == null) {
+                // ASC : les sans-prix sont en fin de liste ; DESC : ils précèdent tous les vins avec prix
+                return cursor.descending() ? cb.or(sameKeyAfter, cb.isNotNull(prix)) : sameKeyAfter;
+            }
+            BigDecimal last = BigDecimal.valueOf(cursor.prixCents(), 2);
+            return cursor.descending()
+                    ? cb.or(cb.lessThan(prix, last), sameKeyAfter)
+                    : cb.or(cb.greaterThan(prix, last), sameKeyAfter, cb.isNull(prix));
+        };
     }
-}
\ No newline at end of file
+}
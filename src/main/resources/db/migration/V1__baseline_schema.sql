@@ -0,0 +1,58 @@
+-- Schema of the entities when migrations were introduced (sequence ids, seed_metadata).
+-- Databases created earlier by ddl-auto are baselined at version 1 and skip this script: they have the tables
+-- but identity ids and no sequences nor seed_metadata, which V3 adds.
+
+create sequence if not exists plats_seq start with 1 increment by 50;
+
+create sequence if not exists vins_seq start with 1 increment by 50;
+
+create table if not exists vins (
+    prix numeric(10,2),
+    id bigint not null,
+    cepage varchar(100),
+    nom varchar(100) not null,
+    region varchar(100) not null,
+    couleur varchar(255) check (couleur in ('ROUGE','BLANC','ROSE','ORANGE','EFFERVESCENT','LIQUOREUX')),
+    notes_degustation text,
+    primary key (id)
+);
+
+create table if not exists plats (
+    id bigint not null,
+    nom varchar(100) not null,
+    allergenes text,
+    allergenes_modifiables text,
+    ingredients text,
+    option_remplacement text,
+    primary key (id)
+);
+
+create table if not exists plat_menu_types (
+    plat_id bigint not null,
+    menu_type varchar(255) check (menu_type in ('BRUNCH','LUNCH','SOUPER','SNACK','DESSERT'))
+);
+
+create table if not exists accord_vin_plat (
+    plat_id bigint not null,
+    vin_id bigint not null,
+    primary key (plat_id, vin_id)
+);
+
+create table if not exists seed_metadata (
+    loaded_at timestamp(6) with time zone not null,
+    content_hash varchar(64) not null,
+    name varchar(100) not null,
+    primary key (name)
+);
+
+-- Natural key (nom, region) of the bulk import upsert
+create index if not exists idx_vins_nom_region on vins (nom, region);
+
+alter table accord_vin_plat
+    add constraint FKi13qmiptk49d5fl9rqidyt8yr foreign key (plat_id) references plats;
+
+alter table accord_vin_plat
+    add constraint FKpui80rily4g9ek4xn05vrq95 foreign key (vin_id) references vins;
+
+alter table plat_menu_types
+    add constraint FK45d9ycwtmnl4xr1pdw2p1er3a foreign key (plat_id) references plats;
@@ -0,0 +1,20 @@
+-- Indexes of /api/vins/search and of the accord and dish lookups.
+
+-- Substring filters (lower(col) like '%x%'): only a trigram index can serve a pattern with a leading wildcard.
+-- The indexed expressions must stay identical to the predicates built by VinService.
+create extension if not exists pg_trgm;
+
+create index if not exists idx_vins_region_trgm on vins using gin (lower(region) gin_trgm_ops);
+create index if not exists idx_vins_nom_trgm on vins using gin (lower(nom) gin_trgm_ops);
+-- Free-text fallback (q) when the in-memory catalog is off: every column of the OR must be indexed,
+-- otherwise the whole OR falls back to a sequential scan
+create index if not exists idx_vins_cepage_trgm on vins using gin (lower(cepage) gin_trgm_ops);
+create index if not exists idx_vins_notes_degustation_trgm on vins using gin (lower(notes_degustation) gin_trgm_ops);
+
+-- couleur = ? with a price range, and the (prix, id) keyset order within a colour
+create index if not exists idx_vins_couleur_prix on vins (couleur, prix);
+
+-- The primary key (plat_id, vin_id) serves the wines of a dish; this one serves the dishes of a wine
+create index if not exists idx_accord_vin_plat_vin_plat on accord_vin_plat (vin_id, plat_id);
+-- Menu types, joined to every dish loaded (eager element collection)
+create index if not exists idx_plat_menu_types_plat on plat_menu_types (plat_id);
@@ -0,0 +1,28 @@
+-- Databases created by ddl-auto before the migrations existed are baselined at version 1, so V1 never ran on
+-- them. Their schema is the one of the first entities: identity ids, no id sequences, no seed_metadata table.
+-- This script brings them to the V1 schema and does nothing on a database created by V1.
+
+create sequence if not exists plats_seq start with 1 increment by 50;
+
+create sequence if not exists vins_seq start with 1 increment by 50;
+
+-- The pooled generator hands out the 50 ids up to each value returned by nextval: moving the sequence to the
+-- highest id in use makes the next block start right after it. Never moved back (empty table: left untouched).
+select setval('vins_seq', greatest(max(id), (select last_value from vins_seq))) from vins having max(id) is not null;
+
+select setval('plats_seq', greatest(max(id), (select last_value from plats_seq))) from plats having max(id) is not null;
+
+-- Ids now come from the sequences, as for the entities
+alter table vins alter column id drop identity if exists;
+
+alter table plats alter column id drop identity if exists;
+
+create table if not exists seed_metadata (
+    loaded_at timestamp(6) with time zone not null,
+    content_hash varchar(64) not null,
+    name varchar(100) not null,
+    primary key (name)
+);
+
+-- Natural key (nom, region) of the bulk import upsert
+create index if not exists idx_vins_nom_region on vins (nom, region);
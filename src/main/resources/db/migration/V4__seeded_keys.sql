@@ -0,0 +1,3 @@
+-- Natural keys of the rows each seed file put in its table (JSON): a reconciliation deletes only those, never the
+-- wines and dishes created through the API. Null for a file loaded before: nothing of it is deleted.
+alter table seed_metadata add column if not exists seeded_keys text;
@@ -0,0 +1,85 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogResponseCache Unit Tests")
+class CatalogResponseCacheTest {
+
+    private CatalogVersion catalogVersion;
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogResponseCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CatalogResponseCache(new ObjectMapper(), catalogVersion, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should serialize once per catalog version")
+    void shouldSerializeOncePerVersion() {
+        // When
+        CatalogResponseCache.Body first = cache.get("vins", this::load);
+        CatalogResponseCache.Body second = cache.get("vins", this::load);
+        catalogVersion.bump();
+        CatalogResponseCache.Body third = cache.get("vins", this::load);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json())).isEqualTo("[1]");
+        assertThat(new String(third.json())).isEqualTo("[2]");
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("catalog.response.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep one entry per key")
+    void shouldKeepOneEntryPerKey() {
+        // When
+        cache.get("vins", () -> List.of("vin"));
+        CatalogResponseCache.Body plats = cache.get("plats", () -> List.of("plat"));
+
+        // Then
+        assertThat(new String(plats.json())).isEqualTo("[\"plat\"]");
+    }
+
+    @Test
+    @DisplayName("Should precompute a gzip variant of the same bytes")
+    void shouldPrecomputeGzipVariant() throws IOException {
+        // When
+        CatalogResponseCache.Body body = cache.get("vins", this::load);
+
+        // Then
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(body.gzip()))) {
+            assertThat(gunzip.readAllBytes()).isEqualTo(body.json());
+        }
+    }
+
+    @Test
+    @DisplayName("Should parse Accept-Encoding headers")
+    void shouldParseAcceptEncoding() {
+        assertThat(CatalogResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(CatalogResponseCache.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(CatalogResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip("identity")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip(null)).isFalse();
+    }
+
+    private List<Integer> load() {
+        return List.of(loads.incrementAndGet());
+    }
+}
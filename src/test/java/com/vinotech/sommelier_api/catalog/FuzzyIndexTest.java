@@ -0,0 +1,102 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.model.Vin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FuzzyIndex Tests")
+class FuzzyIndexTest {
+
+    private static final VinComparators COMPARATORS = VinComparators.forCollation("en-US");
+
+    private static final List<Vin> VINS = List.of(
+            vin(1L, "Cava, Funàmbul Brut Nature Reserva 2021", "Espagne", "Macabeu", "Bulles fines"),
+            vin(2L, "Grüvi Pétillant", "Autriche", "Zweigelt", "Fruité, léger"),
+            vin(3L, "Alsace Grand Cru", "Alsace", "Gewürztraminer", "Litchi, rose"),
+            vin(4L, "Morgon", "Beaujolais", "Gamay", "Fruits rouges"),
+            vin(5L, "Morgan Ranch", "Californie", "Merlot", "Boisé"));
+
+    // ==================== Distance Tests ====================
+
+    @Test
+    @DisplayName("Should count insertions, deletions, substitutions and adjacent transpositions as one edit")
+    void shouldComputeBoundedDistance() {
+        assertThat(FuzzyIndex.distance("gewurztraminer", "gewurtztraminer", 2)).isEqualTo(1);
+        assertThat(FuzzyIndex.distance("margaux", "magraux", 2)).isEqualTo(1);
+        assertThat(FuzzyIndex.distance("funambul", "funanbul", 2)).isEqualTo(1);
+        assertThat(FuzzyIndex.distance("chardonnay", "chardonay", 2)).isEqualTo(1);
+        assertThat(FuzzyIndex.distance("merlot", "gamay", 2)).isEqualTo(3);
+        assertThat(FuzzyIndex.distance("pinot", "pinot noir", 2)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should find the close names and grapes only, within the distance allowed for the word length")
+    void shouldFindSimilarTerms() {
+        // Given
+        FuzzyIndex index = FuzzyIndex.build(VINS);
+
+        // Then
+        assertThat(index.similar(term("Gewurtztraminer"))).containsEntry(term("Gewürztraminer"), 1);
+        assertThat(index.similar(term("fumanbul"))).containsEntry(term("Funàmbul"), 2);
+        assertThat(index.similar(term("gruvy"))).containsOnlyKeys(term("Grüvi"));
+        // Mots de 3 lettres : aucune tolérance ; "rouge" n'est que dans les notes
+        assertThat(index.similar("cav")).isEmpty();
+        assertThat(index.similar("roug")).isEmpty();
+    }
+
+    // ==================== Snapshot search Tests ====================
+
+    @Test
+    @DisplayName("Should find misspelled names and grapes only when fuzzy is requested")
+    void shouldMatchMisspellingsWhenFuzzy() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, VINS);
+
+        // Then
+        for (String q : List.of("Funanbul", "Gewurtztraminer", "gruvy petillant")) {
+            assertThat(snapshot.search(new VinFilter(null, null, null, null, q), PageRequest.of(0, 10), COMPARATORS)
+                    .orElseThrow().getContent()).as(q).isEmpty();
+        }
+        assertThat(ids(snapshot, "Funanbul")).containsExactly(1L);
+        assertThat(ids(snapshot, "Gewurtztraminer")).containsExactly(3L);
+        assertThat(ids(snapshot, "gruvy petillant")).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should rank an exact match above a close one")
+    void shouldRankExactMatchFirst() {
+        assertThat(ids(CatalogSnapshot.of(1, VINS), "morgon")).containsExactly(4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should learn the words of a saved wine through the copy-on-write snapshot")
+    void shouldIndexSavedWine() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, VINS);
+
+        // When
+        CatalogSnapshot next = snapshot.withVin(2, vin(6L, "Fleurie Poncié", "Beaujolais", "Gamay", "Floral"));
+
+        // Then
+        assertThat(ids(next, "ponsié")).containsExactly(6L);
+        assertThat(ids(snapshot, "ponsié")).isEmpty();
+    }
+
+    private static String term(String word) {
+        return TextAnalyzer.terms(word).get(0);
+    }
+
+    private static List<Long> ids(CatalogSnapshot snapshot, String q) {
+        return snapshot.search(new VinFilter(null, null, null, null, q, true), PageRequest.of(0, 10), COMPARATORS)
+                .orElseThrow().getContent().stream().map(Vin::getId).toList();
+    }
+
+    private static Vin vin(Long id, String nom, String region, String cepage, String notes) {
+        return Vin.builder().id(id).nom(nom).region(region).cepage(cepage).notesDegustation(notes).build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinRecommendation;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("PairingMatrix Unit Tests")
+class PairingMatrixTest {
+
+    private static final String[] CEPAGES = {"Chardonnay", "Syrah", "Pinot Noir", "Gamay", null};
+
+    private final Random random = new Random(7);
+    private List<Plat> plats;
+    private List<Vin> vins;
+
+    @BeforeEach
+    void setUp() {
+        plats = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            plats.add(plat(id, id % 2 == 0 ? "Tartare de Truite" : "Bavette de boeuf", MenuType.SOUPER));
+        }
+        vins = new ArrayList<>();
+        for (long id = 1; id <= 120; id++) {
+            vins.add(randomVin(id));
+        }
+    }
+
+    // ==================== Score Tests ====================
+
+    @Test
+    @DisplayName("Should add accord, colour, grape and price band contributions")
+    void shouldAddScoreContributions() {
+        // Given
+        Plat plat = plat(1L, "Plat du jour", MenuType.LUNCH);
+        Vin accorde = vin(1L, CouleurVin.ROUGE, "Syrah", "45.00");
+        accorde.addPlat(plat);
+        Vin memeProfil = vin(2L, CouleurVin.ROUGE, "Syrah", "50.00");
+        Vin autreProfil = vin(3L, CouleurVin.BLANC, "Chardonnay", "150.00");
+
+        // When
+        PairingMatrix matrix = PairingMatrix.of(List.of(plat), List.of(accorde, memeProfil, autreProfil));
+
+        // Then
+        float sansAccord = PairingMatrix.COULEUR + PairingMatrix.CEPAGE + PairingMatrix.PRIX;
+        assertThat(matrix.score(1L, 1L)).isCloseTo(PairingMatrix.ACCORD + sansAccord, within(1e-6f));
+        assertThat(matrix.score(1L, 2L)).isCloseTo(sansAccord, within(1e-6f));
+        assertThat(matrix.score(1L, 3L)).isZero();
+        assertThat(matrix.score(1L, 99L)).isNaN();
+    }
+
+    @Test
+    @DisplayName("Should fall back to ingredient keywords for plats without accords")
+    void shouldFallBackToKeywordsWithoutAccords() {
+        // Given
+        Plat truite = plat(1L, "Tartare de Truite", MenuType.LUNCH);
+        Plat dessert = plat(2L, "Gâteau au chocolat", MenuType.DESSERT);
+        Vin blanc = vin(1L, CouleurVin.BLANC, null, "40.00");
+        Vin rouge = vin(2L, CouleurVin.ROUGE, null, "40.00");
+        Vin liquoreux = vin(3L, CouleurVin.LIQUOREUX, null, "40.00");
+
+        // When
+        PairingMatrix matrix = PairingMatrix.of(List.of(truite, dessert), List.of(blanc, rouge, liquoreux));
+
+        // Then
+        assertThat(matrix.score(1L, 1L)).isGreaterThan(matrix.score(1L, 2L));
+        assertThat(matrix.score(2L, 3L)).isGreaterThan(matrix.score(2L, 1L));
+    }
+
+    // ==================== Top-K Tests ====================
+
+    @Test
+    @DisplayName("Should return the same top K as a full sort, with budget and colour filters")
+    void shouldReturnSameTopKAsFullSort() {
+        // Given
+        accordRandomly();
+        PairingMatrix matrix = PairingMatrix.of(plats, vins);
+
+        // When & Then
+        for (Plat plat : plats) {
+            for (CouleurVin couleur : new CouleurVin[]{null, CouleurVin.ROUGE}) {
+                for (Long budget : new Long[]{null, 5_000L}) {
+                    List<VinRecommendation> top = matrix.recommend(plat.getId(), 5, budget, couleur).orElseThrow();
+                    assertThat(top).extracting(r -> r.vin().id())
+                            .as("plat %d, %s, %s", plat.getId(), couleur, budget)
+                            .containsExactlyElementsOf(bruteForce(matrix, plat.getId(), 5, budget, couleur));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should return empty for an unknown plat")
+    void shouldReturnEmptyForUnknownPlat() {
+        PairingMatrix matrix = PairingMatrix.of(plats, vins);
+
+        assertThat(matrix.recommend(999L, 5, null, null)).isEmpty();
+    }
+
+    // ==================== Incremental update Tests ====================
+
+    @Test
+    @DisplayName("Should give the same scores after incremental updates as after a full rebuild")
+    void shouldStayConsistentAfterIncrementalUpdates() {
+        // Given
+        accordRandomly();
+        PairingMatrix matrix = PairingMatrix.of(plats, vins);
+
+        // When - modifications, nouveaux accords, ajouts en fin et insertion au milieu
+        for (int i = 0; i < 40; i++) {
+            long id = i % 4 == 0 ? 121 + i : 1 + random.nextInt(120);
+            Vin vin = randomVin(id);
+            if (random.nextBoolean()) {
+                vin.addPlat(plats.get(random.nextInt(plats.size())));
+            }
+            vins.removeIf(v -> v.getId() == id);
+            vins.add(vin);
+            matrix = matrix.withVin(vin);
+        }
+        Vin middle = randomVin(500);
+        middle.addPlat(plats.get(0));
+        vins.add(middle);
+        matrix = matrix.withVin(middle);
+        Vin inserted = randomVin(122);
+        vins.add(inserted);
+        matrix = matrix.withVin(inserted);
+
+        // Then
+        PairingMatrix rebuilt = PairingMatrix.of(plats, vins);
+        assertThat(matrix.vins()).isEqualTo(rebuilt.vins());
+        for (Plat plat : plats) {
+            for (Vin vin : vins) {
+                assertThat(matrix.score(plat.getId(), vin.getId()))
+                        .as("plat %d, vin %d", plat.getId(), vin.getId())
+                        .isCloseTo(rebuilt.score(plat.getId(), vin.getId()), within(1e-5f));
+            }
+        }
+    }
+
+    private List<Long> bruteForce(PairingMatrix matrix, long platId, int k, Long budget, CouleurVin couleur) {
+        return vins.stream()
+                .filter(vin -> couleur == null || vin.getCouleur() == couleur)
+                .filter(vin -> budget == null
+                        || (vin.getPrix() != null && VinColumnIndex.toCents(vin.getPrix()) <= budget))
+                .sorted(Comparator.comparing((Vin vin) -> -matrix.score(platId, vin.getId())).thenComparing(Vin::getId))
+                .limit(k)
+                .map(Vin::getId)
+                .toList();
+    }
+
+    private void accordRandomly() {
+        for (Vin vin : vins) {
+            if (random.nextInt(4) == 0) {
+                vin.addPlat(plats.get(random.nextInt(plats.size())));
+            }
+        }
+    }
+
+    private Vin randomVin(long id) {
+        return vin(id,
+                random.nextInt(10) == 0 ? null : CouleurVin.values()[random.nextInt(CouleurVin.values().length)],
+                CEPAGES[random.nextInt(CEPAGES.length)],
+                random.nextInt(8) == 0 ? null : BigDecimal.valueOf(500 + random.nextInt(15000), 2).toPlainString());
+    }
+
+    private static Vin vin(long id, CouleurVin couleur, String cepage, String prix) {
+        return Vin.builder()
+                .id(id)
+                .nom("Vin " + id)
+                .region("Loire")
+                .couleur(couleur)
+                .cepage(cepage)
+                .prix(prix == null ? null : new BigDecimal(prix))
+                .build();
+    }
+
+    private static Plat plat(long id, String nom, MenuType menu) {
+        Plat plat = new Plat();
+        plat.setId(id);
+        plat.setNom(nom);
+        plat.setTypesMenu(Set.of(menu));
+        return plat;
+    }
+}
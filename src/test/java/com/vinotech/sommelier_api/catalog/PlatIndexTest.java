@@ -0,0 +1,151 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.PlatView;
+import com.vinotech.sommelier_api.model.Allergene;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PlatIndex Unit Tests")
+class PlatIndexTest {
+
+    private PlatRepository platRepository;
+    private PlatIndex index;
+
+    @BeforeEach
+    void setUp() {
+        platRepository = mock(PlatRepository.class);
+        when(platRepository.findAllViews()).thenReturn(List.of(
+                plat(1L, "Soja, Gluten", "", MenuType.LUNCH, MenuType.SOUPER),
+                plat(2L, "Viande, Produits laitiers, Gluten, Moutarde", "Gluten", MenuType.SOUPER),
+                plat(3L, "", "", MenuType.SOUPER),
+                plat(4L, null, null),
+                plat(5L, "Œufs, produits LAITIERS ", "Produits Laitiers, Soja", MenuType.DESSERT, MenuType.SOUPER),
+                plat(6L, "Gluten, Céleri", "", MenuType.LUNCH),
+                plat(7L, "Kiwi", "Kiwi", MenuType.LUNCH)));
+        index = new PlatIndex(platRepository);
+    }
+
+    // ==================== Parsing Tests ====================
+
+    @Test
+    @DisplayName("Should parse labels ignoring case, accents and spaces, and report unknown ones")
+    void shouldParseLabels() {
+        List<String> unknown = new ArrayList<>();
+
+        long mask = Allergene.parseMask(" Produits laitiers,OEUFS, Sésame,, Céleri ", unknown::add);
+        long inconnu = Allergene.parseMask("Lupin, Kiwi", unknown::add);
+
+        assertThat(mask).isEqualTo(Allergene.maskOf(EnumSet.of(Allergene.PRODUITS_LAITIERS, Allergene.OEUFS,
+                Allergene.SESAME, Allergene.CELERI)));
+        assertThat(inconnu).isEqualTo(Allergene.LUPIN.bit() | Allergene.UNKNOWN);
+        assertThat(unknown).containsExactly("Kiwi");
+        assertThat(Allergene.parseMask(null, null)).isZero();
+        assertThat(Allergene.parseMask("  ", null)).isZero();
+    }
+
+    // ==================== Filter Tests ====================
+
+    @Test
+    @DisplayName("Should exclude plats containing any of the given allergens")
+    void shouldExcludePlatsWithAllergens() {
+        // When
+        List<PlatView> sansGluten = index.platsSans(Set.of(Allergene.GLUTEN), false);
+        List<PlatView> sansLaitNiSoja = index.platsSans(Set.of(Allergene.PRODUITS_LAITIERS, Allergene.SOJA), false);
+
+        // Then
+        assertThat(sansGluten).extracting(PlatView::id).containsExactly(3L, 4L, 5L);
+        assertThat(sansLaitNiSoja).extracting(PlatView::id).containsExactly(3L, 4L, 6L);
+    }
+
+    @Test
+    @DisplayName("Should keep plats whose excluded allergens can all be removed when asked to")
+    void shouldKeepModifiablePlats() {
+        // When
+        List<PlatView> sansGluten = index.platsSans(Set.of(Allergene.GLUTEN), true);
+        List<PlatView> sansLaitNiOeufs = index.platsSans(Set.of(Allergene.PRODUITS_LAITIERS, Allergene.OEUFS), true);
+
+        // Then - le plat 5 garde ses oeufs, qui ne sont pas modifiables ; un soja "modifiable" absent est ignoré
+        assertThat(sansGluten).extracting(PlatView::id).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(sansLaitNiOeufs).extracting(PlatView::id).containsExactly(1L, 3L, 4L, 6L);
+    }
+
+    @Test
+    @DisplayName("Should exclude plats with an unknown allergen label from any allergen filter")
+    void shouldExcludeUnknownAllergens() {
+        // When
+        List<PlatView> sansNoix = index.platsSans(Set.of(Allergene.NOIX), false);
+        List<PlatView> sansNoixModifiables = index.platsSans(Set.of(Allergene.NOIX), true);
+        Page<PlatView> lunch = index.menu(MenuType.LUNCH, Set.of(), false, Pageable.unpaged());
+        Page<PlatView> lunchSansCeleri = index.menu(MenuType.LUNCH, Set.of(Allergene.CELERI), true, Pageable.unpaged());
+
+        // Then - le plat 7 ("Kiwi") peut contenir n'importe quoi, même si le libellé est déclaré modifiable
+        assertThat(sansNoix).extracting(PlatView::id).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(sansNoixModifiables).extracting(PlatView::id).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(lunch.getContent()).extracting(PlatView::id).containsExactly(1L, 6L, 7L);
+        assertThat(lunchSansCeleri.getContent()).extracting(PlatView::id).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should return every plat for an empty exclusion and build the table once until invalidated")
+    void shouldBuildTableOnce() {
+        // When
+        assertThat(index.platsSans(Set.of(), false)).hasSize(7);
+        index.platsSans(Set.of(Allergene.NOIX), false);
+
+        // Then
+        verify(platRepository, times(1)).findAllViews();
+
+        index.invalidate();
+        index.platsSans(Set.of(Allergene.NOIX), false);
+        verify(platRepository, times(2)).findAllViews();
+    }
+
+    // ==================== Menu Tests ====================
+
+    @Test
+    @DisplayName("Should page through the plats of a menu in id order")
+    void shouldPageThroughMenu() {
+        // When
+        Page<PlatView> first = index.menu(MenuType.SOUPER, Set.of(), false, PageRequest.of(0, 3));
+        Page<PlatView> last = index.menu(MenuType.SOUPER, Set.of(), false, PageRequest.of(1, 3));
+        Page<PlatView> beyond = index.menu(MenuType.SOUPER, Set.of(), false, PageRequest.of(5, 3));
+
+        // Then
+        assertThat(first.getContent()).extracting(PlatView::id).containsExactly(1L, 2L, 3L);
+        assertThat(last.getContent()).extracting(PlatView::id).containsExactly(5L);
+        assertThat(first.getTotalElements()).isEqualTo(4);
+        assertThat(beyond.getContent()).isEmpty();
+        assertThat(index.menu(MenuType.BRUNCH, Set.of(), false, Pageable.unpaged()).getTotalElements()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should combine the menu partition with the allergen filter")
+    void shouldCombineMenuAndAllergens() {
+        // When
+        Page<PlatView> sansGluten = index.menu(MenuType.SOUPER, Set.of(Allergene.GLUTEN), false, Pageable.unpaged());
+        Page<PlatView> modifiables = index.menu(MenuType.SOUPER, Set.of(Allergene.GLUTEN), true, PageRequest.of(0, 2));
+
+        // Then
+        assertThat(sansGluten.getContent()).extracting(PlatView::id).containsExactly(3L, 5L);
+        assertThat(modifiables.getContent()).extracting(PlatView::id).containsExactly(2L, 3L);
+        assertThat(modifiables.getTotalElements()).isEqualTo(3);
+    }
+
+    private static PlatView plat(long id, String allergenes, String modifiables, MenuType... menus) {
+        return new PlatView(id, "Plat " + id, "", allergenes, modifiables, null).withTypesMenu(Set.of(menus));
+    }
+}
@@ -0,0 +1,77 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinotech.sommelier_api.model.Vin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latence de {@code /api/vins/suggest} sur le dictionnaire : le catalogue livré, puis des copies aux noms distincts
+ * jusqu'à plus de 10k vins. Les préfixes vont d'une à six lettres, tirés des valeurs du catalogue.
+ * <p>
+ * Exclu du build par défaut ; à lancer avec {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("SuggestIndex Benchmark")
+class SuggestIndexBenchmarkTest {
+
+    private static final int[] COPIES = {1, 10, 100};
+    private static final int QUERIES = 100_000;
+
+    @Test
+    @DisplayName("Should report the build time and the latency percentiles of a suggestion")
+    void benchmark() throws IOException {
+        List<Vin> bundled;
+        try (InputStream json = new ClassPathResource("vins.json").getInputStream()) {
+            bundled = new ObjectMapper().readValue(json, new TypeReference<List<Vin>>() {});
+        }
+        System.out.printf("%-8s %10s %10s %10s %10s%n", "vins", "build ms", "p50 µs", "p99 µs", "max µs");
+        for (int copies : COPIES) {
+            List<Vin> vins = new ArrayList<>();
+            long id = 1;
+            for (int c = 0; c < copies; c++) {
+                for (Vin vin : bundled) {
+                    vins.add(Vin.builder().id(id++).nom(c == 0 ? vin.getNom() : vin.getNom() + " " + c)
+                            .region(vin.getRegion()).cepage(vin.getCepage()).build());
+                }
+            }
+            run(vins);
+        }
+    }
+
+    private static void run(List<Vin> vins) {
+        long start = System.nanoTime();
+        SuggestIndex index = SuggestIndex.build(1, vins);
+        long built = System.nanoTime();
+
+        Random random = new Random(42);
+        String[] prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String nom = vins.get(random.nextInt(vins.size())).getNom();
+            prefixes[i] = nom.substring(0, Math.min(nom.length(), 1 + random.nextInt(6)));
+        }
+        long found = 0;
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long before = System.nanoTime();
+            found += index.suggest(prefixes[i % prefixes.length], 10).size();
+            nanos[i] = System.nanoTime() - before;
+        }
+        Arrays.sort(nanos);
+        assertThat(found).isPositive();
+        System.out.printf("%-8d %10.1f %10.1f %10.1f %10.1f%n", vins.size(), (built - start) / 1e6,
+                nanos[QUERIES / 2] / 1e3, nanos[QUERIES * 99 / 100] / 1e3, nanos[QUERIES - 1] / 1e3);
+    }
+}
@@ -0,0 +1,93 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinotech.sommelier_api.model.Vin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of a free-text search ({@code q}) on the in-memory snapshot: the bundled catalog, then copies of it
+ * up to 10k+ wines, against the substring scan that {@code LIKE} would do.
+ * <p>
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("TextIndex Benchmark")
+class TextIndexBenchmarkTest {
+
+    private static final VinComparators COMPARATORS = VinComparators.forCollation("en-US");
+    private static final int[] COPIES = {1, 10, 100};
+    private static final List<String> QUERIES = List.of("brioché bulles", "gamay léger", "fruits rouges", "minéral");
+    private static final int ROUNDS = 2_000;
+
+    @Test
+    @DisplayName("Should report the mean search time per query")
+    void benchmark() throws IOException {
+        List<Vin> bundled;
+        try (InputStream json = new ClassPathResource("vins.json").getInputStream()) {
+            bundled = new ObjectMapper().readValue(json, new TypeReference<List<Vin>>() {});
+        }
+        System.out.printf("%-8s %14s %14s %14s%n", "vins", "build ms", "q µs", "scan µs");
+        for (int copies : COPIES) {
+            List<Vin> vins = new ArrayList<>();
+            long id = 1;
+            for (int c = 0; c < copies; c++) {
+                for (Vin vin : bundled) {
+                    vins.add(Vin.builder().id(id++).nom(vin.getNom()).region(vin.getRegion()).prix(vin.getPrix())
+                            .couleur(vin.getCouleur()).cepage(vin.getCepage())
+                            .notesDegustation(vin.getNotesDegustation()).build());
+                }
+            }
+            run(vins);
+        }
+    }
+
+    private static void run(List<Vin> vins) {
+        long start = System.nanoTime();
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, vins);
+        long built = System.nanoTime();
+
+        long found = 0;
+        long searchNanos = 0;
+        long scanNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            String q = QUERIES.get(round % QUERIES.size());
+            long before = System.nanoTime();
+            found += snapshot.search(new VinFilter(null, null, null, null, q), PageRequest.of(0, 20), COMPARATORS)
+                    .orElseThrow().getTotalElements();
+            long searched = System.nanoTime();
+            found += scan(vins, q);
+            scanNanos += System.nanoTime() - searched;
+            searchNanos += searched - before;
+        }
+        assertThat(found).isPositive();
+        System.out.printf("%-8d %14.1f %14.1f %14.1f%n", vins.size(), (built - start) / 1e6,
+                searchNanos / 1e3 / ROUNDS, scanNanos / 1e3 / ROUNDS);
+    }
+
+    // Ce que fait LIKE '%mot%' sur chaque colonne : un parcours complet, sans classement
+    private static long scan(List<Vin> vins, String q) {
+        String[] words = q.toLowerCase().split(" ");
+        return vins.stream().filter(vin -> {
+            String text = (vin.getNom() + " " + vin.getNotesDegustation() + " " + vin.getCepage() + " "
+                    + vin.getRegion()).toLowerCase();
+            for (String word : words) {
+                if (!text.contains(word)) {
+                    return false;
+                }
+            }
+            return true;
+        }).count();
+    }
+}
@@ -0,0 +1,133 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.model.Vin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TextIndex Tests")
+class TextIndexTest {
+
+    private static final VinComparators COMPARATORS = VinComparators.forCollation("en-US");
+
+    private static final List<Vin> VINS = List.of(
+            vin(1L, "Champagne Brut", "Champagne", "Chardonnay", "Bulles fines, notes briochées et beurrées"),
+            vin(2L, "Morgon", "Beaujolais", "Gamay", "Fruits rouges, léger et gouleyant"),
+            vin(3L, "Crémant de Loire", "Loire", "Chenin", "Bulle vive, pomme verte"),
+            vin(4L, "Fleurie", "Beaujolais", "Gamay", "Floral, soyeux"),
+            vin(5L, "Brioche", "Alsace", "Riesling", "Minéral"));
+
+    // ==================== Analyzer Tests ====================
+
+    @Test
+    @DisplayName("Should fold accents and case, drop stop words and strip plural and feminine endings")
+    void shouldAnalyzeFrenchText() {
+        assertThat(TextAnalyzer.terms("Bulles briochées, LÉGÈRES et Cœur de bœuf"))
+                .containsExactly("bull", "brioch", "leger", "coeur", "boeuf");
+        assertThat(TextAnalyzer.terms("brioché bulle léger")).containsExactly("brioch", "bull", "leger");
+        assertThat(TextAnalyzer.terms("vin sec")).containsExactly("vin", "sec");
+        assertThat(TextAnalyzer.terms("  ")).isEmpty();
+        assertThat(TextAnalyzer.terms(null)).isEmpty();
+    }
+
+    // ==================== Ranking Tests ====================
+
+    @Test
+    @DisplayName("Should keep only the wines containing every term")
+    void shouldMatchAllTerms() {
+        // When
+        TextIndex.Ranking ranking = TextIndex.build(VINS).rank(TextAnalyzer.terms("gamay léger"));
+
+        // Then
+        assertThat(ranking.matches().stream().toArray()).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should rank a term in the name above the same term in the tasting notes")
+    void shouldWeighNameAboveNotes() {
+        // When
+        TextIndex.Ranking ranking = TextIndex.build(VINS).rank(TextAnalyzer.terms("brioché"));
+
+        // Then : Brioche (nom) devant le Champagne (notes)
+        assertThat(ranking.matches().stream().toArray()).containsExactly(0, 4);
+        assertThat(ranking.scores()[4]).isGreaterThan(ranking.scores()[0]);
+    }
+
+    @Test
+    @DisplayName("Should match nothing when a term is unknown")
+    void shouldMatchNothingForUnknownTerm() {
+        TextIndex.Ranking ranking = TextIndex.build(VINS).rank(TextAnalyzer.terms("gamay tannique"));
+
+        assertThat(ranking.matches().isEmpty()).isTrue();
+    }
+
+    // ==================== Incremental update Tests ====================
+
+    @Test
+    @DisplayName("Should rank exactly like a full rebuild after replacing and appending rows")
+    void shouldMatchRebuildAfterIncrementalUpdates() {
+        // Given
+        List<Vin> updated = new ArrayList<>(VINS);
+        updated.set(1, vin(2L, "Morgon", "Beaujolais", "Gamay", "Charnu, épicé"));
+        updated.add(vin(6L, "Saint-Amour", "Beaujolais", "Gamay", "Léger, bulles"));
+
+        // When
+        TextIndex incremental = TextIndex.build(VINS).withRow(1, updated.get(1)).withRow(5, updated.get(5));
+        TextIndex rebuilt = TextIndex.build(updated);
+
+        // Then
+        for (String q : List.of("gamay", "léger", "bulles", "épicé", "gamay leger")) {
+            TextIndex.Ranking expected = rebuilt.rank(TextAnalyzer.terms(q));
+            TextIndex.Ranking actual = incremental.rank(TextAnalyzer.terms(q));
+            assertThat(actual.matches()).as(q).isEqualTo(expected.matches());
+            assertThat(actual.scores()).as(q).containsExactly(expected.scores());
+        }
+        assertThat(incremental.rank(TextAnalyzer.terms("gouleyant")).matches().isEmpty()).isTrue();
+    }
+
+    // ==================== Snapshot search Tests ====================
+
+    @Test
+    @DisplayName("Should order a free-text search by relevance unless a sort is requested")
+    void shouldOrderByRelevanceWithoutSort() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, VINS);
+        VinFilter bulles = new VinFilter(null, null, null, null, "Bulles");
+
+        // When
+        Page<Vin> byRelevance = snapshot.search(bulles, PageRequest.of(0, 10), COMPARATORS).orElseThrow();
+        Page<Vin> byNom = snapshot.search(bulles, PageRequest.of(0, 10, Sort.by("nom")), COMPARATORS).orElseThrow();
+
+        // Then
+        assertThat(byRelevance.getTotalElements()).isEqualTo(2);
+        assertThat(byRelevance.getContent()).extracting(Vin::getId).containsExactly(3L, 1L);
+        assertThat(byNom.getContent()).extracting(Vin::getNom).containsExactly("Champagne Brut", "Crémant de Loire");
+    }
+
+    @Test
+    @DisplayName("Should find a saved wine by its new text through the copy-on-write snapshot")
+    void shouldIndexSavedWine() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, VINS);
+
+        // When
+        CatalogSnapshot next = snapshot.withVin(2, vin(4L, "Fleurie", "Beaujolais", "Gamay", "Bulles surprenantes"));
+
+        // Then
+        VinFilter bulles = new VinFilter(null, null, null, "beaujolais", "bulles");
+        assertThat(next.search(bulles, PageRequest.of(0, 10), COMPARATORS).orElseThrow().getContent())
+                .extracting(Vin::getId).containsExactly(4L);
+        assertThat(snapshot.search(bulles, PageRequest.of(0, 10), COMPARATORS).orElseThrow().getContent()).isEmpty();
+    }
+
+    private static Vin vin(Long id, String nom, String region, String cepage, String notes) {
+        return Vin.builder().id(id).nom(nom).region(region).cepage(cepage).notesDegustation(notes).build();
+    }
+}
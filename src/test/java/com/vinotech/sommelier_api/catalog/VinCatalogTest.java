@@ -0,0 +1,188 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VinCatalog Unit Tests")
+class VinCatalogTest {
+
+    @Mock
+    private VinRepository vinRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VinCatalog vinCatalog;
+
+    private Vin margaux;
+    private Vin chablis;
+    private Vin champagne;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        vinCatalog = new VinCatalog(vinRepository, meterRegistry, true, "en-US");
+
+        margaux = Vin.builder().id(1L).nom("Château Margaux").prix(new BigDecimal("150.00"))
+                .region("Bordeaux").couleur(CouleurVin.ROUGE).cepage("Cabernet Sauvignon").build();
+        chablis = Vin.builder().id(2L).nom("Chablis Grand Cru").prix(new BigDecimal("85.50"))
+                .region("Bourgogne").couleur(CouleurVin.BLANC).cepage("Chardonnay").build();
+        champagne = Vin.builder().id(3L).nom("Champagne Brut").prix(new BigDecimal("60.00"))
+                .region("Champagne").couleur(CouleurVin.EFFERVESCENT).cepage("Pinot Noir").build();
+    }
+
+    // ==================== Snapshot loading Tests ====================
+
+    @Test
+    @DisplayName("Should load the snapshot once and serve subsequent reads from memory")
+    void shouldLoadSnapshotOnceAndServeFromMemory() {
+        // Given
+        when(vinRepository.findAllWithAccords()).thenReturn(List.of(champagne, margaux, chablis));
+
+        // When
+        List<Vin> first = vinCatalog.findAll();
+        List<Vin> second = vinCatalog.findAll();
+
+        // Then - triés par id, une seule requête
+        assertThat(first).extracting(Vin::getId).containsExactly(1L, 2L, 3L);
+        assertThat(second).isSameAs(first);
+        verify(vinRepository, times(1)).findAllWithAccords();
+        assertThat(meterRegistry.counter("catalog.snapshot.requests", "result", "miss").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("catalog.snapshot.requests", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("catalog.snapshot.rebuild").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should expose an unmodifiable list of detached copies")
+    void shouldExposeUnmodifiableDetachedCopies() {
+        // Given
+        when(vinRepository.findAllWithAccords()).thenReturn(List.of(margaux));
+
+        // When
+        List<Vin> result = vinCatalog.findAll();
+        margaux.setNom("Modifié après chargement");
+
+        // Then
+        assertThat(result.get(0)).isNotSameAs(margaux);
+        assertThat(result.get(0).getNom()).isEqualTo("Château Margaux");
+        assertThatThrownBy(() -> result.add(chablis)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should reload the snapshot after invalidate")
+    void shouldReloadSnapshotAfterInvalidate() {
+        // Given
+        when(vinRepository.findAllWithAccords()).thenReturn(List.of(margaux), List.of(margaux, chablis));
+        vinCatalog.findAll();
+
+        // When
+        vinCatalog.invalidate();
+
+        // Then
+        assertThat(vinCatalog.findAll()).hasSize(2);
+        verify(vinRepository, times(2)).findAllWithAccords();
+    }
+
+    // ==================== Copy-on-write Tests ====================
+
+    @Test
+    @DisplayName("Should publish a new snapshot on save without touching the previous one")
+    void shouldPublishNewSnapshotOnSave() {
+        // Given
+        when(vinRepository.findAllWithAccords()).thenReturn(List.of(margaux, chablis));
+        List<Vin> before = vinCatalog.findAll();
+        Vin updated = Vin.builder().id(2L).nom("Chablis Premier Cru").prix(new BigDecimal("70.00"))
+                .region("Bourgogne").couleur(CouleurVin.BLANC).build();
+
+        // When
+        vinCatalog.onVinSaved(updated);
+        vinCatalog.onVinSaved(champagne);
+        List<Vin> after = vinCatalog.findAll();
+
+        // Then
+        assertThat(before).extracting(Vin::getNom).containsExactly("Château Margaux", "Chablis Grand Cru");
+        assertThat(after).extracting(Vin::getNom)
+                .containsExactly("Château Margaux", "Chablis Premier Cru", "Champagne Brut");
+        verify(vinRepository, times(1)).findAllWithAccords();
+    }
+
+    @Test
+    @DisplayName("Should ignore saves before the snapshot is built")
+    void shouldIgnoreSavesBeforeSnapshotIsBuilt() {
+        // Given
+        vinCatalog.onVinSaved(margaux);
+        when(vinRepository.findAllWithAccords()).thenReturn(List.of(margaux));
+
+        // When & Then
+        assertThat(vinCatalog.findAll()).hasSize(1);
+    }
+
+    // ==================== findById() Tests ====================
+
+    @Test
+    @DisplayName("Should fall back to the repository for ids missing from the snapshot")
+    void shouldFallBackToRepositoryForMissingIds() {
+        // Given
+        when(vinRepository.findAllWithAccords()).thenReturn(List.of(margaux));
+        vinCatalog.findAll();
+        when(vinRepository.findById(42L)).thenReturn(Optional.empty());
+
+        // When
+        Optional<Vin> found = vinCatalog.findById(1L);
+        Optional<Vin> missing = vinCatalog.findById(42L);
+
+        // Then
+        assertThat(found).map(Vin::getNom).contains("Château Margaux");
+        assertThat(missing).isEmpty();
+        verify(vinRepository, never()).findById(1L);
+        verify(vinRepository, times(1)).findById(42L);
+    }
+
+    // ==================== search() Tests ====================
+
+    @Test
+    @DisplayName("Should filter, sort and page like the JPA specification")
+    void shouldFilterSortAndPage() {
+        // Given
+        Vin sansPrix = Vin.builder().id(4L).nom("Sans prix").region("Bordeaux").couleur(CouleurVin.ROUGE).build();
+        when(vinRepository.findAllWithAccords()).thenReturn(List.of(margaux, chablis, champagne, sansPrix));
+
+        // When
+        Page<Vin> page = vinCatalog.search(new VinFilter(null, 60.0, 150.0, "B"),
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "prix"))).orElseThrow();
+
+        // Then - le vin sans prix est exclu par les bornes, la région est comparée sans casse
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(Vin::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should return empty when the sort property is not supported in memory")
+    void shouldReturnEmptyForUnsupportedSort() {
+        // Given
+        when(vinRepository.findAllWithAccords()).thenReturn(List.of(margaux));
+
+        // When & Then
+        assertThat(vinCatalog.search(new VinFilter(null, null, null, null),
+                PageRequest.of(0, 10, Sort.by("platsAccordes")))).isEmpty();
+    }
+}
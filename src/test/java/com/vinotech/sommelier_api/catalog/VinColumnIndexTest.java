@@ -0,0 +1,323 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinFacets;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Vin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VinColumnIndex Unit Tests")
+class VinColumnIndexTest {
+
+    private static final VinComparators COMPARATORS = VinComparators.forCollation("en-US");
+    private static final String[] REGIONS = {"Bordeaux", "Bourgogne", "Loire", "Espagne (Entre Vinyes)", "ON, Canada"};
+    private static final String[] CEPAGES = {"Gamay", "gamay", "Chardonnay", "Pinot Noir", ""};
+
+    private final Random random = new Random(42);
+    private List<Vin> catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            catalog.add(randomVin(id));
+        }
+    }
+
+    // ==================== Filter Tests ====================
+
+    @Test
+    @DisplayName("Should match the JPA specification semantics for every filter combination")
+    void shouldMatchReferenceSemantics() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, catalog);
+
+        // When & Then
+        for (VinFilter filter : filters()) {
+            assertSameResults(snapshot, filter, PageRequest.of(0, 500));
+        }
+    }
+
+    @Test
+    @DisplayName("Should include both price bounds")
+    void shouldIncludeBothPriceBounds() {
+        // Given
+        List<Vin> vins = List.of(
+                Vin.builder().id(1L).nom("A").region("R").prix(new BigDecimal("60.00")).build(),
+                Vin.builder().id(2L).nom("B").region("R").prix(new BigDecimal("85.50")).build(),
+                Vin.builder().id(3L).nom("C").region("R").prix(new BigDecimal("85.51")).build());
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, vins);
+
+        // When
+        Page<Vin> page = snapshot.search(new VinFilter(null, 60.0, 85.5, null), PageRequest.of(0, 10), COMPARATORS)
+                .orElseThrow();
+
+        // Then
+        assertThat(page.getContent()).extracting(Vin::getId).containsExactly(1L, 2L);
+    }
+
+    // ==================== Facet Tests ====================
+
+    @Test
+    @DisplayName("Should count each facet over the wines matching every criterion but its own")
+    void shouldCountFacetsLikeReference() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, catalog);
+
+        // When & Then
+        for (VinFilter filter : filters()) {
+            assertSameFacets(snapshot, filter);
+        }
+    }
+
+    @Test
+    @DisplayName("Should expose every colour and price bucket, and group values ignoring case")
+    void shouldListFacetValues() {
+        // Given
+        List<Vin> vins = List.of(
+                Vin.builder().id(1L).nom("A").region("Loire").cepage("Gamay").couleur(CouleurVin.ROUGE)
+                        .prix(new BigDecimal("24.99")).build(),
+                Vin.builder().id(2L).nom("B").region("LOIRE").cepage("gamay").couleur(CouleurVin.ROUGE)
+                        .prix(new BigDecimal("25.00")).build(),
+                Vin.builder().id(3L).nom("C").region("Alsace").cepage("Riesling").couleur(CouleurVin.BLANC)
+                        .prix(new BigDecimal("250.00")).build());
+
+        // When
+        VinFacets facets = CatalogSnapshot.of(1, vins).facets(new VinFilter(CouleurVin.ROUGE, null, null, null));
+
+        // Then
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.couleurs()).containsOnlyKeys(CouleurVin.values());
+        assertThat(facets.couleurs()).containsEntry(CouleurVin.ROUGE, 2).containsEntry(CouleurVin.BLANC, 1);
+        assertThat(facets.regions()).containsExactly(new VinFacets.Value("Loire", 2));
+        assertThat(facets.cepages()).containsExactly(new VinFacets.Value("Gamay", 2));
+        assertThat(facets.prix()).containsExactly(
+                new VinFacets.PrixBucket(null, new BigDecimal("25.00"), 1),
+                new VinFacets.PrixBucket(new BigDecimal("25.00"), new BigDecimal("50.00"), 1),
+                new VinFacets.PrixBucket(new BigDecimal("50.00"), new BigDecimal("100.00"), 0),
+                new VinFacets.PrixBucket(new BigDecimal("100.00"), new BigDecimal("200.00"), 0),
+                new VinFacets.PrixBucket(new BigDecimal("200.00"), null, 0));
+    }
+
+    @Test
+    @DisplayName("Should restrict facets to the free-text matches")
+    void shouldRestrictFacetsToFreeText() {
+        // Given
+        List<Vin> vins = List.of(
+                Vin.builder().id(1L).nom("Morgon").region("Beaujolais").cepage("Gamay").build(),
+                Vin.builder().id(2L).nom("Chablis").region("Bourgogne").cepage("Chardonnay").build());
+
+        // When
+        VinFacets facets = CatalogSnapshot.of(1, vins).facets(new VinFilter(null, null, null, null, "morgon"));
+
+        // Then
+        assertThat(facets.total()).isEqualTo(1);
+        assertThat(facets.regions()).containsExactly(new VinFacets.Value("Beaujolais", 1));
+    }
+
+    // ==================== Sort & Pagination Tests ====================
+
+    @Test
+    @DisplayName("Should page in the same order as the comparator for index-backed and generic sorts")
+    void shouldPageInComparatorOrder() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, catalog);
+        VinFilter filter = new VinFilter(null, 20.0, null, "o");
+        List<Sort> sorts = List.of(Sort.unsorted(), Sort.by("id"), Sort.by(Sort.Direction.DESC, "id"),
+                Sort.by("prix"), Sort.by(Sort.Direction.DESC, "prix"), Sort.by("nom"),
+                Sort.by("couleur", "prix"));
+
+        // When & Then
+        for (Sort sort : sorts) {
+            for (int page = 0; page < 4; page++) {
+                assertSameResults(snapshot, filter, PageRequest.of(page, 17, sort));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should sort names and regions like the database collation, letters before case and accents")
+    void shouldSortTextInCollationOrder() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, List.of(
+                Vin.builder().id(1L).nom("Zinfandel").region("Sonoma").build(),
+                Vin.builder().id(2L).nom("éclat").region("Alsace").build(),
+                Vin.builder().id(3L).nom("abbaye").region("Bordeaux").build(),
+                Vin.builder().id(4L).nom("Ébène").region("état de Washington").build(),
+                Vin.builder().id(5L).nom("Beaujolais").region("Élqui").build(),
+                Vin.builder().id(6L).nom("Abbaye").region("bordeaux").build()));
+        VinFilter all = new VinFilter(null, null, null, null);
+
+        // When & Then - en points de code : Abbaye, Beaujolais, Zinfandel, abbaye, Ébène, éclat
+        assertThat(ids(snapshot.search(all, PageRequest.of(0, 10, Sort.by("nom")), COMPARATORS)))
+                .containsExactly(3L, 6L, 5L, 4L, 2L, 1L);
+        assertThat(ids(snapshot.search(all, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "nom")), COMPARATORS)))
+                .containsExactly(1L, 2L, 4L, 5L, 6L, 3L);
+        assertThat(ids(snapshot.search(all, PageRequest.of(0, 10, Sort.by("region")), COMPARATORS)))
+                .containsExactly(2L, 6L, 3L, 5L, 4L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should leave text sorts to the database when no collation is configured")
+    void shouldLeaveTextSortsToDatabaseWithoutCollation() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, catalog);
+        VinComparators withoutCollation = VinComparators.forCollation("");
+        VinFilter all = new VinFilter(null, null, null, null);
+
+        // When & Then
+        for (String property : List.of("nom", "region", "cepage", "notesDegustation")) {
+            assertThat(snapshot.search(all, PageRequest.of(0, 10, Sort.by(property)), withoutCollation))
+                    .as(property).isEmpty();
+        }
+        assertThat(snapshot.search(all, PageRequest.of(0, 10, Sort.by("couleur", "prix")), withoutCollation))
+                .isPresent();
+    }
+
+    // ==================== Incremental update Tests ====================
+
+    @Test
+    @DisplayName("Should give the same results after incremental updates as after a full rebuild")
+    void shouldStayConsistentAfterIncrementalUpdates() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, catalog);
+
+        // When - mises à jour, ajouts en fin et insertion au milieu
+        for (int i = 0; i < 100; i++) {
+            long id = i % 3 == 0 ? 301 + i : 1 + random.nextInt(300);
+            Vin vin = randomVin(id);
+            catalog.removeIf(v -> v.getId() == id);
+            catalog.add(vin);
+            snapshot = snapshot.withVin(i + 2, vin);
+        }
+        Vin middle = randomVin(1000);
+        catalog.add(middle);
+        snapshot = snapshot.withVin(200, middle);
+        snapshot = snapshot.withVin(201, randomVin(1001));
+        catalog.add(snapshot.findById(1001L).orElseThrow());
+
+        // Then
+        assertThat(snapshot.size()).isEqualTo(catalog.size());
+        for (VinFilter filter : filters()) {
+            assertSameResults(snapshot, filter, PageRequest.of(0, 1000, Sort.by("prix")));
+        }
+        assertSameFacets(snapshot, new VinFilter(CouleurVin.ROUGE, 35.5, null, "o"));
+    }
+
+    private void assertSameResults(CatalogSnapshot snapshot, VinFilter filter, Pageable pageable) {
+        List<Vin> expected = catalog.stream()
+                .filter(vin -> matches(filter, vin))
+                .sorted(COMPARATORS.of(pageable.getSort()).orElseThrow())
+                .toList();
+        Page<Vin> page = snapshot.search(filter, pageable, COMPARATORS).orElseThrow();
+        int from = (int) Math.min(pageable.getOffset(), expected.size());
+        int to = Math.min(from + pageable.getPageSize(), expected.size());
+
+        assertThat(page.getTotalElements()).as("total for %s", filter).isEqualTo(expected.size());
+        assertThat(page.getContent()).extracting(Vin::getId).as("content for %s %s", filter, pageable.getSort())
+                .containsExactlyElementsOf(expected.subList(from, to).stream().map(Vin::getId).toList());
+    }
+
+    private void assertSameFacets(CatalogSnapshot snapshot, VinFilter filter) {
+        VinFacets facets = snapshot.facets(filter);
+        List<Vin> anyCouleur = matching(new VinFilter(null, filter.minPrix(), filter.maxPrix(), filter.region()));
+        List<Vin> anyPrix = matching(new VinFilter(filter.couleur(), null, null, filter.region()));
+        List<Vin> anyRegion = matching(new VinFilter(filter.couleur(), filter.minPrix(), filter.maxPrix(), null));
+
+        Map<CouleurVin, Integer> couleurs = new EnumMap<>(CouleurVin.class);
+        for (CouleurVin couleur : CouleurVin.values()) {
+            couleurs.put(couleur, (int) anyCouleur.stream().filter(vin -> vin.getCouleur() == couleur).count());
+        }
+        List<Integer> prix = facets.prix().stream().map(bucket -> (int) anyPrix.stream()
+                .filter(vin -> vin.getPrix() != null
+                        && (bucket.min() == null || vin.getPrix().compareTo(bucket.min()) >= 0)
+                        && (bucket.max() == null || vin.getPrix().compareTo(bucket.max()) < 0))
+                .count()).toList();
+
+        assertThat(facets.total()).as("total for %s", filter).isEqualTo(matching(filter).size());
+        assertThat(facets.couleurs()).as("couleurs for %s", filter).isEqualTo(couleurs);
+        assertThat(facets.prix()).extracting(VinFacets.PrixBucket::count).as("prix for %s", filter)
+                .containsExactlyElementsOf(prix);
+        assertThat(counts(facets.regions())).as("regions for %s", filter).isEqualTo(counts(anyRegion, Vin::getRegion));
+        assertThat(counts(facets.cepages())).as("cepages for %s", filter)
+                .isEqualTo(counts(matching(filter), Vin::getCepage));
+    }
+
+    private List<Vin> matching(VinFilter filter) {
+        return catalog.stream().filter(vin -> matches(filter, vin)).toList();
+    }
+
+    private static Map<String, Integer> counts(List<VinFacets.Value> values) {
+        return values.stream().collect(Collectors.toMap(value -> value.value().toLowerCase(Locale.ROOT),
+                VinFacets.Value::count));
+    }
+
+    private static Map<String, Integer> counts(List<Vin> vins, Function<Vin, String> column) {
+        return vins.stream().map(column).filter(value -> value != null && !value.isBlank())
+                .collect(Collectors.groupingBy(value -> value.toLowerCase(Locale.ROOT), Collectors.summingInt(v -> 1)));
+    }
+
+    // Référence : traduction directe de la Specification de VinService.searchVins
+    private static boolean matches(VinFilter filter, Vin vin) {
+        if (filter.couleur() != null && filter.couleur() != vin.getCouleur()) {
+            return false;
+        }
+        if (filter.minPrix() != null
+                && (vin.getPrix() == null || vin.getPrix().compareTo(BigDecimal.valueOf(filter.minPrix())) < 0)) {
+            return false;
+        }
+        if (filter.maxPrix() != null
+                && (vin.getPrix() == null || vin.getPrix().compareTo(BigDecimal.valueOf(filter.maxPrix())) > 0)) {
+            return false;
+        }
+        return filter.region() == null || filter.region().isEmpty()
+                || vin.getRegion().toLowerCase(Locale.ROOT).contains(filter.region().toLowerCase(Locale.ROOT));
+    }
+
+    private List<VinFilter> filters() {
+        List<VinFilter> filters = new ArrayList<>();
+        for (CouleurVin couleur : new CouleurVin[]{null, CouleurVin.ROUGE, CouleurVin.LIQUOREUX}) {
+            for (Double min : new Double[]{null, 0.0, 35.5, 80.0}) {
+                for (Double max : new Double[]{null, 35.5, 120.0}) {
+                    for (String region : new String[]{null, "", "BOUR", "loire", "canada", "inconnue"}) {
+                        filters.add(new VinFilter(couleur, min, max, region));
+                    }
+                }
+            }
+        }
+        return filters;
+    }
+
+    private static List<Long> ids(Optional<Page<Vin>> page) {
+        return page.orElseThrow().getContent().stream().map(Vin::getId).toList();
+    }
+
+    private Vin randomVin(long id) {
+        return Vin.builder()
+                .id(id)
+                .nom("Vin " + random.nextInt(50))
+                .region(REGIONS[random.nextInt(REGIONS.length)])
+                .cepage(random.nextInt(8) == 0 ? null : CEPAGES[random.nextInt(CEPAGES.length)])
+                .prix(random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(20000), 2))
+                .couleur(random.nextInt(12) == 0 ? null : CouleurVin.values()[random.nextInt(CouleurVin.values().length)])
+                .build();
+    }
+}
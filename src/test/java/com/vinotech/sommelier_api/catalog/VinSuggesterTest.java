@@ -0,0 +1,124 @@
+package com.vinotech.sommelier_api.catalog;
+
+import com.vinotech.sommelier_api.dto.VinSuggestion;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VinSuggester Unit Tests")
+class VinSuggesterTest {
+
+    @Mock
+    private VinRepository vinRepository;
+
+    private CatalogVersion catalogVersion;
+    private List<Runnable> background;
+    private VinSuggester suggester;
+
+    private final List<Vin> vins = new ArrayList<>(List.of(
+            vin(1L, "Château Margaux", "Bordeaux", "Cabernet Sauvignon", 3),
+            vin(2L, "Chablis Grand Cru", "Bourgogne", "Chardonnay", 0),
+            vin(3L, "Champagne Brut", "Champagne", "Chardonnay", 1),
+            vin(4L, "Crémant d'Alsace", "Alsace", "Pinot Blanc", 0),
+            vin(5L, "Saint-Émilion Grand Cru", "Bordeaux", "Merlot", 0)));
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion();
+        background = new ArrayList<>();
+        lenient().when(vinRepository.findAllWithAccords()).thenAnswer(invocation -> List.copyOf(vins));
+        suggester = new VinSuggester(new VinCatalog(vinRepository, new SimpleMeterRegistry(), false, ""), vinRepository,
+                catalogVersion, new SimpleMeterRegistry(), background::add);
+    }
+
+    // ==================== Matching Tests ====================
+
+    @Test
+    @DisplayName("Should match names, regions and grapes by prefix, ignoring case and accents")
+    void shouldMatchPrefixIgnoringCaseAndAccents() {
+        assertThat(suggester.suggest("CHA", 10)).extracting(VinSuggestion::value)
+                .containsExactlyInAnyOrder("Château Margaux", "Chablis Grand Cru", "Champagne Brut", "Champagne",
+                        "Chardonnay");
+        assertThat(suggester.suggest("chât", 10)).extracting(VinSuggestion::value).containsExactly("Château Margaux");
+        assertThat(suggester.suggest("cremant", 10)).extracting(VinSuggestion::value).containsExactly("Crémant d'Alsace");
+    }
+
+    @Test
+    @DisplayName("Should match the start of any word of a value, separators included")
+    void shouldMatchWordStarts() {
+        assertThat(suggester.suggest("marg", 10)).extracting(VinSuggestion::value).containsExactly("Château Margaux");
+        assertThat(suggester.suggest("grand c", 10)).extracting(VinSuggestion::value)
+                .containsExactly("Chablis Grand Cru", "Saint-Émilion Grand Cru");
+        assertThat(suggester.suggest("saint emil", 10)).extracting(VinSuggestion::value)
+                .containsExactly("Saint-Émilion Grand Cru");
+        assertThat(suggester.suggest("argaux", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank by popularity: wines carrying the value plus their accords")
+    void shouldRankByPopularity() {
+        // When
+        List<VinSuggestion> suggestions = suggester.suggest("c", 3);
+
+        // Then : Cabernet et Château Margaux (1 vin, 3 accords), puis Chardonnay (2 vins, 1 accord)
+        assertThat(suggestions).extracting(VinSuggestion::value)
+                .containsExactly("Cabernet Sauvignon", "Château Margaux", "Chardonnay");
+        assertThat(suggestions).extracting(VinSuggestion::popularity).containsExactly(4, 4, 3);
+        assertThat(suggestions.get(2).type()).isEqualTo(VinSuggestion.Type.CEPAGE);
+        assertThat(suggester.suggest("bord", 10)).containsExactly(
+                new VinSuggestion("Bordeaux", VinSuggestion.Type.REGION, 5));
+    }
+
+    @Test
+    @DisplayName("Should return nothing for a blank prefix")
+    void shouldReturnNothingForBlankPrefix() {
+        assertThat(suggester.suggest("  ", 10)).isEmpty();
+        assertThat(suggester.suggest(null, 10)).isEmpty();
+    }
+
+    // ==================== Rebuild Tests ====================
+
+    @Test
+    @DisplayName("Should keep serving the current index and rebuild it in the background after a catalog change")
+    void shouldRebuildInBackground() {
+        // Given
+        assertThat(suggester.suggest("fleu", 10)).isEmpty();
+        vins.add(vin(6L, "Fleurie", "Beaujolais", "Gamay", 0));
+        catalogVersion.bump();
+
+        // When : la requête est servie par l'index courant et planifie une seule reconstruction
+        assertThat(suggester.suggest("fleu", 10)).isEmpty();
+        assertThat(suggester.suggest("fleu", 10)).isEmpty();
+        assertThat(background).hasSize(1);
+        background.remove(0).run();
+
+        // Then
+        assertThat(suggester.suggest("fleu", 10)).extracting(VinSuggestion::value).containsExactly("Fleurie");
+        assertThat(background).isEmpty();
+        verify(vinRepository, times(2)).findAllWithAccords();
+    }
+
+    private static Vin vin(Long id, String nom, String region, String cepage, int accords) {
+        Vin vin = Vin.builder().id(id).nom(nom).region(region).cepage(cepage).build();
+        for (int i = 0; i < accords; i++) {
+            Plat plat = new Plat();
+            plat.setId(id * 100 + i);
+            vin.addPlat(plat);
+        }
+        return vin;
+    }
+}
@@ -0,0 +1,79 @@
+package com.vinotech.sommelier_api.controller;
+
+import com.vinotech.sommelier_api.dto.AccordBulkResult;
+import com.vinotech.sommelier_api.dto.AccordOperation;
+import com.vinotech.sommelier_api.exception.InvalidRequestException;
+import com.vinotech.sommelier_api.service.AccordService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AccordController.class)
+@DisplayName("AccordController Unit Tests")
+class AccordControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AccordService accordService;
+
+    // ==================== POST /api/accords/bulk Tests ====================
+
+    @Test
+    @DisplayName("Should apply the operations and return the counts")
+    void shouldApplyOperations() throws Exception {
+        // Given
+        when(accordService.apply(List.of(
+                new AccordOperation(1L, 2L, AccordOperation.Op.LINK),
+                new AccordOperation(1L, 3L, AccordOperation.Op.UNLINK))))
+                .thenReturn(new AccordBulkResult(1, 1, 0));
+
+        // When & Then
+        mockMvc.perform(post("/api/accords/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"vinId": 1, "platId": 2, "op": "LINK"},
+                                 {"vinId": 1, "platId": 3, "op": "UNLINK"}]"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linked").value(1))
+                .andExpect(jsonPath("$.unlinked").value(1))
+                .andExpect(jsonPath("$.unchanged").value(0));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown operation")
+    void shouldReturnBadRequestForUnknownOperation() throws Exception {
+        mockMvc.perform(post("/api/accords/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"vinId\": 1, \"platId\": 2, \"op\": \"MOVE\"}]"))
+                .andExpect(status().isBadRequest());
+
+        verify(accordService, never()).apply(any());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the service rejects the operations")
+    void shouldReturnBadRequestWhenServiceRejects() throws Exception {
+        // Given
+        when(accordService.apply(any())).thenThrow(new InvalidRequestException("Unknown vin id(s): [42]"));
+
+        // When & Then
+        mockMvc.perform(post("/api/accords/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"vinId\": 42, \"platId\": 2, \"op\": \"LINK\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown vin id(s): [42]"));
+    }
+}
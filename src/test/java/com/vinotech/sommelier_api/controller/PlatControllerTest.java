@@ -0,0 +1,161 @@
+package com.vinotech.sommelier_api.controller;
+
+import com.vinotech.sommelier_api.catalog.CatalogResponseCache;
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.PlatIndex;
+import com.vinotech.sommelier_api.dto.PlatView;
+import com.vinotech.sommelier_api.dto.VinRecommendation;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.model.Allergene;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import com.vinotech.sommelier_api.service.NdjsonExportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PlatController.class)
+@Import({CatalogVersion.class, CatalogResponseCache.class, SimpleMeterRegistry.class})
+@DisplayName("PlatController Unit Tests")
+class PlatControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PlatRepository platRepository;
+
+    @MockBean
+    private NdjsonExportService ndjsonExportService;
+
+    @MockBean
+    private PairingEngine pairingEngine;
+
+    @MockBean
+    private PlatIndex platIndex;
+
+    // ==================== GET /api/plats?sansAllergenes Tests ====================
+
+    @Test
+    @DisplayName("Should return plats without the given allergens")
+    void shouldReturnPlatsWithoutAllergens() throws Exception {
+        // Given
+        PlatView plat = new PlatView(4L, "Salade", "Laitue", "Soja", "Soja", null);
+        when(platIndex.platsSans(Set.of(Allergene.GLUTEN, Allergene.PRODUITS_LAITIERS), true))
+                .thenReturn(List.of(plat));
+
+        // When & Then
+        mockMvc.perform(get("/api/plats")
+                        .param("sansAllergenes", "GLUTEN,PRODUITS_LAITIERS")
+                        .param("inclureModifiables", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(4L))
+                .andExpect(jsonPath("$[0].nom").value("Salade"));
+
+        verify(platRepository, never()).findAllViews();
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown allergen")
+    void shouldReturnBadRequestForUnknownAllergen() throws Exception {
+        mockMvc.perform(get("/api/plats").param("sansAllergenes", "KIWI"))
+                .andExpect(status().isBadRequest());
+
+        verify(platIndex, never()).platsSans(any(), anyBoolean());
+    }
+
+    // ==================== GET /api/plats?menu Tests ====================
+
+    @Test
+    @DisplayName("Should return a page of plats for a menu, filtered by allergens")
+    void shouldReturnMenuPage() throws Exception {
+        // Given
+        PlatView plat = new PlatView(9L, "Bavette", "Boeuf", "Viande", "", null).withTypesMenu(Set.of(MenuType.SOUPER));
+        when(platIndex.menu(MenuType.SOUPER, Set.of(Allergene.GLUTEN), false, PageRequest.of(1, 2)))
+                .thenReturn(new PageImpl<>(List.of(plat), PageRequest.of(1, 2), 3));
+
+        // When & Then
+        mockMvc.perform(get("/api/plats")
+                        .param("menu", "SOUPER")
+                        .param("sansAllergenes", "GLUTEN")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(9L))
+                .andExpect(jsonPath("$.content[0].typesMenu[0]").value("SOUPER"))
+                .andExpect(jsonPath("$.totalElements").value(3));
+
+        verify(platIndex, never()).platsSans(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown menu")
+    void shouldReturnBadRequestForUnknownMenu() throws Exception {
+        mockMvc.perform(get("/api/plats").param("menu", "GOUTER"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ==================== GET /api/plats/{id}/vins/recommended Tests ====================
+
+    @Test
+    @DisplayName("Should return recommended vins with their scores")
+    void shouldReturnRecommendedVins() throws Exception {
+        // Given
+        VinView vin = new VinView(3L, "Chablis", new BigDecimal("45.00"), "Bourgogne", null, CouleurVin.BLANC, "Chardonnay");
+        when(pairingEngine.recommend(7L, 3, 60.0, CouleurVin.BLANC))
+                .thenReturn(Optional.of(List.of(new VinRecommendation(vin, 1.5f))));
+
+        // When & Then
+        mockMvc.perform(get("/api/plats/7/vins/recommended")
+                        .param("limit", "3")
+                        .param("maxPrix", "60")
+                        .param("couleur", "BLANC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].vin.id").value(3L))
+                .andExpect(jsonPath("$[0].vin.nom").value("Chablis"))
+                .andExpect(jsonPath("$[0].score").value(1.5));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown plat")
+    void shouldReturnNotFoundForUnknownPlat() throws Exception {
+        // Given
+        when(pairingEngine.recommend(999L, 5, null, null)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/plats/999/vins/recommended"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an out of range limit")
+    void shouldReturnBadRequestForOutOfRangeLimit() throws Exception {
+        mockMvc.perform(get("/api/plats/1/vins/recommended").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("limit must be between 1 and 50"));
+
+        verify(pairingEngine, never()).recommend(any(), anyInt(), any(), any());
+    }
+}
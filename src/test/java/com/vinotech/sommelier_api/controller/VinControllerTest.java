@@ -1,31 +1,60 @@
 package com.vinotech.sommelier_api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinotech.sommelier_api.catalog.CatalogResponseCache;
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.VinSuggester;
+import com.vinotech.sommelier_api.dto.CursorSlice;
+import com.vinotech.sommelier_api.dto.VinBulkBatch;
+import com.vinotech.sommelier_api.dto.VinBulkResult;
+import com.vinotech.sommelier_api.dto.VinFacets;
+import com.vinotech.sommelier_api.dto.VinSuggestion;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.exception.InvalidRequestException;
 import com.vinotech.sommelier_api.model.CouleurVin;
 import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.service.NdjsonExportService;
+import com.vinotech.sommelier_api.service.VinImportService;
 import com.vinotech.sommelier_api.service.VinService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(VinController.class)
+@Import({CatalogVersion.class, CatalogResponseCache.class, SimpleMeterRegistry.class})
 @DisplayName("VinController Unit Tests")
 class VinControllerTest {
 
@@ -38,12 +67,27 @@ class VinControllerTest {
     @MockBean
     private VinService vinService;
 
+    @MockBean
+    private NdjsonExportService ndjsonExportService;
+
+    @MockBean
+    private VinImportService vinImportService;
+
+    @MockBean
+    private VinSuggester vinSuggester;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     private Vin testVin1;
     private Vin testVin2;
     private Vin testVin3;
 
     @BeforeEach
     void setUp() {
+        // Le contexte est partagé entre les tests : nouvelle version pour ne pas servir le cache du test précédent
+        catalogVersion.bump();
+
         testVin1 = Vin.builder()
                 .id(1L)
                 .nom("Château Margaux")
@@ -311,7 +355,7 @@ class VinControllerTest {
     void shouldRetrieveAllVinsWhenMultipleExist() throws Exception {
         // Given
         List<Vin> vins = Arrays.asList(testVin1, testVin2, testVin3);
-        when(vinService.findAll()).thenReturn(vins);
+        when(vinService.findAllViews()).thenReturn(views(vins));
 
         // When & Then
         mockMvc.perform(get("/api/vins")
@@ -331,14 +375,14 @@ class VinControllerTest {
                 .andExpect(jsonPath("$[2].nom").value("Champagne Brut"))
                 .andExpect(jsonPath("$[2].couleur").value("EFFERVESCENT"));
 
-        verify(vinService, times(1)).findAll();
+        verify(vinService, times(1)).findAllViews();
     }
 
     @Test
     @DisplayName("Should return empty list when no vins exist")
     void shouldReturnEmptyListWhenNoVinsExist() throws Exception {
         // Given
-        when(vinService.findAll()).thenReturn(Collections.emptyList());
+        when(vinService.findAllViews()).thenReturn(views(Collections.emptyList()));
 
         // When & Then
         mockMvc.perform(get("/api/vins")
@@ -348,14 +392,14 @@ class VinControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)))
                 .andExpect(jsonPath("$", empty()));
 
-        verify(vinService, times(1)).findAll();
+        verify(vinService, times(1)).findAllViews();
     }
 
     @Test
     @DisplayName("Should retrieve single vin in list")
     void shouldRetrieveSingleVinInList() throws Exception {
         // Given
-        when(vinService.findAll()).thenReturn(Collections.singletonList(testVin1));
+        when(vinService.findAllViews()).thenReturn(views(Collections.singletonList(testVin1)));
 
         // When & Then
         mockMvc.perform(get("/api/vins")
@@ -365,7 +409,7 @@ class VinControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].nom").value("Château Margaux"));
 
-        verify(vinService, times(1)).findAll();
+        verify(vinService, times(1)).findAllViews();
     }
 
     @Test
@@ -381,7 +425,7 @@ class VinControllerTest {
                     .couleur(CouleurVin.values()[i % CouleurVin.values().length])
                     .build());
         }
-        when(vinService.findAll()).thenReturn(largeList);
+        when(vinService.findAllViews()).thenReturn(views(largeList));
 
         // When & Then
         mockMvc.perform(get("/api/vins")
@@ -391,7 +435,67 @@ class VinControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[99].id").value(100));
 
-        verify(vinService, times(1)).findAll();
+        verify(vinService, times(1)).findAllViews();
+    }
+
+    @Test
+    @DisplayName("Should serve the cached gzip bytes when the client accepts gzip")
+    void shouldServeGzipWhenAccepted() throws Exception {
+        // Given
+        when(vinService.findAllViews()).thenReturn(views(List.of(testVin1, testVin2)));
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/vins").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+        mockMvc.perform(get("/api/vins").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk());
+
+        // Then - une seule lecture du catalogue pour deux requêtes
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(objectMapper.readTree(gunzip)).hasSize(2);
+        }
+        verify(vinService, times(1)).findAllViews();
+    }
+
+    @Test
+    @DisplayName("Should keep the JSON array for wildcard Accept headers")
+    void shouldKeepJsonArrayForWildcardAccept() throws Exception {
+        // Given
+        when(vinService.findAllViews()).thenReturn(views(List.of(testVin1)));
+
+        // When & Then
+        mockMvc.perform(get("/api/vins").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verifyNoInteractions(ndjsonExportService);
+    }
+
+    @Test
+    @DisplayName("Should stream NDJSON when requested through the Accept header")
+    void shouldStreamNdjsonWhenRequested() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n{\"id\":2}\n".getBytes());
+            return null;
+        }).when(ndjsonExportService).exportVins(any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/vins").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(vinService, never()).findAllViews();
     }
 
     // ==================== GET /api/vins/{id} - Get Vin By Id Tests ====================
@@ -400,7 +504,7 @@ class VinControllerTest {
     @DisplayName("Should retrieve vin by id when it exists")
     void shouldRetrieveVinByIdWhenItExists() throws Exception {
         // Given
-        when(vinService.findById(1L)).thenReturn(Optional.of(testVin1));
+        when(vinService.findViewById(1L)).thenReturn(Optional.of(VinView.of(testVin1)));
 
         // When & Then
         mockMvc.perform(get("/api/vins/1")
@@ -415,49 +519,49 @@ class VinControllerTest {
                 .andExpect(jsonPath("$.couleur").value("ROUGE"))
                 .andExpect(jsonPath("$.cepage").value("Cabernet Sauvignon"));
 
-        verify(vinService, times(1)).findById(1L);
+        verify(vinService, times(1)).findViewById(1L);
     }
 
     @Test
     @DisplayName("Should return 404 when vin does not exist")
     void shouldReturn404WhenVinDoesNotExist() throws Exception {
         // Given
-        when(vinService.findById(999L)).thenReturn(Optional.empty());
+        when(vinService.findViewById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(get("/api/vins/999")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
-        verify(vinService, times(1)).findById(999L);
+        verify(vinService, times(1)).findViewById(999L);
     }
 
     @Test
     @DisplayName("Should return 404 for negative id")
     void shouldReturn404ForNegativeId() throws Exception {
         // Given
-        when(vinService.findById(-1L)).thenReturn(Optional.empty());
+        when(vinService.findViewById(-1L)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(get("/api/vins/-1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
-        verify(vinService, times(1)).findById(-1L);
+        verify(vinService, times(1)).findViewById(-1L);
     }
 
     @Test
     @DisplayName("Should return 404 for id zero")
     void shouldReturn404ForIdZero() throws Exception {
         // Given
-        when(vinService.findById(0L)).thenReturn(Optional.empty());
+        when(vinService.findViewById(0L)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(get("/api/vins/0")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
-        verify(vinService, times(1)).findById(0L);
+        verify(vinService, times(1)).findViewById(0L);
     }
 
     @Test
@@ -465,14 +569,14 @@ class VinControllerTest {
     void shouldHandleVeryLargeIdValues() throws Exception {
         // Given
         Long largeId = Long.MAX_VALUE;
-        when(vinService.findById(largeId)).thenReturn(Optional.empty());
+        when(vinService.findViewById(largeId)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(get("/api/vins/" + largeId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
-        verify(vinService, times(1)).findById(largeId);
+        verify(vinService, times(1)).findViewById(largeId);
     }
 
     @Test
@@ -483,16 +587,16 @@ class VinControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(vinService, never()).findById(any());
+        verify(vinService, never()).findViewById(any());
     }
 
     @Test
     @DisplayName("Should retrieve different vins by their specific ids")
     void shouldRetrieveDifferentVinsByTheirSpecificIds() throws Exception {
         // Given
-        when(vinService.findById(1L)).thenReturn(Optional.of(testVin1));
-        when(vinService.findById(2L)).thenReturn(Optional.of(testVin2));
-        when(vinService.findById(3L)).thenReturn(Optional.of(testVin3));
+        when(vinService.findViewById(1L)).thenReturn(Optional.of(VinView.of(testVin1)));
+        when(vinService.findViewById(2L)).thenReturn(Optional.of(VinView.of(testVin2)));
+        when(vinService.findViewById(3L)).thenReturn(Optional.of(VinView.of(testVin3)));
 
         // When & Then - Test each vin
         mockMvc.perform(get("/api/vins/1"))
@@ -507,9 +611,9 @@ class VinControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.nom").value("Champagne Brut"));
 
-        verify(vinService, times(1)).findById(1L);
-        verify(vinService, times(1)).findById(2L);
-        verify(vinService, times(1)).findById(3L);
+        verify(vinService, times(1)).findViewById(1L);
+        verify(vinService, times(1)).findViewById(2L);
+        verify(vinService, times(1)).findViewById(3L);
     }
 
     @Test
@@ -523,7 +627,7 @@ class VinControllerTest {
                 .couleur(CouleurVin.ROUGE)
                 .build();
 
-        when(vinService.findById(10L)).thenReturn(Optional.of(vinWithNulls));
+        when(vinService.findViewById(10L)).thenReturn(Optional.of(VinView.of(vinWithNulls)));
 
         // When & Then
         mockMvc.perform(get("/api/vins/10"))
@@ -561,7 +665,7 @@ class VinControllerTest {
     @DisplayName("Should handle service exception during findAll")
     void shouldHandleServiceExceptionDuringFindAll() throws Exception {
         // Given
-        when(vinService.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(vinService.findAllViews()).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         mockMvc.perform(get("/api/vins"))
@@ -572,7 +676,7 @@ class VinControllerTest {
     @DisplayName("Should handle service exception during findById")
     void shouldHandleServiceExceptionDuringFindById() throws Exception {
         // Given
-        when(vinService.findById(1L)).thenThrow(new RuntimeException("Database error"));
+        when(vinService.findViewById(1L)).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         mockMvc.perform(get("/api/vins/1"))
@@ -614,4 +718,238 @@ class VinControllerTest {
                         .content("{}"))
                 .andExpect(status().isMethodNotAllowed());
     }
+
+    // ==================== GET /api/vins/search?after= - Keyset Search Tests ====================
+
+    @Test
+    @DisplayName("Should route requests with an after parameter to keyset search")
+    void shouldRouteAfterParameterToKeysetSearch() throws Exception {
+        // Given
+        CursorSlice<VinView> slice = new CursorSlice<>(views(List.of(testVin3, testVin2)), 2, true, "bmV4dA");
+        when(vinService.searchVinsAfter(isNull(), isNull(), isNull(), isNull(), isNull(), anyBoolean(), eq(""), eq(2), any(Sort.class)))
+                .thenReturn(slice);
+
+        // When & Then
+        mockMvc.perform(get("/api/vins/search")
+                        .param("after", "")
+                        .param("size", "2")
+                        .param("sort", "prix"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value(3L))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("bmV4dA"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(vinService, never()).searchVins(any(), any(), any(), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep the offset page response without an after parameter")
+    void shouldKeepOffsetPageWithoutAfterParameter() throws Exception {
+        // Given
+        when(vinService.searchVins(any(), any(), any(), any(), any(), anyBoolean(), any()))
+                .thenReturn(new PageImpl<>(views(List.of(testVin1)), PageRequest.of(0, 20), 1));
+
+        // When & Then
+        mockMvc.perform(get("/api/vins/search").param("couleur", "ROUGE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        verify(vinService, never()).searchVinsAfter(any(), any(), any(), any(), any(), anyBoolean(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should pass the free-text query to the search")
+    void shouldPassFreeTextQuery() throws Exception {
+        // Given
+        when(vinService.searchVins(isNull(), isNull(), eq(60.0), isNull(), eq("brioché bulles"), anyBoolean(), any()))
+                .thenReturn(new PageImpl<>(views(List.of(testVin1)), PageRequest.of(0, 20), 1));
+
+        // When & Then
+        mockMvc.perform(get("/api/vins/search").param("q", "brioché bulles").param("maxPrix", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L));
+    }
+
+    // ==================== Suggest Tests ====================
+
+    @Test
+    @DisplayName("Should return the suggestions for a prefix")
+    void shouldSuggest() throws Exception {
+        // Given
+        when(vinSuggester.suggest("cha", 5)).thenReturn(List.of(
+                new VinSuggestion("Chardonnay", VinSuggestion.Type.CEPAGE, 12),
+                new VinSuggestion("Château Margaux", VinSuggestion.Type.NOM, 3)));
+
+        // When & Then
+        mockMvc.perform(get("/api/vins/suggest").param("prefix", "cha").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].value").value("Chardonnay"))
+                .andExpect(jsonPath("$[0].type").value("CEPAGE"))
+                .andExpect(jsonPath("$[1].popularity").value(3));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a suggestion limit out of range")
+    void shouldRejectSuggestLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/vins/suggest").param("prefix", "cha").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/vins/suggest").param("prefix", "cha").param("limit", "21"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(vinSuggester);
+    }
+
+    @Test
+    @DisplayName("Should pass the fuzzy option along with the free-text query")
+    void shouldPassFuzzyOption() throws Exception {
+        // Given
+        when(vinService.searchVins(isNull(), isNull(), isNull(), isNull(), eq("gewurtztraminer"), eq(true), any()))
+                .thenReturn(new PageImpl<>(views(List.of(testVin2)), PageRequest.of(0, 20), 1));
+
+        // When & Then
+        mockMvc.perform(get("/api/vins/search").param("q", "gewurtztraminer").param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(2L));
+    }
+
+    @Test
+    @DisplayName("Should return facet counts for the search filters")
+    void shouldReturnFacets() throws Exception {
+        // Given
+        VinFacets facets = new VinFacets(1, Map.of(CouleurVin.ROUGE, 1, CouleurVin.BLANC, 2),
+                List.of(new VinFacets.Value("Loire", 1)), List.of(new VinFacets.Value("Gamay", 1)),
+                List.of(new VinFacets.PrixBucket(null, new BigDecimal("25.00"), 1),
+                        new VinFacets.PrixBucket(new BigDecimal("25.00"), null, 0)));
+        when(vinService.facets(eq(CouleurVin.ROUGE), isNull(), eq(30.0), eq("loire"), isNull(), eq(false)))
+                .thenReturn(facets);
+
+        // When & Then
+        mockMvc.perform(get("/api/vins/facets")
+                        .param("couleur", "ROUGE")
+                        .param("maxPrix", "30")
+                        .param("region", "loire"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.couleurs.BLANC").value(2))
+                .andExpect(jsonPath("$.regions[0].value").value("Loire"))
+                .andExpect(jsonPath("$.cepages[0].count").value(1))
+                .andExpect(jsonPath("$.prix[0].max").value(25.0))
+                .andExpect(jsonPath("$.prix[1].max").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid cursor")
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        // Given
+        when(vinService.searchVinsAfter(any(), any(), any(), any(), any(), anyBoolean(), eq("abc"), anyInt(), any()))
+                .thenThrow(new InvalidRequestException("Invalid cursor 'abc'"));
+
+        // When & Then
+        mockMvc.perform(get("/api/vins/search").param("after", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor 'abc'"));
+    }
+
+    // ==================== Conditional GET (ETag) Tests ====================
+
+    @Test
+    @DisplayName("Should answer 304 without calling the service when the ETag matches the catalog version")
+    void shouldAnswerNotModifiedWithoutCallingService() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/vins"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        clearInvocations(vinService);
+
+        // When & Then
+        mockMvc.perform(get("/api/vins").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/vins/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(vinService);
+    }
+
+    @Test
+    @DisplayName("Should serve the body again once the catalog version changes")
+    void shouldServeBodyAfterCatalogVersionChanges() throws Exception {
+        // Given
+        when(vinService.findViewById(1L)).thenReturn(Optional.of(VinView.of(testVin1)));
+        String etag = mockMvc.perform(get("/api/vins/1"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When
+        catalogVersion.bump();
+
+        // Then
+        mockMvc.perform(get("/api/vins/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    @DisplayName("Should use distinct strong ETags for the JSON and NDJSON representations")
+    void shouldUseDistinctEtagsPerRepresentation() throws Exception {
+        // When
+        String json = mockMvc.perform(get("/api/vins"))
+                .andReturn().getResponse().getHeader("ETag");
+        String ndjson = mockMvc.perform(get("/api/vins").accept("application/x-ndjson"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Then
+        assertThat(json).startsWith("\"").doesNotStartWith("W/");
+        assertThat(ndjson).isNotEqualTo(json);
+        mockMvc.perform(get("/api/vins").accept("application/x-ndjson").header("If-None-Match", json))
+                .andExpect(request().asyncStarted());
+    }
+
+    // ==================== POST /api/vins/bulk - NDJSON Import Tests ====================
+
+    @Test
+    @DisplayName("Should pass the NDJSON body to the import and return the per-batch results")
+    void shouldImportNdjsonBody() throws Exception {
+        // Given
+        String body = """
+                {"nom": "Chablis", "region": "Bourgogne", "couleur": "BLANC"}
+                {"nom": "Margaux", "region": "Bordeaux", "prix": 150.00}
+                """;
+        when(vinImportService.importNdjson(any())).thenAnswer(invocation -> {
+            assertThat(new String(invocation.<InputStream>getArgument(0).readAllBytes())).isEqualTo(body);
+            return VinBulkResult.of(List.of(new VinBulkBatch(1, 1, 2, VinBulkBatch.Status.COMMITTED,
+                    1, 1, 0, 0, List.of())));
+        });
+
+        // When & Then
+        mockMvc.perform(post("/api/vins/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.batches", hasSize(1)))
+                .andExpect(jsonPath("$.batches[0].status").value("COMMITTED"))
+                .andExpect(jsonPath("$.batches[0].lastLine").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return 415 when the body is not NDJSON")
+    void shouldRejectNonNdjsonImport() throws Exception {
+        mockMvc.perform(post("/api/vins/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(vinImportService, never()).importNdjson(any());
+    }
+
+    private static List<VinView> views(List<Vin> vins) {
+        return vins.stream().map(VinView::of).toList();
+    }
 }
@@ -0,0 +1,99 @@
+package com.vinotech.sommelier_api.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the accord association before and after {@link EntitySet}: a {@code HashSet} of plats sharing a
+ * single hash code (the former {@code Plat.hashCode()}) against the id-keyed set, at 10k+ accords per vin.
+ * <p>
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Accord set Benchmark")
+class AccordSetBenchmarkTest {
+
+    private static final int[] SIZES = {10_000, 20_000};
+    private static final int ROUNDS = 3;
+
+    @Test
+    @DisplayName("Should report add, contains, remove and flush snapshot times per accord set")
+    void benchmark() {
+        System.out.printf("%-10s %-10s %12s %12s %12s %12s%n", "accords", "set", "add ms", "contains ms", "remove ms", "snapshot ms");
+        for (int size : SIZES) {
+            run(size, "HashSet", id -> new ConstantHashPlat(id), new HashSet<>());
+            run(size, "EntitySet", AccordSetBenchmarkTest::plat, new EntitySet<>());
+        }
+    }
+
+    private static void run(int size, String label, Function<Long, Plat> plats, Set<Plat> accords) {
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        for (int round = 0; round < ROUNDS; round++) {
+            accords.clear();
+            Vin vin = Vin.builder().id(1L).nom("Vin").region("Loire").platsAccordes(accords).build();
+            List<Plat> all = new ArrayList<>(size);
+            for (long id = 1; id <= size; id++) {
+                all.add(plats.apply(id));
+            }
+
+            long start = System.nanoTime();
+            all.forEach(vin::addPlat);
+            long added = System.nanoTime();
+            int found = 0;
+            for (Plat plat : all) {
+                found += vin.getPlatsAccordes().contains(plat) ? 1 : 0;
+            }
+            long checked = System.nanoTime();
+            // The snapshot Hibernate takes of a Set at flush: a HashMap keyed by element
+            Map<Plat, Plat> snapshot = new HashMap<>(vin.getPlatsAccordes().size() * 2);
+            for (Plat plat : vin.getPlatsAccordes()) {
+                snapshot.put(plat, plat);
+            }
+            long snapshotted = System.nanoTime();
+            for (int i = 0; i < size; i += 2) {
+                vin.removePlat(all.get(i));
+            }
+            long removed = System.nanoTime();
+
+            assertThat(found).isEqualTo(size);
+            assertThat(snapshot).hasSize(size);
+            assertThat(vin.getPlatsAccordes()).hasSize(size / 2);
+            best[0] = Math.min(best[0], added - start);
+            best[1] = Math.min(best[1], checked - added);
+            best[2] = Math.min(best[2], removed - snapshotted);
+            best[3] = Math.min(best[3], snapshotted - checked);
+        }
+        System.out.printf("%-10d %-10s %12.1f %12.1f %12.1f %12.1f%n", size, label,
+                best[0] / 1e6, best[1] / 1e6, best[2] / 1e6, best[3] / 1e6);
+    }
+
+    private static Plat plat(long id) {
+        Plat plat = new Plat();
+        plat.setId(id);
+        return plat;
+    }
+
+    // The former Plat.hashCode(): every plat lands in the same bucket
+    private static final class ConstantHashPlat extends Plat {
+
+        ConstantHashPlat(long id) {
+            setId(id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Plat.class.hashCode();
+        }
+    }
+}
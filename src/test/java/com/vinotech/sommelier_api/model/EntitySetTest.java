@@ -0,0 +1,120 @@
+package com.vinotech.sommelier_api.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EntitySet Unit Tests")
+class EntitySetTest {
+
+    // ==================== Persisted elements Tests ====================
+
+    @Test
+    @DisplayName("Should treat plats with the same id as the same element")
+    void shouldTreatSameIdAsSameElement() {
+        // Given
+        EntitySet<Plat> set = new EntitySet<>();
+        set.add(plat(1L));
+
+        // When & Then
+        assertThat(set.add(plat(1L))).isFalse();
+        assertThat(set.contains(plat(1L))).isTrue();
+        assertThat(set.contains(plat(2L))).isFalse();
+        assertThat(set.remove(plat(1L))).isTrue();
+        assertThat(set).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should behave like a HashSet of ids through random additions and removals")
+    void shouldBehaveLikeHashSetOfIds() {
+        // Given
+        Random random = new Random(42);
+        EntitySet<Plat> set = new EntitySet<>();
+        Set<Long> expected = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(plat(id))).isEqualTo(expected.remove(id));
+            } else {
+                assertThat(set.add(plat(id))).isEqualTo(expected.add(id));
+            }
+        }
+
+        // Then
+        assertThat(set).hasSize(expected.size());
+        assertThat(set.stream().map(Plat::getId).collect(Collectors.toSet())).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should remove elements through the iterator")
+    void shouldRemoveThroughIterator() {
+        // Given
+        EntitySet<Plat> set = new EntitySet<>();
+        for (long id = 1; id <= 100; id++) {
+            set.add(plat(id));
+        }
+        Plat transientPlat = new Plat();
+        set.add(transientPlat);
+
+        // When
+        set.removeIf(plat -> plat.getId() == null || plat.getId() % 2 == 0);
+
+        // Then
+        assertThat(set).hasSize(50).allMatch(plat -> plat.getId() % 2 == 1);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when modified during iteration")
+    void shouldFailFastOnConcurrentModification() {
+        EntitySet<Plat> set = new EntitySet<>();
+        set.add(plat(1L));
+        set.add(plat(2L));
+        Iterator<Plat> it = set.iterator();
+        it.next();
+        set.add(plat(3L));
+
+        assertThatThrownBy(it::next).isInstanceOf(ConcurrentModificationException.class);
+    }
+
+    // ==================== Transient elements Tests ====================
+
+    @Test
+    @DisplayName("Should compare transient elements by identity and move them once persisted")
+    void shouldMoveTransientElementsOncePersisted() {
+        // Given
+        EntitySet<Vin> set = new EntitySet<>();
+        Vin first = Vin.builder().nom("A").region("Loire").build();
+        Vin second = Vin.builder().nom("B").region("Loire").build();
+        set.add(first);
+
+        // When & Then - transient: equal only to itself
+        assertThat(set.add(first)).isFalse();
+        assertThat(set.contains(second)).isFalse();
+        assertThat(set.add(second)).isTrue();
+
+        // When - the first one is persisted
+        first.setId(10L);
+
+        // Then - now found by id, from any instance
+        assertThat(set.contains(Vin.builder().id(10L).build())).isTrue();
+        assertThat(set.remove(Vin.builder().id(10L).build())).isTrue();
+        assertThat(set).containsExactly(second);
+    }
+
+    private static Plat plat(long id) {
+        Plat plat = new Plat();
+        plat.setId(id);
+        return plat;
+    }
+}
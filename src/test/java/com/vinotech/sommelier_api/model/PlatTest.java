@@ -103,15 +103,15 @@ class PlatTest {
     }
 
     @Test
-    @DisplayName("Should initialize vinsAccordes as empty HashSet")
-    void shouldInitializeVinsAccordesAsEmptyHashSet() {
+    @DisplayName("Should initialize vinsAccordes as empty EntitySet")
+    void shouldInitializeVinsAccordesAsEmptyEntitySet() {
         // When
         Plat newPlat = new Plat();
 
         // Then
         assertThat(newPlat.getVinsAccordes()).isNotNull();
         assertThat(newPlat.getVinsAccordes()).isEmpty();
-        assertThat(newPlat.getVinsAccordes()).isInstanceOf(HashSet.class);
+        assertThat(newPlat.getVinsAccordes()).isInstanceOf(EntitySet.class);
     }
 
     // ==================== Getters and Setters Tests ====================
@@ -87,15 +87,15 @@ class VinTest {
     }
 
     @Test
-    @DisplayName("Should initialize platsAccordes as empty HashSet")
-    void shouldInitializePlatsAccordesAsEmptyHashSet() {
+    @DisplayName("Should initialize platsAccordes as empty EntitySet")
+    void shouldInitializePlatsAccordesAsEmptyEntitySet() {
         // When
         Vin newVin = Vin.builder().build();
 
         // Then
         assertThat(newVin.getPlatsAccordes()).isNotNull();
         assertThat(newVin.getPlatsAccordes()).isEmpty();
-        assertThat(newVin.getPlatsAccordes()).isInstanceOf(HashSet.class);
+        assertThat(newVin.getPlatsAccordes()).isInstanceOf(EntitySet.class);
     }
 
     // ==================== Getters and Setters Tests ====================
@@ -504,6 +504,21 @@ class VinTest {
         assertThat(vin.hashCode()).isEqualTo(vinWithNullId.hashCode());
     }
 
+    @Test
+    @DisplayName("Should still find a transient vin in a HashSet once save() assigns its id")
+    void shouldKeepTransientVinInHashSetAcrossSave() {
+        // Given
+        Vin transientVin = Vin.builder().nom("Test").region("Test").build();
+        Set<Vin> hashSet = new HashSet<>(Set.of(transientVin));
+
+        // When
+        transientVin.setId(42L);
+
+        // Then
+        assertThat(hashSet.contains(transientVin)).isTrue();
+        assertThat(hashSet.remove(transientVin)).isTrue();
+    }
+
     // ==================== Edge Cases and Boundary Tests ====================
 
     @Test
@@ -0,0 +1,93 @@
+package com.vinotech.sommelier_api.repository;
+
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Accord association persistence Tests")
+class AccordAssociationTest {
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Plat> plats = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            Plat plat = new Plat();
+            plat.setNom("Plat " + i);
+            plats.add(platRepository.save(plat));
+        }
+    }
+
+    @Test
+    @DisplayName("Should persist, reload and edit accords")
+    void shouldPersistReloadAndEditAccords() {
+        // Given
+        Vin vin = vinRepository.save(Vin.builder().nom("Chablis").region("Bourgogne")
+                .prix(new BigDecimal("45.00")).couleur(CouleurVin.BLANC).build());
+        plats.forEach(vin::addPlat);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When - rechargé depuis la base, puis modifié avec des instances détachées
+        Vin loaded = vinRepository.findById(vin.getId()).orElseThrow();
+        assertThat(loaded.getPlatsAccordes()).hasSize(5).contains(plats.get(2));
+        loaded.removePlat(plats.get(2));
+        loaded.removePlat(plats.get(4));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        Vin reloaded = vinRepository.findById(vin.getId()).orElseThrow();
+        assertThat(reloaded.getPlatsAccordes()).extracting(Plat::getNom)
+                .containsExactlyInAnyOrder("Plat 0", "Plat 1", "Plat 3");
+        Plat plat = platRepository.findById(plats.get(0).getId()).orElseThrow();
+        assertThat(plat.getVinsAccordes()).containsExactly(reloaded);
+    }
+
+    @Test
+    @DisplayName("Should merge a detached vin with its accords")
+    void shouldMergeDetachedVinWithAccords() {
+        // Given
+        Vin vin = vinRepository.save(Vin.builder().nom("Margaux").region("Bordeaux")
+                .couleur(CouleurVin.ROUGE).build());
+        entityManager.flush();
+        entityManager.clear();
+        Vin detached = Vin.builder().id(vin.getId()).nom("Margaux").region("Bordeaux")
+                .couleur(CouleurVin.ROUGE).build();
+        detached.addPlat(plats.get(0));
+        detached.addPlat(plats.get(1));
+
+        // When
+        vinRepository.save(detached);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertThat(vinRepository.findById(vin.getId()).orElseThrow().getPlatsAccordes())
+                .extracting(Plat::getNom).containsExactlyInAnyOrder("Plat 0", "Plat 1");
+    }
+}
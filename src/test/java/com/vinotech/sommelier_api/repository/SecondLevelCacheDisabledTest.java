@@ -0,0 +1,47 @@
+package com.vinotech.sommelier_api.repository;
+
+import com.vinotech.sommelier_api.config.SecondLevelCacheConfig;
+import com.vinotech.sommelier_api.model.Vin;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.internal.NoCachingRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SecondLevelCacheConfig.class)
+@TestPropertySource(properties = "catalog.cache.second-level.enabled=false")
+@DisplayName("Hibernate second-level cache disabled Tests")
+class SecondLevelCacheDisabledTest {
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should not create any region when catalog.cache.second-level.enabled=false")
+    void shouldNotCacheWhenDisabled() {
+        // Given
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        // When
+        long id = vinRepository.saveAndFlush(Vin.builder().nom("Sancerre").region("Loire").build()).getId();
+        vinRepository.findById(id);
+
+        // Then
+        assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).isFalse();
+        assertThat(sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()).isFalse();
+        assertThat(sessionFactory.getCache().getRegionFactory()).isInstanceOf(NoCachingRegionFactory.class);
+        assertThat(sessionFactory.getCache().getCacheRegionNames()).isEmpty();
+    }
+}
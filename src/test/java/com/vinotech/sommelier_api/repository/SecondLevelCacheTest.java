@@ -0,0 +1,186 @@
+package com.vinotech.sommelier_api.repository;
+
+import com.vinotech.sommelier_api.catalog.SecondLevelCache;
+import com.vinotech.sommelier_api.config.SecondLevelCacheConfig;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.model.CacheRegions;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SecondLevelCacheConfig.class)
+// Le cache de second niveau n'est alimenté qu'au commit : pas de transaction de test englobante
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Hibernate second-level cache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterBinder secondLevelCacheMetrics;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from accord_vin_plat");
+        vinRepository.deleteAll();
+        platRepository.deleteAll();
+    }
+
+    // ==================== Entity & Collection Tests ====================
+
+    @Test
+    @DisplayName("Should serve findById from the vin region once the wine is cached")
+    void shouldServeFindByIdFromCache() {
+        // Given
+        long id = vinRepository.save(Vin.builder().nom("Sancerre").region("Loire").build()).getId();
+        long hits = hits(CacheRegions.VIN);
+
+        // When
+        Vin vin = vinRepository.findById(id).orElseThrow();
+
+        // Then
+        assertThat(vin.getNom()).isEqualTo("Sancerre");
+        assertThat(hits(CacheRegions.VIN)).isGreaterThan(hits);
+    }
+
+    @Test
+    @DisplayName("Should cache the accord collections and evict them after a direct JDBC write")
+    void shouldCacheAccordsAndEvictAfterJdbcWrite() {
+        // Given
+        Plat huitres = plat("Huîtres");
+        Plat tartare = plat("Tartare");
+        Vin vin = Vin.builder().nom("Chablis").region("Bourgogne").build();
+        vin.addPlat(huitres);
+        long id = vinRepository.save(vin).getId();
+        assertThat(accordNames(id)).containsExactly("Huîtres");
+        long hits = hits(CacheRegions.VIN_PLATS_ACCORDES);
+        assertThat(accordNames(id)).containsExactly("Huîtres");
+        assertThat(hits(CacheRegions.VIN_PLATS_ACCORDES)).isGreaterThan(hits);
+
+        // When
+        jdbcTemplate.update("insert into accord_vin_plat (vin_id, plat_id) values (?, ?)", id, tartare.getId());
+        new SecondLevelCache(entityManagerFactory).onAccordsChanged();
+
+        // Then
+        assertThat(accordNames(id)).containsExactlyInAnyOrder("Huîtres", "Tartare");
+    }
+
+    // ==================== Query Cache Tests ====================
+
+    @Test
+    @DisplayName("Should serve a repeated search page and its total from the query cache until vins change")
+    void shouldCacheSearchQueries() {
+        // Given
+        vinRepository.save(Vin.builder().nom("Margaux").region("Bordeaux").couleur(CouleurVin.ROUGE).build());
+        Specification<Vin> rouges = (root, query, cb) -> cb.equal(root.get("couleur"), CouleurVin.ROUGE);
+        PageRequest page = PageRequest.of(0, 10, Sort.by("nom"));
+        vinRepository.findViews(rouges, page, 10);
+        vinRepository.count(rouges);
+        long hits = hits(CacheRegions.VIN_SEARCH);
+
+        // When
+        List<VinView> cached = vinRepository.findViews(rouges, page, 10);
+        long total = vinRepository.count(rouges);
+
+        // Then
+        assertThat(cached).extracting(VinView::nom).containsExactly("Margaux");
+        assertThat(total).isEqualTo(1);
+        assertThat(hits(CacheRegions.VIN_SEARCH)).isEqualTo(hits + 2);
+
+        // When : une écriture sur vins périme les résultats en cache
+        vinRepository.save(Vin.builder().nom("Pauillac").region("Bordeaux").couleur(CouleurVin.ROUGE).build());
+
+        // Then
+        assertThat(vinRepository.findViews(rouges, page, 10)).extracting(VinView::nom)
+                .containsExactly("Margaux", "Pauillac");
+        assertThat(vinRepository.count(rouges)).isEqualTo(2);
+    }
+
+    // ==================== Metrics Tests ====================
+
+    @Test
+    @DisplayName("Should publish requests, hit ratio and evictions per region")
+    void shouldPublishRegionMetrics() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+        long id = vinRepository.save(Vin.builder().nom("Sancerre").region("Loire").build()).getId();
+
+        // When
+        vinRepository.findById(id);
+
+        // Then
+        assertThat(registry.get("cache.gets").tag("cache", CacheRegions.VIN).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+        assertThat(registry.get("cache.hit.ratio").tag("cache", CacheRegions.VIN).gauge().value()).isPositive();
+        assertThat(registry.get("cache.evictions").tag("cache", CacheRegions.PLAT_TYPES_MENU)
+                .functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should weigh entries by their serialized size")
+    void shouldWeighEntriesBySerializedSize() {
+        SecondLevelCacheConfig.SerializedSizeWeigher weigher = new SecondLevelCacheConfig.SerializedSizeWeigher();
+
+        assertThat(weigher.weigh(1L, "x".repeat(10_000))).isGreaterThan(10_000);
+        assertThat(weigher.weigh(1L, "x")).isLessThan(weigher.weigh(1L, "x".repeat(100)));
+        assertThat(weigher.weigh(1L, new Object())).isGreaterThan(1000);
+    }
+
+    private Plat plat(String nom) {
+        Plat plat = new Plat();
+        plat.setNom(nom);
+        return platRepository.save(plat);
+    }
+
+    private List<String> accordNames(long vinId) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                vinRepository.findById(vinId).orElseThrow().getPlatsAccordes().stream().map(Plat::getNom).toList());
+    }
+
+    private long hits(String region) {
+        return cacheManager.getCache(region).unwrap(com.github.benmanes.caffeine.cache.Cache.class)
+                .stats().hitCount();
+    }
+}
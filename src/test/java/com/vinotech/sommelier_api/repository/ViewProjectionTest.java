@@ -0,0 +1,116 @@
+package com.vinotech.sommelier_api.repository;
+
+import com.vinotech.sommelier_api.dto.PlatView;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Read model projection Tests")
+class ViewProjectionTest {
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Vin margaux;
+
+    @BeforeEach
+    void setUp() {
+        Plat tartare = new Plat();
+        tartare.setNom("Tartare de Truite");
+        tartare.setTypesMenu(Set.of(MenuType.LUNCH, MenuType.SOUPER));
+        platRepository.save(tartare);
+        Plat fromages = new Plat();
+        fromages.setNom("Plateau de fromages");
+        platRepository.save(fromages);
+
+        margaux = Vin.builder().nom("Château Margaux").region("Bordeaux")
+                .prix(new BigDecimal("150.00")).couleur(CouleurVin.ROUGE).build();
+        margaux.addPlat(tartare);
+        vinRepository.save(margaux);
+        vinRepository.save(Vin.builder().nom("Chablis").region("Bourgogne")
+                .prix(new BigDecimal("85.50")).couleur(CouleurVin.BLANC).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should select vin columns without loading entities")
+    void shouldSelectVinColumnsWithoutLoadingEntities() {
+        // When
+        List<VinView> all = vinRepository.findAllViews();
+        VinView byId = vinRepository.findViewById(margaux.getId()).orElseThrow();
+        List<VinView> page = vinRepository.findViews(Specification.where(null),
+                PageRequest.of(0, 1, Sort.by("prix")), 1);
+
+        // Then
+        assertThat(all).extracting(VinView::nom).containsExactly("Château Margaux", "Chablis");
+        assertThat(byId.prix()).isEqualByComparingTo("150.00");
+        assertThat(page).extracting(VinView::nom).containsExactly("Chablis");
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should assemble plat views with their menu types")
+    void shouldAssemblePlatViewsWithMenuTypes() {
+        // Given
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // When
+        List<PlatView> plats = platRepository.findAllViews();
+
+        // Then - une seule requête pour les colonnes et les types de menu
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(plats).extracting(PlatView::nom).containsExactly("Tartare de Truite", "Plateau de fromages");
+        assertThat(plats.get(0).typesMenu()).containsExactlyInAnyOrder(MenuType.LUNCH, MenuType.SOUPER);
+        assertThat(plats.get(1).typesMenu()).isEmpty();
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Should load plat entities with their menu types in one query")
+    void shouldFetchPlatsWithMenuTypesInOneQuery() {
+        // Given
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // When
+        List<Plat> plats = platRepository.findAllWithTypesMenu();
+
+        // Then
+        assertThat(plats).hasSize(2);
+        assertThat(plats.get(0).getTypesMenu()).containsExactlyInAnyOrder(MenuType.LUNCH, MenuType.SOUPER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        statistics.setStatisticsEnabled(false);
+    }
+}
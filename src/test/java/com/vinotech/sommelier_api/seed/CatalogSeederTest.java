@@ -0,0 +1,267 @@
+package com.vinotech.sommelier_api.seed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.PlatIndex;
+import com.vinotech.sommelier_api.catalog.SecondLevelCache;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("CatalogSeeder Tests")
+class CatalogSeederTest {
+
+    private static final String VINS = """
+            [{"nom": "Sancerre", "region": "Loire", "couleur": "BLANC"},
+             {"nom": "Margaux", "region": "Bordeaux", "couleur": "ROUGE"}]""";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    private SeedLoader seedLoader;
+    private SeedReconciler seedReconciler;
+    private SeedLock seedLock;
+    private SeedMetadata seedMetadata;
+    private CatalogSeeder seeder;
+
+    private final VinCatalog vinCatalog = mock(VinCatalog.class);
+    private final PairingEngine pairingEngine = mock(PairingEngine.class);
+    private final PlatIndex platIndex = mock(PlatIndex.class);
+    private final CatalogVersion catalogVersion = mock(CatalogVersion.class);
+    private final SecondLevelCache secondLevelCache = mock(SecondLevelCache.class);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        seedLoader = new SeedLoader(jdbcTemplate, new ObjectMapper(), entityManagerFactory);
+        seedReconciler = new SeedReconciler(jdbcTemplate, new ObjectMapper(), seedLoader);
+        seedLock = new SeedLock(jdbcTemplate);
+        seedMetadata = new SeedMetadata(jdbcTemplate, new ObjectMapper());
+        seeder = seeder(seedLock, CatalogSeeder.Mode.LOAD);
+    }
+
+    // ==================== Content Hash Tests ====================
+
+    @Test
+    @DisplayName("Should load a seed once, then skip it while its content hash is unchanged")
+    void shouldSkipUnchangedSeed() {
+        // Given
+        assertThat(seeder.seed(List.of(vins(VINS)), CatalogSeeder.Mode.LOAD)).isTrue();
+
+        // When
+        boolean loadedAgain = seeder.seed(List.of(vins(VINS)), CatalogSeeder.Mode.LOAD);
+
+        // Then
+        assertThat(loadedAgain).isFalse();
+        assertThat(loads).hasValue(1);
+        assertThat(vinRepository.count()).isEqualTo(2);
+        assertThat(seedMetadata.hash("vins")).contains(CatalogSeeder.hash(resource(VINS)));
+    }
+
+    @Test
+    @DisplayName("Should keep existing rows and the previous hash when the seed file changes, until reconciled")
+    void shouldKeepExistingRowsWhenSeedChanges() {
+        // Given
+        seeder.seed(List.of(vins(VINS)), CatalogSeeder.Mode.LOAD);
+        String changed = VINS.replace("Margaux", "Pauillac");
+
+        // When
+        boolean loaded = seeder.seed(List.of(vins(changed)), CatalogSeeder.Mode.LOAD);
+
+        // Then - les lignes ne correspondent pas au nouveau fichier : son empreinte n'est pas enregistrée
+        assertThat(loaded).isFalse();
+        assertThat(loads).hasValue(1);
+        assertThat(seedMetadata.hash("vins")).contains(CatalogSeeder.hash(resource(VINS)));
+        assertThat(jdbcTemplate.queryForList("select nom from vins order by nom", String.class))
+                .containsExactly("Margaux", "Sancerre");
+
+        // When - passage en RECONCILE au démarrage suivant
+        boolean written = seeder.seed(List.of(vins(changed)), CatalogSeeder.Mode.RECONCILE);
+
+        // Then
+        assertThat(written).isTrue();
+        assertThat(jdbcTemplate.queryForList("select nom from vins order by nom", String.class))
+                .containsExactly("Pauillac", "Sancerre");
+        assertThat(seedMetadata.hash("vins")).contains(CatalogSeeder.hash(resource(changed)));
+    }
+
+    @Test
+    @DisplayName("Should apply only the differences when the seed file changes in RECONCILE mode")
+    void shouldReconcileChangedSeed() {
+        // Given
+        seeder.seed(List.of(vins(VINS)), CatalogSeeder.Mode.LOAD);
+        Long sancerreId = jdbcTemplate.queryForObject("select id from vins where nom = 'Sancerre'", Long.class);
+        String changed = VINS.replace("Margaux", "Pauillac");
+        clearInvocations(vinCatalog);
+
+        // When
+        boolean written = seeder.seed(List.of(vins(changed)), CatalogSeeder.Mode.RECONCILE);
+
+        // Then
+        assertThat(written).isTrue();
+        assertThat(loads).hasValue(1);
+        assertThat(jdbcTemplate.queryForList("select nom from vins order by nom", String.class))
+                .containsExactly("Pauillac", "Sancerre");
+        assertThat(jdbcTemplate.queryForObject("select id from vins where nom = 'Sancerre'", Long.class))
+                .isEqualTo(sancerreId);
+        assertThat(seedMetadata.hash("vins")).contains(CatalogSeeder.hash(resource(changed)));
+        verify(vinCatalog).invalidate();
+    }
+
+    @Test
+    @DisplayName("Should record the seeded keys and keep wines created through the API when reconciling")
+    void shouldKeepApiRowsWhenReconciling() {
+        // Given
+        seeder.seed(List.of(vins(VINS)), CatalogSeeder.Mode.LOAD);
+        jdbcTemplate.update("insert into vins (id, nom, region) values (9000, 'Chablis', 'Bourgogne')");
+        String changed = VINS.replace("Margaux", "Pauillac");
+
+        // When
+        seeder.seed(List.of(vins(changed)), CatalogSeeder.Mode.RECONCILE);
+
+        // Then
+        assertThat(jdbcTemplate.queryForList("select nom from vins order by nom", String.class))
+                .containsExactly("Chablis", "Pauillac", "Sancerre");
+        assertThat(seedMetadata.keys("vins"))
+                .containsExactlyInAnyOrder(List.of("Sancerre", "Loire"), List.of("Pauillac", "Bordeaux"));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the in-memory structures only after a write")
+    void shouldInvalidateOnlyAfterWrite() {
+        // Given
+        seeder.seed(List.of(vins(VINS)), CatalogSeeder.Mode.LOAD);
+        verify(vinCatalog).invalidate();
+        verify(pairingEngine).invalidate();
+        verify(platIndex).invalidate();
+        verify(catalogVersion).bump();
+        verify(secondLevelCache).onCatalogReloaded();
+
+        // When
+        seeder.seed(List.of(vins(VINS)), CatalogSeeder.Mode.RECONCILE);
+
+        // Then
+        verifyNoMoreInteractions(vinCatalog, pairingEngine, platIndex, catalogVersion, secondLevelCache);
+    }
+
+    @Test
+    @DisplayName("Should reload a seed whose table was emptied despite a recorded hash")
+    void shouldReloadEmptiedTable() {
+        // Given
+        seeder.seed(List.of(vins(VINS)), CatalogSeeder.Mode.LOAD);
+        jdbcTemplate.update("delete from vins");
+
+        // When
+        boolean loaded = seeder.seed(List.of(vins(VINS)), CatalogSeeder.Mode.LOAD);
+
+        // Then
+        assertThat(loaded).isTrue();
+        assertThat(loads).hasValue(2);
+        assertThat(vinRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should seed the bundled files once")
+    void shouldSeedBundledFiles() {
+        // When
+        boolean first = seeder.seed();
+        boolean second = seeder.seed();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(vinRepository.count()).isEqualTo(114);
+        assertThat(platRepository.count()).isEqualTo(26);
+    }
+
+    // ==================== Lock Tests ====================
+
+    @Test
+    @DisplayName("Should wait for the instance holding the lock, then rebuild the in-memory structures without reloading")
+    void shouldRefreshAfterWaitingForLock() {
+        // Given : l'instance qui détenait le verrou a chargé le fichier
+        seeder.seed(List.of(vins(VINS)), CatalogSeeder.Mode.LOAD);
+        clearInvocations(vinCatalog, pairingEngine, platIndex, catalogVersion, secondLevelCache);
+        SeedLock held = mock(SeedLock.class);
+        when(held.acquire()).thenReturn(true);
+        CatalogSeeder other = seeder(held, CatalogSeeder.Mode.LOAD);
+
+        // When
+        boolean loaded = other.seed(List.of(vins(VINS)), CatalogSeeder.Mode.LOAD);
+
+        // Then : rien à recharger, mais les photos lues pendant l'attente sont jetées
+        assertThat(loaded).isFalse();
+        assertThat(loads).hasValue(1);
+        verify(vinCatalog).invalidate();
+        verify(pairingEngine).invalidate();
+        verify(platIndex).invalidate();
+        verify(catalogVersion).bump();
+        verify(secondLevelCache).onCatalogReloaded();
+    }
+
+    @Test
+    @DisplayName("Should acquire the no-op lock on H2 inside a transaction without waiting")
+    void shouldAcquireNoOpLockInTransaction() {
+        assertThat(seedLock.acquire()).isFalse();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should refuse to take the lock outside a transaction")
+    void shouldRefuseLockOutsideTransaction() {
+        assertThatThrownBy(() -> seedLock.acquire())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private CatalogSeeder seeder(SeedLock lock, CatalogSeeder.Mode mode) {
+        return new CatalogSeeder(seedLoader, seedReconciler, lock, seedMetadata, transactionManager,
+                vinCatalog, pairingEngine, platIndex, catalogVersion, secondLevelCache, mode);
+    }
+
+    private CatalogSeeder.Seed vins(String json) {
+        return new CatalogSeeder.Seed("vins", resource(json), "vins", in -> {
+            loads.incrementAndGet();
+            return seedLoader.loadVins(in);
+        }, seedReconciler::reconcileVins, seedReconciler::vinKeys);
+    }
+
+    private static ByteArrayResource resource(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,171 @@
+package com.vinotech.sommelier_api.seed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("SeedLoader Tests")
+class SeedLoaderTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    private SeedLoader seedLoader;
+
+    @BeforeEach
+    void setUp() {
+        seedLoader = new SeedLoader(jdbcTemplate, new ObjectMapper(), entityManagerFactory);
+    }
+
+    // ==================== Loading Tests ====================
+
+    @Test
+    @DisplayName("Should load vins with their columns, nulls and quotes")
+    void shouldLoadVins() throws Exception {
+        // When
+        int count = seedLoader.loadVins(json("""
+                [{"nom": "Cava, \\"Brut\\"", "region": "Espagne", "prix": 61.00, "couleur": "EFFERVESCENT",
+                  "cepage": "Assemblage", "notesDegustation": "Fleurs blanches."},
+                 {"nom": "Sans prix", "region": "France", "couleur": "ROUGE"}]"""));
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        List<Vin> vins = vinRepository.findAll();
+        assertThat(vins).extracting(Vin::getNom).containsExactlyInAnyOrder("Cava, \"Brut\"", "Sans prix");
+        Vin cava = vins.stream().filter(vin -> vin.getPrix() != null).findFirst().orElseThrow();
+        assertThat(cava.getPrix()).isEqualByComparingTo("61.00");
+        assertThat(cava.getCouleur()).isEqualTo(CouleurVin.EFFERVESCENT);
+        assertThat(cava.getNotesDegustation()).isEqualTo("Fleurs blanches.");
+    }
+
+    @Test
+    @DisplayName("Should load plats with their menu types")
+    void shouldLoadPlatsWithMenuTypes() throws Exception {
+        // When
+        int count = seedLoader.loadPlats(json("""
+                [{"nom": "Sandwich Tempeh", "allergenes": "Soja, Gluten", "allergenesModifiables": "",
+                  "typesMenu": ["LUNCH", "SOUPER"]},
+                 {"nom": "Dessert", "typesMenu": []}]"""));
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        List<Plat> plats = platRepository.findAllWithTypesMenu();
+        assertThat(plats.get(0).getTypesMenu()).containsExactlyInAnyOrder(MenuType.LUNCH, MenuType.SOUPER);
+        assertThat(plats.get(0).getAllergenesModifiables()).isEmpty();
+        assertThat(plats.get(1).getTypesMenu()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should load the bundled catalog files")
+    void shouldLoadBundledCatalog() throws Exception {
+        try (InputStream vins = new ClassPathResource("vins.json").getInputStream();
+             InputStream plats = new ClassPathResource("plats.json").getInputStream()) {
+            assertThat(seedLoader.loadVins(vins)).isEqualTo(114);
+            assertThat(seedLoader.loadPlats(plats)).isEqualTo(26);
+        }
+        assertThat(vinRepository.count()).isEqualTo(114);
+        assertThat(platRepository.count()).isEqualTo(26);
+    }
+
+    @Test
+    @DisplayName("Should stream files larger than a chunk")
+    void shouldStreamSeveralChunks() throws Exception {
+        // Given
+        StringBuilder json = new StringBuilder("[");
+        int total = SeedLoader.CHUNK_SIZE * 2 + 17;
+        for (int i = 0; i < total; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"nom\": \"Vin ").append(i).append("\", \"region\": \"Loire\"}");
+        }
+        json.append("]");
+
+        // When
+        int count = seedLoader.loadVins(json(json.toString()));
+
+        // Then
+        assertThat(count).isEqualTo(total);
+        assertThat(vinRepository.count()).isEqualTo(total);
+        assertThat(jdbcTemplate.queryForObject("select count(distinct id) from vins", Long.class)).isEqualTo(total);
+    }
+
+    @Test
+    @DisplayName("Should reject a document that is not an array")
+    void shouldRejectNonArray() {
+        assertThatThrownBy(() -> seedLoader.loadVins(json("{\"nom\": \"Seul\"}")))
+                .hasMessage("Expected a JSON array of Vin");
+    }
+
+    // ==================== Id allocation Tests ====================
+
+    @Test
+    @DisplayName("Should not hand out ids that Hibernate also uses, in either order")
+    void shouldNotCollideWithHibernateIds() throws Exception {
+        // Given - Hibernate puis le chargeur puis Hibernate
+        Vin first = vinRepository.save(Vin.builder().nom("Avant").region("Loire").build());
+        entityManager.flush();
+        seedLoader.loadVins(json("[{\"nom\": \"Chargé\", \"region\": \"Loire\"}]"));
+        Vin after = vinRepository.save(Vin.builder().nom("Après").region("Loire").build());
+        entityManager.flush();
+
+        // When
+        long[] allocated = seedLoader.allocateIds(Vin.ID_SEQUENCE, Vin.ID_ALLOCATION_SIZE, 120);
+
+        // Then
+        assertThat(vinRepository.count()).isEqualTo(3);
+        assertThat(allocated).doesNotContain(first.getId(), after.getId());
+        assertThat(Arrays.stream(allocated).distinct().count()).isEqualTo(120);
+        assertThat(jdbcTemplate.queryForObject("select count(distinct id) from vins", Long.class)).isEqualTo(3);
+    }
+
+    // ==================== COPY encoding Tests ====================
+
+    @Test
+    @DisplayName("Should encode COPY rows as CSV with NULLs unquoted and strings quoted")
+    void shouldEncodeCopyRows() {
+        String csv = SeedLoader.csv(List.<Object[]>of(
+                new Object[]{1L, "Cava, \"Brut\"", new BigDecimal("61.00"), null, ""}));
+
+        assertThat(csv).isEqualTo("1,\"Cava, \"\"Brut\"\"\",61.00,,\"\"\n");
+    }
+
+    private static InputStream json(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
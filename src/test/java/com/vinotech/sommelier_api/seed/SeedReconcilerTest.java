@@ -0,0 +1,229 @@
+package com.vinotech.sommelier_api.seed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("SeedReconciler Tests")
+class SeedReconcilerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    private SeedLoader seedLoader;
+    private SeedReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        seedLoader = new SeedLoader(jdbcTemplate, new ObjectMapper(), entityManagerFactory);
+        reconciler = new SeedReconciler(jdbcTemplate, new ObjectMapper(), seedLoader);
+    }
+
+    // ==================== Vins Tests ====================
+
+    @Test
+    @DisplayName("Should insert, update and delete vins by (nom, region), keeping ids and accords of the others")
+    void shouldReconcileVins() throws Exception {
+        // Given
+        String seed = """
+                [{"nom": "Sancerre", "region": "Loire", "prix": 18.00, "couleur": "BLANC"},
+                 {"nom": "Sancerre", "region": "Bourgogne", "prix": 25.00},
+                 {"nom": "Margaux", "region": "Bordeaux", "prix": 150.00, "couleur": "ROUGE"}]""";
+        seedLoader.loadVins(json(seed));
+        long sancerre = idOf("Sancerre", "Loire");
+        long margaux = idOf("Margaux", "Bordeaux");
+        Plat plat = new Plat();
+        plat.setNom("Huîtres");
+        long platId = platRepository.saveAndFlush(plat).getId();
+        jdbcTemplate.update("insert into accord_vin_plat (vin_id, plat_id) values (?, ?), (?, ?)",
+                sancerre, platId, margaux, platId);
+
+        // When
+        SeedDiff diff = reconciler.reconcileVins(json("""
+                [{"nom": "Sancerre", "region": "Loire", "prix": 19.50, "couleur": "BLANC"},
+                 {"nom": "Sancerre", "region": "Bourgogne", "prix": 25},
+                 {"nom": "Pauillac", "region": "Bordeaux", "couleur": "ROUGE"}]"""), reconciler.vinKeys(json(seed)));
+
+        // Then
+        assertThat(diff).isEqualTo(new SeedDiff(1, 1, 1));
+        entityManager.clear();
+        List<Vin> vins = vinRepository.findAll();
+        assertThat(vins).extracting(Vin::getNom)
+                .containsExactlyInAnyOrder("Sancerre", "Sancerre", "Pauillac");
+        assertThat(vinRepository.findById(sancerre)).get()
+                .extracting(Vin::getPrix).isEqualTo(new BigDecimal("19.50"));
+        assertThat(vinRepository.findById(margaux)).isEmpty();
+        assertThat(vins).filteredOn(v -> v.getNom().equals("Pauillac"))
+                .singleElement().extracting(Vin::getCouleur).isEqualTo(CouleurVin.ROUGE);
+        assertThat(jdbcTemplate.queryForList("select vin_id from accord_vin_plat", Long.class))
+                .containsExactly(sancerre);
+    }
+
+    @Test
+    @DisplayName("Should write nothing when the file matches the table")
+    void shouldWriteNothingWhenUnchanged() throws Exception {
+        // Given
+        String vins = """
+                [{"nom": "Sancerre", "region": "Loire", "prix": 18, "couleur": "BLANC"}]""";
+        seedLoader.loadVins(json(vins));
+
+        // When
+        SeedDiff diff = reconciler.reconcileVins(json(vins), reconciler.vinKeys(json(vins)));
+
+        // Then
+        assertThat(diff.changes()).isZero();
+    }
+
+    @Test
+    // ALTER SEQUENCE valide la transaction en cours sur H2 : le test écrit hors transaction et nettoie derrière lui
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should keep new ids clear of existing rows when the sequence lags behind the table")
+    void shouldAlignSequenceBeforeInserting() throws Exception {
+        try {
+            // Given : une ligne dont l'id n'a pas été tiré de la séquence (ancien schéma SERIAL)
+            jdbcTemplate.update("insert into vins (id, nom, region) values (5000, 'Ancien', 'Loire')");
+
+            // When
+            reconciler.reconcileVins(json("""
+                    [{"nom": "Ancien", "region": "Loire"},
+                     {"nom": "Nouveau", "region": "Loire"}]"""), Set.of());
+
+            // Then
+            assertThat(idOf("Nouveau", "Loire")).isGreaterThan(5000);
+        } finally {
+            jdbcTemplate.update("delete from vins");
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep vins that no seed file put in the table, with their accords")
+    void shouldKeepVinsCreatedThroughApi() throws Exception {
+        // Given
+        String seed = """
+                [{"nom": "Sancerre", "region": "Loire", "prix": 18.00, "couleur": "BLANC"},
+                 {"nom": "Margaux", "region": "Bordeaux", "prix": 150.00, "couleur": "ROUGE"}]""";
+        seedLoader.loadVins(json(seed));
+        Plat plat = new Plat();
+        plat.setNom("Huîtres");
+        Vin created = Vin.builder().nom("Chablis").region("Bourgogne").build();
+        created.addPlat(plat);
+        platRepository.save(plat);
+        long chablis = vinRepository.saveAndFlush(created).getId();
+
+        // When - Margaux est retiré du fichier, Chablis n'a jamais été dans un fichier
+        SeedDiff diff = reconciler.reconcileVins(json("""
+                [{"nom": "Sancerre", "region": "Loire", "prix": 18.00, "couleur": "BLANC"}]"""),
+                reconciler.vinKeys(json(seed)));
+
+        // Then
+        assertThat(diff).isEqualTo(new SeedDiff(0, 0, 1));
+        entityManager.clear();
+        assertThat(vinRepository.findAll()).extracting(Vin::getNom).containsExactlyInAnyOrder("Sancerre", "Chablis");
+        assertThat(jdbcTemplate.queryForList("select vin_id from accord_vin_plat", Long.class))
+                .containsExactly(chablis);
+    }
+
+    @Test
+    @DisplayName("Should delete nothing when no seeded keys were recorded")
+    void shouldDeleteNothingWithoutSeededKeys() throws Exception {
+        // Given
+        seedLoader.loadVins(json("""
+                [{"nom": "Sancerre", "region": "Loire"}, {"nom": "Margaux", "region": "Bordeaux"}]"""));
+
+        // When
+        SeedDiff diff = reconciler.reconcileVins(json("""
+                [{"nom": "Sancerre", "region": "Loire"}]"""), Set.of());
+
+        // Then
+        assertThat(diff.changes()).isZero();
+        assertThat(vinRepository.count()).isEqualTo(2);
+    }
+
+    // ==================== Plats Tests ====================
+
+    @Test
+    @DisplayName("Should update plat columns and menu types in place and delete removed seeded plats only")
+    void shouldReconcilePlats() throws Exception {
+        // Given
+        String seed = """
+                [{"nom": "Tartare", "allergenes": "Oeuf", "typesMenu": ["SOUPER"]},
+                 {"nom": "Soupe", "allergenes": "", "typesMenu": ["LUNCH"]},
+                 {"nom": "Salade", "allergenes": "Noix", "typesMenu": ["LUNCH", "SOUPER"]}]""";
+        seedLoader.loadPlats(json(seed));
+        long tartare = platId("Tartare");
+        long salade = platId("Salade");
+        Plat created = new Plat();
+        created.setNom("Plat du jour");
+        created.setTypesMenu(Set.of(MenuType.LUNCH));
+        platRepository.saveAndFlush(created);
+
+        // When
+        SeedDiff diff = reconciler.reconcilePlats(json("""
+                [{"nom": "Tartare", "allergenes": "Oeuf, Moutarde", "typesMenu": ["SOUPER"]},
+                 {"nom": "Salade", "allergenes": "Noix", "typesMenu": ["LUNCH"]},
+                 {"nom": "Dessert", "allergenes": "Lait", "typesMenu": ["BRUNCH"]}]"""), reconciler.platKeys(json(seed)));
+
+        // Then
+        assertThat(diff).isEqualTo(new SeedDiff(1, 2, 1));
+        entityManager.clear();
+        assertThat(platRepository.findById(tartare)).get()
+                .extracting(Plat::getAllergenes).isEqualTo("Oeuf, Moutarde");
+        assertThat(platRepository.findById(salade)).get()
+                .extracting(Plat::getTypesMenu).isEqualTo(Set.of(MenuType.LUNCH));
+        assertThat(platRepository.findAll()).extracting(Plat::getNom)
+                .containsExactlyInAnyOrder("Tartare", "Salade", "Dessert", "Plat du jour");
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from plat_menu_types where plat_id not in (select id from plats)", Integer.class))
+                .isZero();
+    }
+
+    private long idOf(String nom, String region) {
+        return jdbcTemplate.queryForObject("select id from vins where nom = ? and region = ?", Long.class, nom, region);
+    }
+
+    private long platId(String nom) {
+        return jdbcTemplate.queryForObject("select id from plats where nom = ?", Long.class, nom);
+    }
+
+    private static InputStream json(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
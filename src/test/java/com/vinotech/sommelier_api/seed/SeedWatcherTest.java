@@ -0,0 +1,56 @@
+package com.vinotech.sommelier_api.seed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("SeedWatcher Tests")
+class SeedWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private final CatalogSeeder catalogSeeder = mock(CatalogSeeder.class);
+    private SeedWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        watcher = new SeedWatcher(catalogSeeder, directory);
+        watcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcher.stop();
+    }
+
+    @Test
+    @DisplayName("Should reconcile once for a burst of writes to a seed file")
+    void shouldReconcileOnSeedFileChange() throws IOException {
+        // When
+        Files.writeString(directory.resolve(CatalogSeeder.VINS_FILE), "[");
+        Files.writeString(directory.resolve(CatalogSeeder.VINS_FILE), "[]");
+
+        // Then
+        verify(catalogSeeder, timeout(5_000)).reconcile(directory.toAbsolutePath());
+        verify(catalogSeeder, after(2 * SeedWatcher.DEBOUNCE_MS).atMost(1)).reconcile(any());
+    }
+
+    @Test
+    @DisplayName("Should ignore files other than the seed files")
+    void shouldIgnoreOtherFiles() throws IOException {
+        // When
+        Files.writeString(directory.resolve("notes.txt"), "brouillon");
+
+        // Then
+        verify(catalogSeeder, after(3 * SeedWatcher.DEBOUNCE_MS).never()).reconcile(any());
+    }
+}
@@ -0,0 +1,217 @@
+package com.vinotech.sommelier_api.service;
+
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.SecondLevelCache;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import com.vinotech.sommelier_api.catalog.VinSuggester;
+import com.vinotech.sommelier_api.dto.AccordBulkResult;
+import com.vinotech.sommelier_api.dto.AccordOperation;
+import com.vinotech.sommelier_api.dto.VinSuggestion;
+import com.vinotech.sommelier_api.exception.InvalidRequestException;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.AccordRepository;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.vinotech.sommelier_api.dto.AccordOperation.Op.LINK;
+import static com.vinotech.sommelier_api.dto.AccordOperation.Op.UNLINK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AccordRepository.class)
+@DisplayName("AccordService bulk Tests")
+class AccordServiceTest {
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    @Autowired
+    private AccordRepository accordRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final PairingEngine pairingEngine = mock(PairingEngine.class);
+    private final SecondLevelCache secondLevelCache = mock(SecondLevelCache.class);
+    private final VinCatalog vinCatalog = mock(VinCatalog.class);
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private AccordService accordService;
+
+    private final List<Long> vinIds = new ArrayList<>();
+    private final List<Long> platIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            vinIds.add(vinRepository.save(Vin.builder().nom("Vin " + i).region("Loire")
+                    .couleur(CouleurVin.ROUGE).build()).getId());
+            Plat plat = new Plat();
+            plat.setNom("Plat " + i);
+            platIds.add(platRepository.save(plat).getId());
+        }
+        entityManager.flush();
+        accordService = new AccordService(accordRepository, pairingEngine, secondLevelCache, vinCatalog,
+                catalogVersion);
+    }
+
+    @Test
+    @DisplayName("Should link, skip existing accords and let the last operation on a pair win")
+    void shouldLinkAndUnlinkInOneBatch() {
+        // Given
+        accordService.apply(List.of(op(0, 0, LINK)));
+
+        // When
+        AccordBulkResult result = accordService.apply(List.of(
+                op(0, 0, LINK),      // déjà présent
+                op(0, 1, LINK),
+                op(1, 2, LINK),
+                op(2, 2, LINK),
+                op(2, 2, UNLINK),    // la dernière opération sur la paire l'emporte
+                op(1, 0, UNLINK)));  // absent
+
+        // Then
+        assertThat(result).isEqualTo(new AccordBulkResult(2, 0, 4));
+        entityManager.clear();
+        assertThat(vinRepository.findById(vinIds.get(0)).orElseThrow().getPlatsAccordes())
+                .extracting(Plat::getNom).containsExactlyInAnyOrder("Plat 0", "Plat 1");
+        assertThat(vinRepository.findById(vinIds.get(2)).orElseThrow().getPlatsAccordes()).isEmpty();
+        verify(pairingEngine, times(2)).onAccordsChanged();
+        verify(secondLevelCache, times(2)).onAccordsChanged();
+        verify(vinCatalog, times(2)).onAccordsChanged();
+    }
+
+    @Test
+    @DisplayName("Should unlink existing accords")
+    void shouldUnlinkExistingAccords() {
+        // Given
+        accordService.apply(List.of(op(0, 0, LINK), op(0, 1, LINK), op(1, 1, LINK)));
+
+        // When
+        AccordBulkResult result = accordService.apply(List.of(op(0, 1, UNLINK), op(1, 1, UNLINK)));
+
+        // Then
+        assertThat(result).isEqualTo(new AccordBulkResult(0, 2, 0));
+        entityManager.clear();
+        assertThat(platRepository.findById(platIds.get(1)).orElseThrow().getVinsAccordes()).isEmpty();
+        assertThat(platRepository.findById(platIds.get(0)).orElseThrow().getVinsAccordes()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should write across several JDBC batches")
+    void shouldWriteAcrossSeveralBatches() {
+        // Given - plus de lignes qu'un lot
+        List<Plat> plats = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            Plat plat = new Plat();
+            plat.setNom("Menu " + i);
+            plats.add(plat);
+        }
+        platRepository.saveAll(plats);
+        entityManager.flush();
+        List<AccordOperation> operations = plats.stream()
+                .map(plat -> new AccordOperation(vinIds.get(0), plat.getId(), LINK))
+                .toList();
+
+        // When
+        AccordBulkResult result = accordService.apply(operations);
+
+        // Then
+        assertThat(result.linked()).isEqualTo(600);
+        entityManager.clear();
+        assertThat(vinRepository.findById(vinIds.get(0)).orElseThrow().getPlatsAccordes()).hasSize(600);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown ids and incomplete operations without writing")
+    void shouldRejectInvalidOperations() {
+        assertThatThrownBy(() -> accordService.apply(List.of(op(0, 0, LINK),
+                new AccordOperation(vinIds.get(0), 999_999L, LINK))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Unknown plat id(s): [999999]");
+        assertThatThrownBy(() -> accordService.apply(List.of(new AccordOperation(vinIds.get(0), null, LINK))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("Operation 0");
+
+        entityManager.clear();
+        assertThat(vinRepository.findById(vinIds.get(0)).orElseThrow().getPlatsAccordes()).isEmpty();
+        verify(pairingEngine, never()).onAccordsChanged();
+        verify(secondLevelCache, never()).onAccordsChanged();
+        verify(vinCatalog, never()).onAccordsChanged();
+    }
+
+    @Test
+    @DisplayName("Should refresh the catalog snapshot and the suggestions once the batch is committed")
+    void shouldRefreshCatalogAfterCommit() throws InterruptedException {
+        // Given - données validées pour que les actions après commit s'exécutent
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        VinCatalog catalog = new VinCatalog(vinRepository, new SimpleMeterRegistry(), true, "en-US");
+        AccordService service = new AccordService(accordRepository, pairingEngine, secondLevelCache, catalog,
+                catalogVersion);
+        VinService vinService = new VinService(vinRepository, catalog, catalogVersion, mock(SearchTotals.class),
+                mock(SearchResultCache.class), mock(SearchCoalescer.class), pairingEngine);
+        VinSuggester suggester = new VinSuggester(catalog, vinRepository, catalogVersion, new SimpleMeterRegistry());
+        try {
+            assertThat(suggester.suggest("Vin 0", 1)).extracting(VinSuggestion::popularity).containsExactly(1);
+
+            // When - liaison en masse validée, puis sauvegarde du vin détaché (accords non chargés)
+            TestTransaction.start();
+            service.apply(List.of(op(0, 0, LINK), op(0, 1, LINK)));
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+            Vin detached = vinRepository.findById(vinIds.get(0)).orElseThrow();
+            detached.setPrix(new BigDecimal("42.00"));
+            vinService.save(detached);
+
+            // Then
+            assertThat(catalogVersion.current()).isEqualTo(2);
+            Vin cached = catalog.findAll().stream().filter(vin -> vin.getId().equals(vinIds.get(0))).findFirst()
+                    .orElseThrow();
+            assertThat(cached.getPrix()).isEqualByComparingTo("42.00");
+            assertThat(cached.getPlatsAccordes()).extracting(Plat::getNom)
+                    .containsExactlyInAnyOrder("Plat 0", "Plat 1");
+            assertThat(awaitPopularity(suggester, "Vin 0", 3)).isEqualTo(3);
+        } finally {
+            vinRepository.deleteAllById(vinIds);
+            platRepository.deleteAllById(platIds);
+        }
+    }
+
+    // La reconstruction des suggestions se fait en tâche de fond
+    private static int awaitPopularity(VinSuggester suggester, String prefix, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        int popularity = suggester.suggest(prefix, 1).get(0).popularity();
+        while (popularity != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            popularity = suggester.suggest(prefix, 1).get(0).popularity();
+        }
+        return popularity;
+    }
+
+    private AccordOperation op(int vin, int plat, AccordOperation.Op op) {
+        return new AccordOperation(vinIds.get(vin), platIds.get(plat), op);
+    }
+}
@@ -0,0 +1,107 @@
+package com.vinotech.sommelier_api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.MenuType;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("NdjsonExportService Tests")
+class NdjsonExportServiceTest {
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private NdjsonExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new NdjsonExportService(vinRepository, platRepository, entityManager, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line, in id order, without associations")
+    void shouldWriteOneObjectPerLine() throws Exception {
+        // Given
+        for (int i = 1; i <= 3; i++) {
+            vinRepository.save(Vin.builder().nom("Vin " + i).region("Loire")
+                    .prix(new BigDecimal("1" + i + ".00")).couleur(CouleurVin.BLANC).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.exportVins(out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[3]).isEmpty();
+        for (int i = 0; i < 3; i++) {
+            JsonNode vin = objectMapper.readTree(lines[i]);
+            assertThat(vin.get("nom").asText()).isEqualTo("Vin " + (i + 1));
+            assertThat(vin.has("platsAccordes")).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should detach every exported entity so the persistence context stays empty")
+    void shouldDetachExportedEntities() {
+        // Given
+        Plat plat = new Plat();
+        plat.setNom("Tartare de Truite");
+        plat.setTypesMenu(Set.of(MenuType.LUNCH));
+        platRepository.save(plat);
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.exportPlats(out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("\"typesMenu\":[\"LUNCH\"]").endsWith("}\n");
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write nothing for an empty catalog")
+    void shouldWriteNothingForEmptyCatalog() {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.exportVins(out);
+
+        // Then
+        assertThat(out.size()).isZero();
+    }
+}
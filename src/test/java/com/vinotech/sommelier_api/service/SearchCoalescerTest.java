@@ -0,0 +1,189 @@
+package com.vinotech.sommelier_api.service;
+
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.VinFilter;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.exception.InvalidRequestException;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SearchCoalescer Tests")
+class SearchCoalescerTest {
+
+    private static final VinFilter ROUGES = new VinFilter(CouleurVin.ROUGE, null, 60.0, null);
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+    private static final int CLIENTS = 8;
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final AtomicInteger searches = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private SearchCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new SearchCoalescer(true, catalogVersion, meterRegistry);
+        executor = Executors.newFixedThreadPool(CLIENTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    // ==================== Coalescing Tests ====================
+
+    @Test
+    @DisplayName("Should run one search for identical concurrent requests and share its page")
+    void shouldShareOneSearchBetweenConcurrentRequests() throws Exception {
+        // Given : la première recherche reste en cours
+        Page<VinView> page = new PageImpl<>(List.of());
+        List<Future<Page<VinView>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.execute(ROUGES, PAGE, blockingSearch(() -> page))));
+        awaitInFlight(1);
+
+        // When : les mêmes critères, écrits autrement, arrivent pendant ce temps
+        for (int i = 1; i < CLIENTS; i++) {
+            VinFilter sameFilter = new VinFilter(CouleurVin.ROUGE, null, 60.0, "");
+            results.add(executor.submit(() -> coalescer.execute(sameFilter, PageRequest.of(0, 20), blockingSearch(() -> page))));
+        }
+        awaitCoalesced(CLIENTS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<Page<VinView>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(page);
+        }
+        assertThat(searches).hasValue(1);
+        assertThat(meterRegistry.get("vin.search.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should search again once the previous identical search has completed")
+    void shouldNotKeepResults() {
+        // When
+        coalescer.execute(ROUGES, PAGE, search());
+        coalescer.execute(ROUGES, PAGE, search());
+
+        // Then
+        assertThat(searches).hasValue(2);
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not share a search started before a catalog write")
+    void shouldNotShareAcrossGenerations() throws Exception {
+        // Given
+        Future<Page<VinView>> before = executor.submit(() ->
+                coalescer.execute(ROUGES, PAGE, blockingSearch(() -> new PageImpl<>(List.of()))));
+        awaitInFlight(1);
+
+        // When
+        catalogVersion.bump();
+        coalescer.execute(ROUGES, PAGE, search());
+        release.countDown();
+        before.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(searches).hasValue(2);
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should propagate the failure of the shared search to every waiting request")
+    void shouldPropagateFailureToWaiters() throws Exception {
+        // Given
+        InvalidRequestException failure = new InvalidRequestException("Invalid sort property: nom2");
+        Future<Page<VinView>> leader = executor.submit(() ->
+                coalescer.execute(ROUGES, PAGE, blockingSearch(() -> { throw failure; })));
+        awaitInFlight(1);
+        Future<Page<VinView>> follower = executor.submit(() -> coalescer.execute(ROUGES, PAGE, search()));
+        awaitCoalesced(1);
+
+        // When
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasCause(failure);
+        assertThat(searches).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should run every search when disabled")
+    void shouldRunEverySearchWhenDisabled() {
+        // Given
+        SearchCoalescer disabled = new SearchCoalescer(false, catalogVersion, new SimpleMeterRegistry());
+
+        // When
+        disabled.execute(ROUGES, PAGE, search());
+        disabled.execute(ROUGES, Pageable.unpaged(), search());
+
+        // Then
+        assertThat(searches).hasValue(2);
+    }
+
+    private Supplier<Page<VinView>> search() {
+        return () -> {
+            searches.incrementAndGet();
+            return new PageImpl<>(List.of());
+        };
+    }
+
+    private Supplier<Page<VinView>> blockingSearch(Supplier<Page<VinView>> result) {
+        return () -> {
+            searches.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("vin.search.in.flight").gauge().value() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("vin.search.coalesced").counter().count();
+    }
+}
@@ -0,0 +1,260 @@
+package com.vinotech.sommelier_api.service;
+
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Plat;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.PlatRepository;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Plans PostgreSQL des recherches en base, sur un PostgreSQL embarqué migré par Flyway (les index trigrammes
+ * n'existent pas sous H2).
+ * <p>
+ * Le SQL est celui que Hibernate envoie réellement, capturé au passage, les valeurs des critères inlinées pour que
+ * l'{@code EXPLAIN} voie les motifs {@code LIKE}. Les parcours séquentiels sont désactivés : le planificateur n'en
+ * choisit un que si aucun index ne peut servir le prédicat, ce qui rend le test indépendant du volume de données.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Configuration principale (dialecte PostgreSQL, Flyway, ddl-auto=validate), pas le profil test sur H2
+@TestPropertySource(properties = "logging.level.root=WARN")
+@DisplayName("Search query plan Tests")
+class SearchQueryPlanTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmbeddedPostgres postgres;
+
+    private VinService databaseService;
+
+    @TestConfiguration
+    static class PostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres postgres) {
+            return postgres.getPostgresDatabase();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                    STATEMENTS.add(sql);
+                    return sql;
+                });
+                properties.put(AvailableSettings.CRITERIA_VALUE_HANDLING_MODE, "inline");
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<Plat> plats = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Plat plat = new Plat();
+            plat.setNom("Plat " + i);
+            plats.add(platRepository.save(plat));
+        }
+        String[] regions = {"Loire", "Bordeaux", "Bourgogne", "Beaujolais"};
+        for (int i = 0; i < 40; i++) {
+            Vin vin = Vin.builder()
+                    .nom("Vin " + i)
+                    .region(regions[i % regions.length])
+                    .prix(BigDecimal.valueOf(10 + i))
+                    .couleur(CouleurVin.values()[i % CouleurVin.values().length])
+                    .cepage(i % 2 == 0 ? "Gamay" : "Chenin")
+                    .notesDegustation("Fruits rouges")
+                    .build();
+            vin.addPlat(plats.get(i % plats.size()));
+            vinRepository.save(vin);
+        }
+        vinRepository.flush();
+        entityManager.clear();
+
+        SearchTotals totals = new SearchTotals("exact", 5000, new CatalogVersion(), new SimpleMeterRegistry());
+        databaseService = new VinService(vinRepository, new VinCatalog(vinRepository, new SimpleMeterRegistry(), false, ""),
+                new CatalogVersion(), totals,
+                new SearchResultCache(false, 1, 1, new CatalogVersion(), new SimpleMeterRegistry()),
+                new SearchCoalescer(false, new CatalogVersion(), new SimpleMeterRegistry()), mock(PairingEngine.class));
+        jdbcTemplate.execute("set local enable_seqscan = off");
+        STATEMENTS.clear();
+    }
+
+    // ==================== Migration Tests ====================
+
+    @Test
+    @DisplayName("Should migrate an empty database to a schema the entities validate against")
+    void shouldMigrateEmptyDatabase() {
+        // Then : le contexte a démarré en ddl-auto=validate
+        assertThat(jdbcTemplate.queryForList(
+                "select version from flyway_schema_history where success order by installed_rank", String.class))
+                .containsExactly("1", "2", "3", "4");
+    }
+
+    @Test
+    @DisplayName("Should baseline a schema created by ddl-auto, move its ids to sequences and add the search indexes")
+    void shouldBaselineLegacySchema() throws SQLException, IOException {
+        // Given : une base créée par ddl-auto avant les migrations (ids identity), avec des données, sans historique
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop database if exists legacy");
+            statement.execute("create database legacy");
+        }
+        DataSource legacy = postgres.getDatabase("postgres", "legacy");
+        try (Connection connection = legacy.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(new String(getClass().getResourceAsStream("/db/legacy_schema.sql").readAllBytes(),
+                    StandardCharsets.UTF_8));
+            statement.execute("insert into vins (nom, region)"
+                    + " values ('Morgon', 'Beaujolais'), ('Chablis', 'Bourgogne')");
+            statement.execute("insert into vins (id, nom, region) values (120, 'Sancerre', 'Loire')");
+            statement.execute("insert into plats (nom) values ('Tartare'), ('Risotto')");
+        }
+
+        // When
+        Flyway.configure().dataSource(legacy).baselineOnMigrate(true).load().migrate();
+
+        // Then
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        assertThat(legacyJdbc.queryForList(
+                "select version from flyway_schema_history where success order by installed_rank", String.class))
+                .containsExactly("1", "2", "3", "4");
+        assertThat(legacyJdbc.queryForList("select indexname from pg_indexes where tablename = 'vins'", String.class))
+                .contains("idx_vins_region_trgm", "idx_vins_nom_trgm", "idx_vins_couleur_prix", "idx_vins_nom_region");
+        assertThat(legacyJdbc.queryForList("select is_identity from information_schema.columns"
+                + " where table_name in ('vins', 'plats') and column_name = 'id'", String.class))
+                .containsExactly("NO", "NO");
+        assertThat(legacyJdbc.queryForObject("select count(*) from seed_metadata", Integer.class)).isZero();
+        // Le générateur pooled distribue les 50 ids jusqu'à la valeur de nextval : le bloc suit l'id le plus haut
+        assertThat(legacyJdbc.queryForObject("select nextval('vins_seq')", Long.class) - 49).isGreaterThan(120);
+        assertThat(legacyJdbc.queryForObject("select nextval('plats_seq')", Long.class) - 49).isGreaterThan(2);
+    }
+
+    // ==================== Search Plan Tests ====================
+
+    @Test
+    @DisplayName("Should serve the region substring filter from the trigram index, page and count")
+    void shouldUseTrigramIndexForRegion() {
+        // When
+        databaseService.searchVins(null, null, null, "loire", null, false, PageRequest.of(0, 10, Sort.by("nom")));
+
+        // Then
+        assertThat(selects()).hasSize(2).allSatisfy(sql -> assertThat(plan(sql))
+                .doesNotContain("Seq Scan")
+                .contains("idx_vins_region_trgm"));
+    }
+
+    @Test
+    @DisplayName("Should serve a colour and price range from the composite index")
+    void shouldUseCouleurPrixIndex() {
+        // When
+        databaseService.searchVins(CouleurVin.ROUGE, 15.0, 40.0, null, null, false, PageRequest.of(0, 2, Sort.by("prix")));
+        databaseService.searchVinsAfter(CouleurVin.ROUGE, null, 40.0, null, null, false, null, 10, Sort.by("prix"));
+
+        // Then
+        assertThat(selects()).hasSize(3).allSatisfy(sql -> assertThat(plan(sql))
+                .doesNotContain("Seq Scan")
+                .contains("idx_vins_couleur_prix"));
+    }
+
+    @Test
+    @DisplayName("Should serve every column of the free-text fallback from a trigram index")
+    void shouldUseTrigramIndexesForFreeText() {
+        // When
+        databaseService.searchVins(null, null, null, null, "gamay", false, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(selects()).hasSize(2).allSatisfy(sql -> assertThat(plan(sql))
+                .doesNotContain("Seq Scan")
+                .contains("idx_vins_nom_trgm", "idx_vins_cepage_trgm", "idx_vins_notes_degustation_trgm",
+                        "idx_vins_region_trgm"));
+    }
+
+    // ==================== Accord Plan Tests ====================
+
+    @Test
+    @DisplayName("Should look up the accords of a wine and of a dish, and the menu types of the dishes, by index")
+    void shouldUseIndexesForAccords() {
+        // Given
+        Long vinId = vinRepository.findAll().get(0).getId();
+        Long platId = platRepository.findAll().get(0).getId();
+        entityManager.clear();
+        STATEMENTS.clear();
+
+        // When
+        entityManager.find(Vin.class, vinId).getPlatsAccordes().size();
+        entityManager.find(Plat.class, platId).getVinsAccordes().size();
+
+        // Then
+        List<String> accords = selects().stream().filter(sql -> sql.contains("accord_vin_plat")).toList();
+        assertThat(accords).hasSize(2);
+        assertThat(plan(accords.get(0))).doesNotContain("Seq Scan")
+                .contains("idx_accord_vin_plat_vin_plat", "idx_plat_menu_types_plat");
+        assertThat(plan(accords.get(1))).doesNotContain("Seq Scan").contains("accord_vin_plat_pkey");
+    }
+
+    private static List<String> selects() {
+        return STATEMENTS.stream().filter(sql -> sql.stripLeading().startsWith("select")).toList();
+    }
+
+    // Seuls restent en paramètres les identifiants des collections et les bornes LIMIT/OFFSET
+    private String plan(String sql) {
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        Arrays.fill(parameters, 1L);
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, parameters));
+    }
+}
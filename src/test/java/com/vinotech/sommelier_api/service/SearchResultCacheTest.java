@@ -0,0 +1,152 @@
+package com.vinotech.sommelier_api.service;
+
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.VinFilter;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SearchResultCache Tests")
+class SearchResultCacheTest {
+
+    private static final VinFilter ROUGES_LOIRE = new VinFilter(CouleurVin.ROUGE, null, 60.0, "Loire");
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final AtomicInteger searches = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SearchResultCache(true, 100, 60_000, catalogVersion, meterRegistry);
+    }
+
+    // ==================== Key Tests ====================
+
+    @Test
+    @DisplayName("Should serve the same normalized criteria from the cache")
+    void shouldServeNormalizedCriteriaFromCache() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("prix"));
+        Page<VinView> first = cache.get(ROUGES_LOIRE, pageable, search());
+
+        // When
+        Page<VinView> second = cache.get(new VinFilter(CouleurVin.ROUGE, null, 60.0, "LOIRE"),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "prix")), search());
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(searches).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should cache each page, size and sort separately and never cache unpaged searches")
+    void shouldKeyOnPageableAndSkipUnpaged() {
+        // When
+        cache.get(ROUGES_LOIRE, PageRequest.of(0, 20), search());
+        cache.get(ROUGES_LOIRE, PageRequest.of(1, 20), search());
+        cache.get(ROUGES_LOIRE, PageRequest.of(0, 50), search());
+        cache.get(ROUGES_LOIRE, PageRequest.of(0, 20, Sort.by("nom")), search());
+        cache.get(ROUGES_LOIRE, Pageable.unpaged(), search());
+        cache.get(ROUGES_LOIRE, Pageable.unpaged(), search());
+
+        // Then
+        assertThat(searches).hasValue(6);
+        assertThat(cache.size()).isEqualTo(4);
+    }
+
+    // ==================== Invalidation Tests ====================
+
+    @Test
+    @DisplayName("Should recompute and drop older pages once the catalog generation changes")
+    void shouldInvalidateOnGenerationBump() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        cache.get(ROUGES_LOIRE, pageable, search());
+        cache.get(ROUGES_LOIRE, PageRequest.of(1, 20), search());
+
+        // When : VinService.save incrémente la version du catalogue
+        catalogVersion.bump();
+        cache.get(ROUGES_LOIRE, pageable, search());
+
+        // Then
+        assertThat(searches).hasValue(3);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should expire an entry once its TTL has elapsed")
+    void shouldExpireAfterTtl() throws InterruptedException {
+        // Given
+        SearchResultCache shortLived = new SearchResultCache(true, 100, 5, catalogVersion, new SimpleMeterRegistry());
+        shortLived.get(ROUGES_LOIRE, PageRequest.of(0, 20), search());
+
+        // When
+        Thread.sleep(50);
+        shortLived.get(ROUGES_LOIRE, PageRequest.of(0, 20), search());
+
+        // Then
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should always search when disabled")
+    void shouldAlwaysSearchWhenDisabled() {
+        // Given
+        SearchResultCache disabled = new SearchResultCache(false, 100, 60_000, catalogVersion, new SimpleMeterRegistry());
+
+        // When
+        disabled.get(ROUGES_LOIRE, PageRequest.of(0, 20), search());
+        disabled.get(ROUGES_LOIRE, PageRequest.of(0, 20), search());
+
+        // Then
+        assertThat(searches).hasValue(2);
+    }
+
+    // ==================== Metrics Tests ====================
+
+    @Test
+    @DisplayName("Should publish hits, misses and hit ratio")
+    void shouldPublishMetrics() {
+        // When
+        cache.get(ROUGES_LOIRE, PageRequest.of(0, 20), search());
+        cache.get(ROUGES_LOIRE, PageRequest.of(0, 20), search());
+        cache.get(ROUGES_LOIRE, PageRequest.of(0, 20), search());
+        cache.get(ROUGES_LOIRE, PageRequest.of(1, 20), search());
+
+        // Then
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", SearchResultCache.NAME).gauge().value())
+                .isEqualTo(0.5);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", SearchResultCache.NAME)
+                .functionCounter().count()).isZero();
+    }
+
+    private Supplier<Page<VinView>> search() {
+        return () -> {
+            searches.incrementAndGet();
+            return new PageImpl<>(List.of());
+        };
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", SearchResultCache.NAME).tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,194 @@
+package com.vinotech.sommelier_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import com.vinotech.sommelier_api.dto.VinBulkBatch;
+import com.vinotech.sommelier_api.dto.VinBulkResult;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+// Chaque lot valide sa propre transaction : pas de transaction de test englobante
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("VinImportService NDJSON bulk Tests")
+class VinImportServiceTest {
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final VinCatalog vinCatalog = mock(VinCatalog.class);
+    private final PairingEngine pairingEngine = mock(PairingEngine.class);
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private VinImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new VinImportService(vinRepository, vinCatalog, pairingEngine, catalogVersion,
+                new ObjectMapper(), transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vinRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should insert new wines and update existing ones on (nom, region)")
+    void shouldUpsertOnNaturalKey() throws IOException {
+        // Given
+        vinRepository.save(Vin.builder().nom("Chablis").region("Bourgogne").prix(new BigDecimal("20.00"))
+                .couleur(CouleurVin.BLANC).build());
+        vinRepository.save(Vin.builder().nom("Chablis").region("Loire").prix(new BigDecimal("12.00")).build());
+        vinRepository.save(Vin.builder().nom("Margaux").region("Bordeaux").prix(new BigDecimal("150.00")).build());
+
+        // When
+        VinBulkResult result = importService.importNdjson(ndjson("""
+                {"nom": "Chablis", "region": "Bourgogne", "prix": 24.50, "couleur": "BLANC"}
+                {"nom": "Margaux", "region": "Bordeaux", "prix": 150}
+                {"nom": "Sancerre", "region": "Loire", "couleur": "BLANC", "cepage": "Sauvignon"}
+                """));
+
+        // Then
+        assertThat(result.inserted()).isEqualTo(1);
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.unchanged()).isEqualTo(1);
+        assertThat(result.rejected()).isZero();
+        assertThat(result.batches()).singleElement().satisfies(batch -> {
+            assertThat(batch.status()).isEqualTo(VinBulkBatch.Status.COMMITTED);
+            assertThat(batch.firstLine()).isEqualTo(1);
+            assertThat(batch.lastLine()).isEqualTo(3);
+        });
+
+        List<Vin> vins = vinRepository.findAll();
+        assertThat(vins).hasSize(4);
+        assertThat(vins).filteredOn(v -> v.getNom().equals("Chablis") && v.getRegion().equals("Bourgogne"))
+                .singleElement().extracting(Vin::getPrix).isEqualTo(new BigDecimal("24.50"));
+        assertThat(vins).filteredOn(v -> v.getNom().equals("Chablis") && v.getRegion().equals("Loire"))
+                .singleElement().extracting(Vin::getPrix).isEqualTo(new BigDecimal("12.00"));
+        assertThat(vins).filteredOn(v -> v.getNom().equals("Sancerre"))
+                .singleElement().extracting(Vin::getCepage).isEqualTo("Sauvignon");
+        verify(vinCatalog).onVinsImported();
+        verify(pairingEngine).onVinsImported();
+        assertThat(catalogVersion.current()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let the last line win for a key repeated in the stream")
+    void shouldLetLastLineWinForRepeatedKey() throws IOException {
+        // When
+        VinBulkResult result = importService.importNdjson(ndjson("""
+                {"nom": "Sancerre", "region": "Loire", "prix": 18}
+                {"nom": "Sancerre", "region": "Loire", "prix": 19}
+                """));
+
+        // Then
+        assertThat(result.inserted()).isEqualTo(1);
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(vinRepository.findAll()).singleElement()
+                .extracting(Vin::getPrix).isEqualTo(new BigDecimal("19.00"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid lines without blocking the rest of their batch")
+    void shouldRejectInvalidLines() throws IOException {
+        // When
+        VinBulkResult result = importService.importNdjson(ndjson("""
+                {"nom": "Sancerre", "region": "Loire"}
+                {"nom": "Sans région"}
+
+                not json
+                {"nom": "Margaux", "region": "Bordeaux"}
+                """));
+
+        // Then
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.batches()).singleElement().satisfies(batch -> {
+            assertThat(batch.status()).isEqualTo(VinBulkBatch.Status.COMMITTED);
+            assertThat(batch.lastLine()).isEqualTo(5);
+            assertThat(batch.errors()).containsExactly(
+                    "Line 2: nom and region are required",
+                    "Line 4: malformed JSON");
+        });
+        assertThat(vinRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should commit each batch on its own and roll back only the batch the database rejects")
+    void shouldCommitBatchesIndependently() throws IOException {
+        // Given : le premier lot contient un nom trop long pour la colonne (100 caractères)
+        StringBuilder feed = new StringBuilder();
+        for (int i = 0; i < VinImportService.BATCH_SIZE * 2 + 10; i++) {
+            String nom = i == 7 ? "x".repeat(101) : "Vin " + i;
+            feed.append("{\"nom\": \"").append(nom).append("\", \"region\": \"Loire\"}\n");
+        }
+
+        // When
+        VinBulkResult result = importService.importNdjson(ndjson(feed.toString()));
+
+        // Then
+        assertThat(result.batches()).extracting(VinBulkBatch::status).containsExactly(
+                VinBulkBatch.Status.ROLLED_BACK, VinBulkBatch.Status.COMMITTED, VinBulkBatch.Status.COMMITTED);
+        assertThat(result.batches()).extracting(VinBulkBatch::firstLine).containsExactly(1L, 501L, 1001L);
+        assertThat(result.inserted()).isEqualTo(VinImportService.BATCH_SIZE + 10);
+        assertThat(result.rejected()).isEqualTo(VinImportService.BATCH_SIZE);
+        assertThat(vinRepository.findAll()).extracting(Vin::getId).isNotEmpty()
+                .hasSize(VinImportService.BATCH_SIZE + 10);
+        assertThat(vinRepository.findAll().stream().min(Comparator.comparing(Vin::getId)).orElseThrow().getNom())
+                .isEqualTo("Vin 500");
+        verify(vinCatalog, times(2)).onVinsImported();
+    }
+
+    @Test
+    @DisplayName("Should not touch the catalog when nothing changes")
+    void shouldNotInvalidateWhenNothingChanges() throws IOException {
+        // Given
+        vinRepository.save(Vin.builder().nom("Sancerre").region("Loire").prix(new BigDecimal("18.00")).build());
+
+        // When
+        VinBulkResult result = importService.importNdjson(ndjson("{\"nom\": \"Sancerre\", \"region\": \"Loire\", \"prix\": 18}\n"));
+
+        // Then
+        assertThat(result.unchanged()).isEqualTo(1);
+        verifyNoInteractions(vinCatalog, pairingEngine);
+        assertThat(catalogVersion.current()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return no batch for an empty stream")
+    void shouldHandleEmptyStream() throws IOException {
+        assertThat(importService.importNdjson(ndjson("")).batches()).isEmpty();
+    }
+
+    private static InputStream ndjson(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
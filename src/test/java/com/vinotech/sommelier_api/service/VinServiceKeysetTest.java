@@ -0,0 +1,167 @@
+package com.vinotech.sommelier_api.service;
+
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import com.vinotech.sommelier_api.catalog.VinFilter;
+import com.vinotech.sommelier_api.dto.CursorSlice;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.exception.InvalidRequestException;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("VinService keyset pagination Tests")
+class VinServiceKeysetTest {
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    private VinService databaseService;
+    private VinService catalogService;
+
+    @BeforeEach
+    void setUp() {
+        String[] prix = {"45.00", null, "12.50", "45.00", "99.99", null, "12.50", "30.00", "45.00", "150.00", "8.00"};
+        for (int i = 0; i < prix.length; i++) {
+            vinRepository.save(Vin.builder()
+                    .nom("Vin " + i)
+                    .region(i % 2 == 0 ? "Loire" : "Bordeaux")
+                    .prix(prix[i] == null ? null : new BigDecimal(prix[i]))
+                    .couleur(i % 3 == 0 ? CouleurVin.BLANC : CouleurVin.ROUGE)
+                    .build());
+        }
+        SearchTotals totals = new SearchTotals("exact", 5000, new CatalogVersion(), new SimpleMeterRegistry());
+        databaseService = new VinService(vinRepository, new VinCatalog(vinRepository, new SimpleMeterRegistry(), false, ""), new CatalogVersion(), totals,
+                new SearchResultCache(false, 1, 1, new CatalogVersion(), new SimpleMeterRegistry()),
+                new SearchCoalescer(false, new CatalogVersion(), new SimpleMeterRegistry()), mock(PairingEngine.class));
+        catalogService = new VinService(vinRepository, new VinCatalog(vinRepository, new SimpleMeterRegistry(), true, "en-US"), new CatalogVersion(), totals,
+                new SearchResultCache(false, 1, 1, new CatalogVersion(), new SimpleMeterRegistry()),
+                new SearchCoalescer(false, new CatalogVersion(), new SimpleMeterRegistry()), mock(PairingEngine.class));
+    }
+
+    @Test
+    @DisplayName("Should walk the whole result in the same order as the offset search, from the database and from memory")
+    void shouldWalkWholeResultInOffsetOrder() {
+        List<Sort> sorts = List.of(Sort.unsorted(), Sort.by(Sort.Direction.DESC, "id"),
+                Sort.by("prix"), Sort.by(Sort.Direction.DESC, "prix"));
+
+        for (Sort sort : sorts) {
+            // Given - l'ordre de référence est celui de la photo en mémoire (nulls à la PostgreSQL)
+            List<Long> expected = catalogService.searchVins(null, null, null, null, null, false,
+                    PageRequest.of(0, 100, sort)).map(VinView::id).getContent();
+
+            // When & Then
+            assertThat(walk(databaseService, null, sort, 3)).as("database %s", sort).isEqualTo(expected);
+            assertThat(walk(catalogService, null, sort, 3)).as("memory %s", sort).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply filters together with the cursor")
+    void shouldApplyFiltersWithCursor() {
+        // When
+        List<Long> database = walk(databaseService, CouleurVin.ROUGE, Sort.by("prix"), 2);
+        List<Long> memory = walk(catalogService, CouleurVin.ROUGE, Sort.by("prix"), 2);
+
+        // Then
+        assertThat(database).hasSize(7).isEqualTo(memory);
+    }
+
+    @Test
+    @DisplayName("Should filter on free text the same way from the database and from memory")
+    void shouldFilterOnFreeText() {
+        // Given
+        vinRepository.save(Vin.builder().nom("Morgon").region("Beaujolais").cepage("Gamay")
+                .notesDegustation("Fruits rouges, leger").couleur(CouleurVin.ROUGE).build());
+        vinRepository.save(Vin.builder().nom("Fleurie").region("Beaujolais").cepage("Gamay")
+                .notesDegustation("Floral").couleur(CouleurVin.ROUGE).build());
+
+        // When
+        List<String> database = databaseService.searchVins(null, null, null, null, "GAMAY leger", false,
+                PageRequest.of(0, 10)).map(VinView::nom).getContent();
+        List<String> memory = catalogService.searchVins(null, null, null, null, "gamay léger", false,
+                PageRequest.of(0, 10)).map(VinView::nom).getContent();
+        List<String> afterCursor = catalogService.searchVinsAfter(null, null, null, null, "gamay", false, "", 10,
+                Sort.unsorted()).content().stream().map(VinView::nom).toList();
+
+        // Then
+        assertThat(database).containsExactly("Morgon");
+        assertThat(memory).containsExactly("Morgon");
+        assertThat(afterCursor).containsExactly("Morgon", "Fleurie");
+    }
+
+    @Test
+    @DisplayName("Should keep a combining accent inside its word, in the database search and in the cache key")
+    void shouldKeepCombiningAccentInWord() {
+        // Given - "tête" décomposé (NFD) : coupé sur l'accent, il donnerait "te" et "te", présents dans "Coteaux"
+        String tete = "te\u0302te";
+        vinRepository.save(Vin.builder().nom("Coteaux du Layon").region("Loire").couleur(CouleurVin.BLANC).build());
+        vinRepository.save(Vin.builder().nom("Cornas").region("Rhone").notesDegustation("Vin de " + tete)
+                .couleur(CouleurVin.ROUGE).build());
+
+        // When
+        List<String> database = databaseService.searchVins(null, null, null, null, tete, false,
+                PageRequest.of(0, 10)).map(VinView::nom).getContent();
+        List<String> memory = catalogService.searchVins(null, null, null, null, tete, false,
+                PageRequest.of(0, 10)).map(VinView::nom).getContent();
+        String key = new VinFilter(null, null, null, null, "Gamay " + tete).normalized().q();
+
+        // Then
+        assertThat(VinFilter.words(tete)).containsExactly(tete);
+        assertThat(database).containsExactly("Cornas");
+        assertThat(memory).containsExactly("Cornas");
+        assertThat(key).isEqualTo("gamay " + tete);
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last slice")
+    void shouldReturnNoCursorOnLastSlice() {
+        // When
+        CursorSlice<VinView> slice = catalogService.searchVinsAfter(null, null, null, null, null, false, "", 50, Sort.unsorted());
+
+        // Then
+        assertThat(slice.size()).isEqualTo(11);
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(slice.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject corrupted cursors and unsupported sorts")
+    void shouldRejectCorruptedCursorsAndUnsupportedSorts() {
+        assertThatThrownBy(() -> catalogService.searchVinsAfter(null, null, null, null, null, false, "pas-un-curseur", 5, Sort.unsorted()))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> catalogService.searchVinsAfter(null, null, null, null, null, false, "", 5, Sort.by("nom")))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private static List<Long> walk(VinService service, CouleurVin couleur, Sort sort, int size) {
+        List<Long> ids = new ArrayList<>();
+        String after = "";
+        do {
+            CursorSlice<VinView> slice = service.searchVinsAfter(couleur, null, null, null, null, false, after, size, sort);
+            slice.content().forEach(vin -> ids.add(vin.id()));
+            after = slice.nextCursor();
+        } while (after != null);
+        return ids;
+    }
+}
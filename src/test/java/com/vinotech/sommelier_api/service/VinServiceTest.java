@@ -1,20 +1,34 @@
 package com.vinotech.sommelier_api.service;
 
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import com.vinotech.sommelier_api.catalog.VinFilter;
+import com.vinotech.sommelier_api.dto.VinFacets;
+import com.vinotech.sommelier_api.dto.VinView;
 import com.vinotech.sommelier_api.model.CouleurVin;
 import com.vinotech.sommelier_api.model.Vin;
 import com.vinotech.sommelier_api.repository.VinRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,6 +43,28 @@ class VinServiceTest {
     @Mock
     private VinRepository vinRepository;
 
+    // Mock non stubbé : isEnabled() retourne false, les lectures passent donc par le repository
+    @Mock
+    private VinCatalog vinCatalog;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    // Non stubbé : les tests de ce fichier ne passent pas par la recherche paginée en base
+    @Mock
+    private SearchTotals searchTotals;
+
+    // Cache et regroupement désactivés : chaque recherche passe par le catalogue ou le repository
+    @Spy
+    private SearchResultCache searchResultCache =
+            new SearchResultCache(false, 1, 1, new CatalogVersion(), new SimpleMeterRegistry());
+
+    @Spy
+    private SearchCoalescer searchCoalescer = new SearchCoalescer(false, new CatalogVersion(), new SimpleMeterRegistry());
+
+    @Mock
+    private PairingEngine pairingEngine;
+
     @InjectMocks
     private VinService vinService;
 
@@ -636,4 +672,107 @@ class VinServiceTest {
         // Then
         verify(vinRepository, times(3)).findById(1L);
     }
-}
\ No newline at end of file
+
+    // ==================== In-memory catalog Tests ====================
+
+    @Test
+    @DisplayName("Should publish saved vin to the catalog")
+    void shouldPublishSavedVinToCatalog() {
+        // Given
+        when(vinRepository.save(testVin1)).thenReturn(testVin1);
+
+        // When
+        vinService.save(testVin1);
+
+        // Then
+        verify(vinCatalog, times(1)).onVinSaved(testVin1);
+        verify(pairingEngine, times(1)).onVinSaved(testVin1);
+        verify(catalogVersion, times(1)).bump();
+    }
+
+    @Test
+    @DisplayName("Should serve findAll from catalog when enabled")
+    void shouldServeFindAllFromCatalogWhenEnabled() {
+        // Given
+        when(vinCatalog.isEnabled()).thenReturn(true);
+        when(vinCatalog.findAll()).thenReturn(List.of(testVin1, testVin2));
+
+        // When
+        List<Vin> result = vinService.findAll();
+
+        // Then
+        assertThat(result).containsExactly(testVin1, testVin2);
+        verify(vinRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should serve findById from catalog when enabled")
+    void shouldServeFindByIdFromCatalogWhenEnabled() {
+        // Given
+        when(vinCatalog.isEnabled()).thenReturn(true);
+        when(vinCatalog.findById(1L)).thenReturn(Optional.of(testVin1));
+
+        // When
+        Optional<Vin> result = vinService.findById(1L);
+
+        // Then
+        assertThat(result).contains(testVin1);
+        verify(vinRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should serve searchVins from catalog when enabled")
+    void shouldServeSearchVinsFromCatalogWhenEnabled() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<Vin> page = new PageImpl<>(List.of(testVin1), pageable, 1);
+        when(vinCatalog.isEnabled()).thenReturn(true);
+        when(vinCatalog.search(new VinFilter(CouleurVin.ROUGE, null, 200.0, null), pageable))
+                .thenReturn(Optional.of(page));
+
+        // When
+        Page<VinView> result = vinService.searchVins(CouleurVin.ROUGE, null, 200.0, null, null, false, pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(VinView.of(testVin1));
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verifyNoInteractions(vinRepository);
+    }
+
+    // ==================== facets() Method Tests ====================
+
+    @Test
+    @DisplayName("Should serve facets from catalog when enabled")
+    void shouldServeFacetsFromCatalogWhenEnabled() {
+        // Given
+        VinFacets facets = new VinFacets(0, Map.of(), List.of(), List.of(), List.of());
+        when(vinCatalog.isEnabled()).thenReturn(true);
+        when(vinCatalog.facets(new VinFilter(CouleurVin.ROUGE, null, null, "loire", "gamay", true))).thenReturn(facets);
+
+        // When
+        VinFacets result = vinService.facets(CouleurVin.ROUGE, null, null, "loire", "gamay", true);
+
+        // Then
+        assertThat(result).isSameAs(facets);
+        verifyNoInteractions(vinRepository);
+    }
+
+    @Test
+    @DisplayName("Should compute facets from a single query when the catalog is disabled")
+    @SuppressWarnings("unchecked")
+    void shouldComputeFacetsFromSingleQuery() {
+        // Given
+        when(vinRepository.findAll(any(Specification.class))).thenReturn(List.of(testVin1, testVin2, testVin3));
+
+        // When
+        VinFacets result = vinService.facets(CouleurVin.ROUGE, null, 100.0, null, null, false);
+
+        // Then : la facette couleur ignore le filtre de couleur, pas celui de prix
+        assertThat(result.total()).isZero();
+        assertThat(result.couleurs()).containsEntry(CouleurVin.BLANC, 1).containsEntry(CouleurVin.EFFERVESCENT, 1)
+                .containsEntry(CouleurVin.ROUGE, 0);
+        assertThat(result.prix()).extracting(VinFacets.PrixBucket::count).containsExactly(0, 0, 0, 1, 0);
+        verify(vinRepository, times(1)).findAll(any(Specification.class));
+        verifyNoMoreInteractions(vinRepository);
+    }
+}
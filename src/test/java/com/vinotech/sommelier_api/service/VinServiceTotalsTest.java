@@ -0,0 +1,184 @@
+package com.vinotech.sommelier_api.service;
+
+import com.vinotech.sommelier_api.catalog.CatalogVersion;
+import com.vinotech.sommelier_api.catalog.PairingEngine;
+import com.vinotech.sommelier_api.catalog.VinCatalog;
+import com.vinotech.sommelier_api.dto.VinView;
+import com.vinotech.sommelier_api.model.CouleurVin;
+import com.vinotech.sommelier_api.model.Vin;
+import com.vinotech.sommelier_api.repository.VinRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("VinService search totals Tests")
+class VinServiceTotalsTest {
+
+    @Autowired
+    private VinRepository vinRepository;
+
+    // Mock : dans un @DataJpaTest la transaction n'est jamais validée, bump() n'aurait aucun effet
+    private final CatalogVersion catalogVersion = mock(CatalogVersion.class);
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            vinRepository.save(Vin.builder()
+                    .nom("Vin " + i)
+                    .region(i % 2 == 0 ? "Loire" : "Bordeaux")
+                    .prix(new BigDecimal(10 + i))
+                    .couleur(CouleurVin.ROUGE)
+                    .build());
+        }
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should return the same pages as the exact strategy")
+    void shouldReturnSamePagesAsExactStrategy() {
+        // Given
+        VinService exact = service("exact");
+        VinService cached = service("cached");
+        PageRequest pageable = PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "prix"));
+
+        // When
+        Page<VinView> expected = exact.searchVins(null, null, null, "loire", null, false, pageable);
+        Page<VinView> actual = cached.searchVins(null, null, null, "loire", null, false, pageable);
+
+        // Then
+        assertThat(actual.getContent()).extracting(VinView::id)
+                .containsExactlyElementsOf(expected.getContent().stream().map(VinView::id).toList());
+        assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should reuse a cached total for the same normalized filter until the catalog changes")
+    void shouldReuseCachedTotalUntilCatalogChanges() {
+        // Given
+        VinService service = service("cached");
+        PageRequest pageable = PageRequest.of(0, 2);
+
+        // When
+        service.searchVins(null, null, null, "Loire", null, false, pageable);
+        Page<VinView> cachedPage = service.searchVins(null, null, null, "LOIRE", null, false, pageable);
+        when(catalogVersion.current()).thenReturn(1L);
+        Page<VinView> recounted = service.searchVins(null, null, null, "loire", null, false, pageable);
+
+        // Then
+        assertThat(cachedPage.getTotalElements()).isEqualTo(5);
+        assertThat(recounted.getTotalElements()).isEqualTo(5);
+        assertThat(count("cached", "executed")).isEqualTo(2);
+        assertThat(count("cached", "avoided")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should page without counting and still tell whether a next page exists")
+    void shouldPageWithoutCounting() {
+        // Given
+        VinService service = service("none");
+
+        // When
+        Page<VinView> first = service.searchVins(null, null, null, null, null, false, PageRequest.of(0, 4, Sort.by("id")));
+        Page<VinView> last = service.searchVins(null, null, null, null, null, false, PageRequest.of(2, 4, Sort.by("id")));
+
+        // Then
+        assertThat(first.getContent()).hasSize(4);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(last.getContent()).hasSize(2);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.getTotalElements()).isEqualTo(10);
+        assertThat(count("none", "executed")).isZero();
+        assertThat(count("none", "avoided")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not report more wines than exist for a page past the end without counting")
+    void shouldNotOverstateTotalPastTheEnd() {
+        // Given
+        VinService service = service("none");
+
+        // When
+        Page<VinView> pastTheEnd = service.searchVins(null, null, null, null, null, false,
+                PageRequest.of(5, 4, Sort.by("id")));
+
+        // Then - 10 vins, la page commence à l'offset 20
+        assertThat(pastTheEnd.getContent()).isEmpty();
+        assertThat(pastTheEnd.hasNext()).isFalse();
+        assertThat(pastTheEnd.getTotalElements()).isLessThanOrEqualTo(10);
+        assertThat(count("none", "executed")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count the count queries Spring Data already skips with the exact strategy")
+    void shouldRecordExactStrategy() {
+        // Given
+        VinService service = service("exact");
+
+        // When
+        service.searchVins(null, null, null, null, null, false, PageRequest.of(0, 4));
+        service.searchVins(null, null, null, null, null, false, PageRequest.of(0, 50));
+
+        // Then
+        assertThat(count("exact", "executed")).isEqualTo(1);
+        assertThat(count("exact", "avoided")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should never share a cached page between free texts the database filters differently")
+    void shouldKeyCachedPagesOnDatabaseWords() {
+        // Given - photo désactivée : le texte libre est filtré en base, mot pour mot
+        vinRepository.save(Vin.builder().nom("Crémant").region("Loire").notesDegustation("Bulles fines").build());
+        vinRepository.save(Vin.builder().nom("Vouvray").region("Loire").notesDegustation("Une bulle, un fruité léger").build());
+        vinRepository.save(Vin.builder().nom("Gamay").region("Loire").notesDegustation("Fruité").build());
+        VinService service = service("exact", true);
+        PageRequest pageable = PageRequest.of(0, 20);
+
+        // When & Then - mêmes termes analysés, résultats différents en base
+        assertThat(search(service, "bulles", pageable)).containsExactly("Crémant");
+        assertThat(search(service, "bulle", pageable)).containsExactly("Crémant", "Vouvray");
+        assertThat(search(service, "léger", pageable)).containsExactly("Vouvray");
+        assertThat(search(service, "leger", pageable)).isEmpty();
+        assertThat(search(service, "gamay", pageable)).containsExactly("Gamay");
+        assertThat(search(service, "gamay de", pageable)).isEmpty();
+        // Casse, ordre et répétitions ne changent rien en base : même entrée
+        assertThat(search(service, "BULLE  bulle", pageable)).containsExactly("Crémant", "Vouvray");
+    }
+
+    private static List<String> search(VinService service, String q, PageRequest pageable) {
+        return service.searchVins(null, null, null, null, q, false, pageable).getContent().stream()
+                .map(VinView::nom).toList();
+    }
+
+    private VinService service(String strategy) {
+        return service(strategy, false);
+    }
+
+    private VinService service(String strategy, boolean cacheEnabled) {
+        return new VinService(vinRepository, new VinCatalog(vinRepository, new SimpleMeterRegistry(), false, ""),
+                catalogVersion, new SearchTotals(strategy, 60_000, catalogVersion, meterRegistry),
+                new SearchResultCache(cacheEnabled, 100, 60_000, catalogVersion, new SimpleMeterRegistry()),
+                new SearchCoalescer(false, catalogVersion, new SimpleMeterRegistry()), mock(PairingEngine.class));
+    }
+
+    private double count(String strategy, String result) {
+        return meterRegistry.get("vin.search.count").tag("strategy", strategy).tag("result", result).counter().count();
+    }
+}
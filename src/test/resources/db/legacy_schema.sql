@@ -0,0 +1,43 @@
+-- Schema created by ddl-auto (Hibernate 6.4, PostgreSQL) from the entities of the first release, before
+-- migrations were introduced: identity ids, no sequences, no seed_metadata table.
+
+create table vins (
+    prix numeric(10,2),
+    id bigint generated by default as identity,
+    cepage varchar(100),
+    nom varchar(100) not null,
+    region varchar(100) not null,
+    couleur varchar(255) check (couleur in ('ROUGE','BLANC','ROSE','ORANGE','EFFERVESCENT','LIQUOREUX')),
+    notes_degustation TEXT,
+    primary key (id)
+);
+
+create table plats (
+    id bigint generated by default as identity,
+    nom varchar(100) not null,
+    allergenes TEXT,
+    allergenes_modifiables TEXT,
+    ingredients TEXT,
+    option_remplacement TEXT,
+    primary key (id)
+);
+
+create table plat_menu_types (
+    plat_id bigint not null,
+    menu_type varchar(255) check (menu_type in ('BRUNCH','LUNCH','SOUPER','SNACK','DESSERT'))
+);
+
+create table accord_vin_plat (
+    plat_id bigint not null,
+    vin_id bigint not null,
+    primary key (plat_id, vin_id)
+);
+
+alter table if exists accord_vin_plat
+    add constraint FKi13qmiptk49d5fl9rqidyt8yr foreign key (plat_id) references plats;
+
+alter table if exists accord_vin_plat
+    add constraint FKpui80rily4g9ek4xn05vrq95 foreign key (vin_id) references vins;
+
+alter table if exists plat_menu_types
+    add constraint FK45d9ycwtmnl4xr1pdw2p1er3a foreign key (plat_id) references plats;